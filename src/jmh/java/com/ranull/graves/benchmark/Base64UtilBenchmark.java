@@ -0,0 +1,50 @@
+package com.ranull.graves.benchmark;
+
+import com.ranull.graves.util.Base64Util;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the object stream and Base64 round trip of {@link Base64Util}, with a plain serializable list of
+ * permission strings as the payload, so the numbers do not depend on item serialization.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class Base64UtilBenchmark {
+    /**
+     * The number of entries in the payload.
+     */
+    @Param({"1", "16", "256"})
+    public int entries;
+
+    private ArrayList<String> payload;
+    private String payloadString;
+
+    @Setup
+    public void setup() {
+        StandIns.installServer();
+
+        payload = new ArrayList<>();
+
+        for (int i = 0; i < entries; i++) {
+            payload.add("graves.permission.group" + i);
+        }
+
+        payloadString = Base64Util.objectToBase64(payload);
+    }
+
+    @Benchmark
+    public String objectToBase64() {
+        return Base64Util.objectToBase64(payload);
+    }
+
+    @Benchmark
+    public Object base64ToObject() {
+        return Base64Util.base64ToObject(payloadString);
+    }
+}
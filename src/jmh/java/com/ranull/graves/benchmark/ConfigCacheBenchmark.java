@@ -0,0 +1,52 @@
+package com.ranull.graves.benchmark;
+
+import com.ranull.graves.Graves;
+import com.ranull.graves.data.ConfigCache;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.EntityType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks resolving a per-entity and per-permission config key against the bundled configuration, walking the
+ * sections on every call against the memoized lookup made by {@link Graves#getConfig(String, EntityType, List)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ConfigCacheBenchmark {
+    /**
+     * The number of permission sections the entity has, none of which set the key.
+     */
+    @Param({"0", "4", "16"})
+    public int permissions;
+
+    private Graves plugin;
+    private List<String> permissionList;
+
+    @Setup
+    public void setup() {
+        plugin = StandIns.plugin();
+        permissionList = new ArrayList<>();
+
+        for (int i = 0; i < permissions; i++) {
+            plugin.getConfig().set("settings.permission.rank" + i + ".block.enabled", true);
+            permissionList.add("rank" + i);
+        }
+    }
+
+    @Benchmark
+    public ConfigurationSection resolve() {
+        return ConfigCache.resolve(plugin.getConfig(), "hologram.line", EntityType.PLAYER, permissionList, true);
+    }
+
+    @Benchmark
+    public ConfigurationSection getConfig() {
+        return plugin.getConfig("hologram.line", EntityType.PLAYER, permissionList);
+    }
+}
@@ -0,0 +1,74 @@
+package com.ranull.graves.benchmark;
+
+import com.ranull.graves.Graves;
+import com.ranull.graves.util.Base64Util;
+import com.ranull.graves.util.InventoryUtil;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks writing a grave inventory with {@link InventoryUtil#inventoryToString(Inventory)} and reading it back
+ * with {@link InventoryUtil#stringToInventory}, in the current format and in the legacy per-slot format that older
+ * rows still use.
+ * <p>
+ * Items are written without meta, the stand-in server has no item meta implementation.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class InventoryUtilBenchmark {
+    /**
+     * The number of occupied slots, from a few items to a full player inventory with armor and off hand.
+     */
+    @Param({"5", "41"})
+    public int items;
+
+    private static final Material[] MATERIALS = {Material.DIAMOND_SWORD, Material.COBBLESTONE, Material.OAK_LOG,
+            Material.BREAD, Material.IRON_CHESTPLATE, Material.TORCH, Material.ARROW, Material.ENDER_PEARL};
+
+    private Graves plugin;
+    private Inventory inventory;
+    private String inventoryString;
+    private String legacyString;
+
+    @Setup
+    public void setup() {
+        plugin = StandIns.plugin();
+        inventory = StandIns.inventory(null, InventoryUtil.getInventorySize(items));
+
+        StringJoiner stringJoiner = new StringJoiner("|");
+
+        for (int slot = 0; slot < items; slot++) {
+            ItemStack itemStack = new ItemStack(MATERIALS[slot % MATERIALS.length], slot % 16 + 1);
+
+            inventory.setItem(slot, itemStack);
+            stringJoiner.add(Base64Util.objectToBase64(itemStack));
+        }
+
+        inventoryString = InventoryUtil.inventoryToString(inventory);
+        legacyString = stringJoiner.toString();
+    }
+
+    @Benchmark
+    public String inventoryToString() {
+        return InventoryUtil.inventoryToString(inventory);
+    }
+
+    @Benchmark
+    public Inventory stringToInventory() {
+        return InventoryUtil.stringToInventory(null, inventoryString, "Grave", plugin);
+    }
+
+    @Benchmark
+    public Inventory legacyStringToInventory() {
+        return InventoryUtil.stringToInventory(null, legacyString, "Grave", plugin);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ranull.graves.benchmark;
+
+import com.ranull.graves.util.LocationUtil;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the location and chunk key conversions used by every block, hologram and chunk lookup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class LocationUtilBenchmark {
+    private Location location;
+    private String locationString;
+
+    @Setup
+    public void setup() {
+        StandIns.installServer();
+
+        World world = StandIns.world("world");
+
+        location = new Location(world, 1234.5, 64, -5678.5);
+        locationString = LocationUtil.locationToString(location);
+    }
+
+    @Benchmark
+    public String chunkToString() {
+        return LocationUtil.chunkToString(location);
+    }
+
+    @Benchmark
+    public String locationToString() {
+        return LocationUtil.locationToString(location);
+    }
+
+    @Benchmark
+    public Location stringToLocation() {
+        return LocationUtil.stringToLocation(locationString);
+    }
+}
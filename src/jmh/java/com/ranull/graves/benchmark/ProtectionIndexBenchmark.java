@@ -0,0 +1,69 @@
+package com.ranull.graves.benchmark;
+
+import com.ranull.graves.Graves;
+import com.ranull.graves.data.ProtectionIndex;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the protection radius check made for block breaks, explosions and placements near graves, on the index
+ * itself and through {@code GraveManager.isNearGrave}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ProtectionIndexBenchmark {
+    /**
+     * The number of graves spread over the world.
+     */
+    @Param({"100", "1000", "10000"})
+    public int graves;
+
+    /**
+     * The protection radius of every grave.
+     */
+    @Param({"5"})
+    public int radius;
+
+    private Graves plugin;
+    private ProtectionIndex protectionIndex;
+    private Location[] locations;
+    private int index;
+
+    @Setup
+    public void setup() {
+        World world = StandIns.world("world");
+        Random random = new Random(0);
+
+        plugin = StandIns.plugin();
+        protectionIndex = plugin.getCacheManager().getProtectionIndex();
+
+        for (int i = 0; i < graves; i++) {
+            protectionIndex.addGrave(UUID.randomUUID(), new Location(world, random.nextInt(10000) - 5000,
+                    64, random.nextInt(10000) - 5000), radius);
+        }
+
+        locations = new Location[1024];
+
+        for (int i = 0; i < locations.length; i++) {
+            locations[i] = new Location(world, random.nextInt(10000) - 5000, 64, random.nextInt(10000) - 5000);
+        }
+    }
+
+    @Benchmark
+    public boolean isNearGrave() {
+        return protectionIndex.isNearGrave(locations[index++ & (locations.length - 1)]);
+    }
+
+    @Benchmark
+    public boolean graveManagerIsNearGrave() {
+        return plugin.getGraveManager().isNearGrave(locations[index++ & (locations.length - 1)]);
+    }
+}
@@ -0,0 +1,480 @@
+package com.ranull.graves.benchmark;
+
+import com.ranull.graves.Graves;
+import com.ranull.graves.compatibility.CompatibilityBlockData;
+import com.ranull.graves.data.ConfigCache;
+import com.ranull.graves.manager.*;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.UnsafeValues;
+import org.bukkit.World;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import sun.misc.Unsafe;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.*;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Lightweight stand-ins for the server objects the benchmarks touch, so they run without a Minecraft server.
+ * <p>
+ * Stand-ins answer the methods the benchmarked code relies on. Any other method returns a default value: zero,
+ * false, an empty collection, or another stand-in for interface return types, so calls chained through the server
+ * API do not fail. The plugin itself is the real {@link Graves} class, wired to its managers without going through
+ * {@code onEnable}.
+ * </p>
+ */
+public final class StandIns {
+    /**
+     * Worlds known to the stand-in server, keyed by name.
+     */
+    private static final Map<String, World> worldMap = new ConcurrentHashMap<>();
+
+    /**
+     * Returned by an {@link Answer} to fall back to the default value.
+     */
+    public static final Object DEFAULT = new Object();
+
+    /**
+     * Answers a method called on a stand-in.
+     */
+    @FunctionalInterface
+    public interface Answer {
+        /**
+         * Answers a method call.
+         *
+         * @param proxy  The stand-in.
+         * @param method The method called.
+         * @param args   The arguments, never null.
+         * @return The result, or {@link #DEFAULT} to fall back to the default value.
+         * @throws Throwable If the call fails.
+         */
+        Object answer(Object proxy, Method method, Object[] args) throws Throwable;
+    }
+
+    /**
+     * Creates a stand-in for an interface.
+     * <p>
+     * Equality is identity. Methods the answer does not handle return a default value, interface return types get
+     * a stand-in of their own that is kept for later calls of the same method.
+     * </p>
+     *
+     * @param type   The interface.
+     * @param answer Answers the methods the stand-in implements.
+     * @param <T>    The type of the stand-in.
+     * @return The stand-in.
+     */
+    public static <T> T standIn(Class<T> type, Answer answer) {
+        Map<Method, Object> childMap = new ConcurrentHashMap<>();
+
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    Object[] arguments = args != null ? args : new Object[0];
+
+                    if (method.getDeclaringClass() == Object.class) {
+                        switch (method.getName()) {
+                            case "equals":
+                                return proxy == arguments[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                        }
+                    }
+
+                    Object result = answer.answer(proxy, method, arguments);
+
+                    return result != DEFAULT ? result : defaultValue(method, childMap);
+                }));
+    }
+
+    /**
+     * Creates a stand-in that only returns default values.
+     *
+     * @param type The interface.
+     * @param <T>  The type of the stand-in.
+     * @return The stand-in.
+     */
+    public static <T> T standIn(Class<T> type) {
+        return standIn(type, (proxy, method, args) -> DEFAULT);
+    }
+
+    /**
+     * Gets or creates a stand-in world.
+     *
+     * @param name The name of the world.
+     * @return The world.
+     */
+    public static World world(String name) {
+        return worldMap.computeIfAbsent(name, key -> {
+            UUID uuid = UUID.nameUUIDFromBytes(key.getBytes());
+
+            return standIn(World.class, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getName":
+                        return key;
+                    case "getUID":
+                        return uuid;
+                    default:
+                        return DEFAULT;
+                }
+            });
+        });
+    }
+
+    /**
+     * Creates a stand-in inventory backed by an array.
+     *
+     * @param holder The holder of the inventory, or null.
+     * @param size   The number of slots.
+     * @return The inventory.
+     */
+    public static Inventory inventory(InventoryHolder holder, int size) {
+        ItemStack[] itemStacks = new ItemStack[size];
+
+        return standIn(Inventory.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getSize":
+                    return itemStacks.length;
+                case "getHolder":
+                    return holder;
+                case "getItem":
+                    return itemStacks[(int) args[0]];
+                case "setItem":
+                    itemStacks[(int) args[0]] = (ItemStack) args[1];
+
+                    return null;
+                case "getContents":
+                case "getStorageContents":
+                    return itemStacks.clone();
+                case "setContents":
+                case "setStorageContents":
+                    Arrays.fill(itemStacks, null);
+                    System.arraycopy(args[0], 0, itemStacks, 0, Math.min(itemStacks.length,
+                            ((ItemStack[]) args[0]).length));
+
+                    return null;
+                case "clear":
+                    if (args.length == 0) {
+                        Arrays.fill(itemStacks, null);
+                    } else {
+                        itemStacks[(int) args[0]] = null;
+                    }
+
+                    return null;
+                case "iterator":
+                    return Arrays.asList(itemStacks).listIterator();
+                default:
+                    return DEFAULT;
+            }
+        });
+    }
+
+    /**
+     * Installs a stand-in server that resolves worlds created through {@link #world(String)}.
+     * <p>
+     * It also creates array backed inventories, and answers the item factory and unsafe values calls that
+     * {@link ItemStack} makes while it is serialized, as an item without meta.
+     * </p>
+     */
+    public static synchronized void installServer() {
+        if (Bukkit.getServer() != null) {
+            return;
+        }
+
+        Logger logger = Logger.getLogger("Benchmark");
+        ItemFactory itemFactory = standIn(ItemFactory.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                case "isApplicable":
+                    return true;
+                case "getItemMeta":
+                case "asMetaFor":
+                    return null;
+                default:
+                    return DEFAULT;
+            }
+        });
+        UnsafeValues unsafeValues = standIn(UnsafeValues.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getMaterial":
+                    return Material.getMaterial((String) args[0]);
+                case "fromLegacy":
+                    return args[0] instanceof Material ? args[0] : DEFAULT;
+                default:
+                    return DEFAULT;
+            }
+        });
+
+        Bukkit.setServer(standIn(Server.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getLogger":
+                    return logger;
+                case "getName":
+                case "getVersion":
+                case "getBukkitVersion":
+                    return "benchmark";
+                case "getWorld":
+                    return getWorld(args[0]);
+                case "getWorlds":
+                    return new ArrayList<>(worldMap.values());
+                case "getPlayer":
+                case "getEntity":
+                    return null;
+                case "createInventory":
+                    return inventory((InventoryHolder) args[0], args[1] instanceof InventoryType
+                            ? ((InventoryType) args[1]).getDefaultSize() : (int) args[1]);
+                case "getItemFactory":
+                    return itemFactory;
+                case "getUnsafe":
+                    return unsafeValues;
+                default:
+                    return DEFAULT;
+            }
+        }));
+    }
+
+    /**
+     * Creates a plugin instance wired to its managers, with the bundled configuration copied to a temporary data
+     * folder.
+     * <p>
+     * Managers that need a database or register with the server, the data, import and recipe managers, are not
+     * created. Each call returns a new plugin with empty caches.
+     * </p>
+     *
+     * @return The plugin.
+     */
+    public static Graves plugin() {
+        installServer();
+
+        try {
+            File dataFolder = Files.createTempDirectory("graves-benchmark").toFile();
+            Graves plugin = (Graves) getUnsafe().allocateInstance(Graves.class);
+
+            copyConfig(new File(dataFolder, "config"));
+            init(plugin, dataFolder);
+            setField(JavaPlugin.class, plugin, "isEnabled", true);
+            setField(Graves.class, plugin, "configCache", new ConfigCache());
+            plugin.reloadConfig();
+
+            setField(Graves.class, plugin, "versionManager", new VersionManager());
+            setField(Graves.class, plugin, "integrationManager", new IntegrationManager(plugin));
+            setField(Graves.class, plugin, "permissionManager", new PermissionManager(plugin));
+            setField(Graves.class, plugin, "cacheManager", new CacheManager());
+            setField(Graves.class, plugin, "compatibility", new CompatibilityBlockData());
+            setField(Graves.class, plugin, "blockManager", new BlockManager(plugin));
+            setField(Graves.class, plugin, "itemStackManager", new ItemStackManager(plugin));
+            setField(Graves.class, plugin, "entityDataManager", new EntityDataManager(plugin));
+            setField(Graves.class, plugin, "hologramManager", new HologramManager(plugin));
+            setField(Graves.class, plugin, "guiManager", new GUIManager(plugin));
+            setField(Graves.class, plugin, "entityManager", new EntityManager(plugin));
+            setField(Graves.class, plugin, "locationManager", new LocationManager(plugin));
+            setField(Graves.class, plugin, "graveManager", new GraveManager(plugin));
+            setField(Graves.class, plugin, "particleManager", new ParticleManager(plugin));
+            setField(Graves.class, plugin, "compassManager", new CompassManager(plugin));
+            deleteOnExit(dataFolder.toPath());
+
+            return plugin;
+        } catch (ReflectiveOperationException | IOException | URISyntaxException exception) {
+            throw new IllegalStateException("Unable to create the benchmark plugin", exception);
+        }
+    }
+
+    /**
+     * Sets a field, final or not, on an object.
+     *
+     * @param type   The class declaring the field.
+     * @param object The object.
+     * @param name   The name of the field.
+     * @param value  The value.
+     * @throws ReflectiveOperationException If the field does not exist.
+     */
+    public static void setField(Class<?> type, Object object, String name, Object value)
+            throws ReflectiveOperationException {
+        Field field = type.getDeclaredField(name);
+
+        field.setAccessible(true);
+        field.set(object, value);
+    }
+
+    /**
+     * Initializes the plugin the way the plugin loader does, filling the arguments of {@code JavaPlugin.init} by
+     * type so the stand-in does not depend on the exact signature of the API version.
+     *
+     * @param plugin     The plugin.
+     * @param dataFolder The data folder.
+     * @throws ReflectiveOperationException If the plugin cannot be initialized.
+     */
+    private static void init(Graves plugin, File dataFolder) throws ReflectiveOperationException {
+        for (Method method : JavaPlugin.class.getDeclaredMethods()) {
+            if (!method.getName().equals("init") || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+
+            Class<?>[] types = method.getParameterTypes();
+            Object[] args = new Object[types.length];
+            List<File> fileList = new ArrayList<>(Arrays.asList(dataFolder, new File(dataFolder, "GravesX.jar")));
+
+            for (int i = 0; i < types.length; i++) {
+                if (types[i] == Server.class) {
+                    args[i] = Bukkit.getServer();
+                } else if (types[i] == PluginDescriptionFile.class) {
+                    args[i] = new PluginDescriptionFile("GravesX", "benchmark", Graves.class.getName());
+                } else if (types[i] == File.class) {
+                    args[i] = fileList.remove(0);
+                } else if (types[i] == ClassLoader.class) {
+                    args[i] = Graves.class.getClassLoader();
+                } else if (types[i].isInterface()) {
+                    args[i] = standIn(types[i]);
+                }
+            }
+
+            method.setAccessible(true);
+            method.invoke(plugin, args);
+
+            return;
+        }
+
+        throw new NoSuchMethodException("JavaPlugin.init");
+    }
+
+    /**
+     * Copies the bundled configuration files, the way the plugin saves its default configuration on first start.
+     *
+     * @param folder The config folder.
+     * @throws IOException        If a file cannot be copied.
+     * @throws URISyntaxException If the resource location is invalid.
+     */
+    private static void copyConfig(File folder) throws IOException, URISyntaxException {
+        URL url = Graves.class.getClassLoader().getResource("config");
+
+        if (url == null) {
+            throw new IOException("The bundled config folder is not on the classpath");
+        }
+
+        Files.createDirectories(folder.toPath());
+
+        try (Stream<Path> pathStream = Files.list(Paths.get(url.toURI()))) {
+            for (Path path : (Iterable<Path>) pathStream::iterator) {
+                try (InputStream inputStream = Files.newInputStream(path)) {
+                    Files.copy(inputStream, folder.toPath().resolve(path.getFileName().toString()),
+                            StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes a folder and everything in it when the JVM exits.
+     *
+     * @param folder The folder.
+     */
+    private static void deleteOnExit(Path folder) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try (Stream<Path> pathStream = Files.walk(folder)) {
+                pathStream.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            } catch (IOException ignored) {
+            }
+        }));
+    }
+
+    /**
+     * Gets the unsafe instance, used to create the plugin without running the constructor the plugin class loader
+     * guards.
+     *
+     * @return The unsafe instance.
+     * @throws ReflectiveOperationException If it is not accessible.
+     */
+    private static Unsafe getUnsafe() throws ReflectiveOperationException {
+        Field field = Unsafe.class.getDeclaredField("theUnsafe");
+
+        field.setAccessible(true);
+
+        return (Unsafe) field.get(null);
+    }
+
+    /**
+     * Looks up a stand-in world by name or UUID.
+     *
+     * @param key The name or UUID of the world.
+     * @return The world, or null if it was never created.
+     */
+    private static World getWorld(Object key) {
+        if (key instanceof String) {
+            return worldMap.get(key);
+        }
+
+        for (World world : worldMap.values()) {
+            if (world.getUID().equals(key)) {
+                return world;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the default value returned for an unanswered method.
+     *
+     * @param method   The method.
+     * @param childMap The stand-ins already returned by the methods of the same stand-in.
+     * @return Zero or false for primitives, an empty collection or array, a stand-in for other interfaces, the first
+     * constant for enums, null otherwise.
+     */
+    private static Object defaultValue(Method method, Map<Method, Object> childMap) {
+        Class<?> type = method.getReturnType();
+
+        if (type == boolean.class) {
+            return false;
+        } else if (type == void.class) {
+            return null;
+        } else if (type == char.class) {
+            return '\0';
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == float.class) {
+            return 0F;
+        } else if (type == double.class) {
+            return 0D;
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type.isPrimitive()) {
+            return 0;
+        } else if (type == List.class || type == Collection.class) {
+            return new ArrayList<>();
+        } else if (type == Set.class) {
+            return new HashSet<>();
+        } else if (type == Map.class) {
+            return new HashMap<>();
+        } else if (type.isArray()) {
+            return Array.newInstance(type.getComponentType(), 0);
+        } else if (type.isEnum()) {
+            Object[] constants = type.getEnumConstants();
+
+            return constants.length > 0 ? constants[0] : null;
+        } else if (type == UUID.class) {
+            return childMap.computeIfAbsent(method, key -> UUID.randomUUID());
+        } else if (type.isInterface()) {
+            return childMap.computeIfAbsent(method, key -> standIn(type));
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.ranull.graves.benchmark;
+
+import com.ranull.graves.Graves;
+import com.ranull.graves.type.Grave;
+import com.ranull.graves.util.StringUtil;
+import org.bukkit.Location;
+import org.bukkit.entity.EntityType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks rendering a hologram line through {@link StringUtil#parseString(String, Location, Grave, Graves)}, with
+ * the compiled template cached as it is in steady state and with the cache cleared on every call.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class StringUtilBenchmark {
+    /**
+     * The configured line, from a plain label to a line using several placeholders.
+     */
+    @Param({"&6Grave", "&7Owner: &f%owner_name% &7Items: &f%item%",
+            "&c%owner_name_display% &7killed by &c%killer_name_display% &7(%level% levels, %item% items)"})
+    public String line;
+
+    private Graves plugin;
+    private Grave grave;
+    private Location location;
+
+    @Setup
+    public void setup() {
+        plugin = StandIns.plugin();
+        location = new Location(StandIns.world("world"), 100, 64, -200);
+        grave = new Grave(UUID.randomUUID());
+        grave.setOwnerType(EntityType.PLAYER);
+        grave.setOwnerName("Notch");
+        grave.setOwnerNameDisplay("Notch");
+        grave.setOwnerUUID(UUID.randomUUID());
+        grave.setKillerType(EntityType.ZOMBIE);
+        grave.setKillerName("Zombie");
+        grave.setLocationDeath(location);
+        grave.setTimeCreation(System.currentTimeMillis());
+        grave.setTimeAlive(300000);
+        grave.setExperience(550);
+    }
+
+    @Benchmark
+    public String parseString() {
+        return StringUtil.parseString(line, location, grave, plugin);
+    }
+
+    @Benchmark
+    public String parseStringUncached() {
+        StringUtil.clearCache();
+
+        return StringUtil.parseString(line, location, grave, plugin);
+    }
+}
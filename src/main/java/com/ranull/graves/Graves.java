@@ -4,6 +4,7 @@ import com.ranull.graves.command.GravesCommand;
 import com.ranull.graves.compatibility.Compatibility;
 import com.ranull.graves.compatibility.CompatibilityBlockData;
 import com.ranull.graves.compatibility.CompatibilityMaterialData;
+import com.ranull.graves.data.ConfigCache;
 import com.ranull.graves.listener.*;
 import com.ranull.graves.manager.*;
 import com.ranull.graves.type.Grave;
@@ -26,7 +27,6 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.HandlerList;
-import org.bukkit.permissions.PermissionAttachmentInfo;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
@@ -36,6 +36,7 @@ import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.function.Function;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -55,8 +56,11 @@ public class Graves extends JavaPlugin {
     private LocationManager locationManager;
     private GraveManager graveManager;
     private ParticleManager particleManager;
+    private PermissionManager permissionManager;
+    private CompassManager compassManager;
     private Compatibility compatibility;
     private FileConfiguration fileConfiguration;
+    private final ConfigCache configCache = new ConfigCache();
     private boolean isDevelopmentBuild = false;
     private boolean isOutdatedBuild = false;
     private boolean isUnknownBuild = false;
@@ -84,6 +88,9 @@ public class Graves extends JavaPlugin {
     public void onEnable() {
         loadLibraries();
 
+        // Created ahead of the integrations, LuckPerms reports permission changes to it
+        permissionManager = new PermissionManager(this);
+
         integrationManager.load();
         integrationManager.loadNoReload();
 
@@ -100,6 +107,7 @@ public class Graves extends JavaPlugin {
         locationManager = new LocationManager(this);
         graveManager = new GraveManager(this);
         particleManager = new ParticleManager(this);
+        compassManager = new CompassManager(this);
 
         registerCommands();
         registerListeners();
@@ -143,12 +151,6 @@ public class Graves extends JavaPlugin {
 
     private void runShutdownTasks() {
         getLogger().info("Shutting Down GravesX...");
-        try {
-            dataManager.closeConnection();
-        } catch (Exception e) {
-            getLogger().severe("Failed to close Database Connection. Cause:" + e.getCause());
-        }
-
         getLogger().info("Unloading GraveManager...");
         try {
             graveManager.unload();
@@ -157,6 +159,18 @@ public class Graves extends JavaPlugin {
             getLogger().severe("Failed to unload GraveManager. Cause: " + e.getCause());
         }
 
+        try {
+            dataManager.flushWriteBehindQueue();
+        } catch (Exception e) {
+            getLogger().severe("Failed to flush queued Database writes. Cause:" + e.getCause());
+        }
+
+        try {
+            dataManager.closeConnection();
+        } catch (Exception e) {
+            getLogger().severe("Failed to close Database Connection. Cause:" + e.getCause());
+        }
+
         getLogger().info("Unloading IntegrationManager...");
         try {
             integrationManager.unload();
@@ -259,6 +273,13 @@ public class Graves extends JavaPlugin {
             fileConfiguration = getConfigFile(singleConfigFile);
             loadResourceDefaults(fileConfiguration, singleConfigFile.getName());
         }
+
+        configCache.clear();
+        StringUtil.clearCache();
+
+        if (permissionManager != null) {
+            permissionManager.clearProfiles();
+        }
     }
 
     @Override
@@ -278,6 +299,8 @@ public class Graves extends JavaPlugin {
         updateConfig();
         unregisterListeners();
         registerListeners();
+        graveManager.updateProtectionRadius();
+        graveManager.rescheduleGraves();
         // dataManager.reload();
         integrationManager.reload();
         try {
@@ -429,6 +452,7 @@ public class Graves extends JavaPlugin {
         getServer().getPluginManager().registerEvents(new BlockBreakListener(this), this);
         getServer().getPluginManager().registerEvents(new BlockFromToListener(this), this);
         getServer().getPluginManager().registerEvents(new BlockPistonExtendListener(this), this);
+        getServer().getPluginManager().registerEvents(new BlockPistonRetractListener(this), this);
         getServer().getPluginManager().registerEvents(new HangingBreakListener(this), this);
         getServer().getPluginManager().registerEvents(new InventoryClickListener(this), this);
         getServer().getPluginManager().registerEvents(new InventoryDragListener(this), this);
@@ -437,6 +461,8 @@ public class Graves extends JavaPlugin {
         getServer().getPluginManager().registerEvents(new CreatureSpawnListener(this), this);
         getServer().getPluginManager().registerEvents(new ExplosionPrimeListener(this), this);
         getServer().getPluginManager().registerEvents(new ProjectileHitListener(this), this);
+        getServer().getPluginManager().registerEvents(new ChunkLoadListener(this), this);
+        getServer().getPluginManager().registerEvents(new ChunkUnloadListener(this), this);
 
         if (!versionManager.is_v1_7()) {
             getServer().getPluginManager().registerEvents(new PlayerInteractAtEntityListener(this), this);
@@ -446,6 +472,11 @@ public class Graves extends JavaPlugin {
             getServer().getPluginManager().registerEvents(new BlockExplodeListener(this), this);
         }
 
+        // Grave compasses are only created on versions with persistent data
+        if (versionManager.hasPersistentData()) {
+            getServer().getPluginManager().registerEvents(new EntityPickupItemListener(this), this);
+        }
+
         //getServer().getPluginManager().registerEvents(new GraveTestListener(this), this); // Test Listener
     }
 
@@ -813,6 +844,14 @@ public class Graves extends JavaPlugin {
         return particleManager;
     }
 
+    public PermissionManager getPermissionManager() {
+        return permissionManager;
+    }
+
+    public CompassManager getCompassManager() {
+        return compassManager;
+    }
+
     public Compatibility getCompatibility() {
         return compatibility;
     }
@@ -842,37 +881,19 @@ public class Graves extends JavaPlugin {
     }
 
     public ConfigurationSection getConfig(String config, EntityType entityType, List<String> permissionList) {
-        if (permissionList != null && !permissionList.isEmpty()) {
-            for (String permission : permissionList) {
-                String section = "settings.permission." + permission;
-
-                if (getConfig().isConfigurationSection(section)) {
-                    ConfigurationSection configurationSection = getConfig().getConfigurationSection(section);
-
-                    if (configurationSection != null && (versionManager.hasConfigContains()
-                            ? configurationSection.contains(config, true)
-                            : configurationSection.contains(config))) {
-                        return configurationSection;
-                    }
-                }
-            }
-        }
-
-        if (entityType != null) {
-            String section = "settings.entity." + entityType.name();
-
-            if (getConfig().isConfigurationSection(section)) {
-                ConfigurationSection configurationSection = getConfig().getConfigurationSection(section);
+        return configCache.getSection(config, entityType, permissionList,
+                () -> ConfigCache.resolve(getConfig(), config, entityType, permissionList,
+                        versionManager.hasConfigContains()));
+    }
 
-                if (configurationSection != null && (versionManager.hasConfigContains()
-                        ? configurationSection.contains(config, true)
-                        : configurationSection.contains(config))) {
-                    return configurationSection;
-                }
-            }
-        }
+    public <T> T getConfigValue(String config, Grave grave, Class<T> type, Function<ConfigurationSection, T> parser) {
+        return getConfigValue(config, grave.getOwnerType(), grave.getPermissionList(), type, parser);
+    }
 
-        return getConfig().getConfigurationSection("settings.default.default");
+    public <T> T getConfigValue(String config, EntityType entityType, List<String> permissionList, Class<T> type,
+                                Function<ConfigurationSection, T> parser) {
+        return configCache.getValue(config, entityType, permissionList, type,
+                () -> getConfig(config, entityType, permissionList), parser);
     }
 
     private void loadResourceDefaults(FileConfiguration fileConfiguration, String resource) {
@@ -893,35 +914,9 @@ public class Graves extends JavaPlugin {
     }
 
     public List<String> getPermissionList(Entity entity) {
-        List<String> permissionList = new ArrayList<>();
-        List<String> permissionListSorted = new ArrayList<>();
-
-        if (entity instanceof Player) {
-            Player player = (Player) entity;
-
-            for (PermissionAttachmentInfo permissionAttachmentInfo : player.getEffectivePermissions()) {
-                if (permissionAttachmentInfo.getPermission().startsWith("graves.permission.")) {
-                    String permission = permissionAttachmentInfo.getPermission()
-                            .replace("graves.permission.", "").toLowerCase();
-
-                    if (getConfig().isConfigurationSection("settings.permission." + permission)) {
-                        permissionList.add(permission);
-                    }
-                }
-            }
-
-            ConfigurationSection configurationSection = getConfig().getConfigurationSection("settings.permission");
-
-            if (configurationSection != null) {
-                for (String permission : configurationSection.getKeys(false)) {
-                    if (permissionList.contains(permission)) {
-                        permissionListSorted.add(permission);
-                    }
-                }
-            }
-        }
-
-        return permissionListSorted;
+        return entity instanceof Player
+                ? new ArrayList<>(permissionManager.getProfile((Player) entity).getPermissionList())
+                : new ArrayList<>();
     }
 
     private FileConfiguration getConfigFiles(File folder) {
@@ -1035,29 +1030,15 @@ public class Graves extends JavaPlugin {
 
     /**
      * Checks if the specified player has been granted the specified permission.
-     * This method first checks if the Vault integration is available and uses it to check permissions.
-     * If Vault is not available, it falls back to the default Bukkit permission check.
-     * Additionally, this method logs debug messages based on the permission check results.
+     * The result is read from the player's cached permission profile. On a miss the permission is checked with
+     * LuckPerms, then Vault, then Bukkit, and the result is added to the profile.
      *
      * @param permission the permission to check for
      * @param player the player whose permissions are being checked
      * @return {@code true} if the player has the specified permission, {@code false} otherwise
      */
     public boolean hasGrantedPermission(String permission, Player player) {
-        boolean hasPermission;
-
-        if (getIntegrationManager().hasLuckPermsHandler()) {
-            hasPermission = getIntegrationManager().getLuckPermsHandler().hasPermission(player, permission);
-            debugMessage("[LuckPerms] Player: " + player.getName() + " | Permission: " + permission + " | Has Permission: " + hasPermission, 4);
-        } else if (getIntegrationManager().hasVault()) {
-            hasPermission = getIntegrationManager().getVault().hasPermission(player, permission);
-            debugMessage("[Vault] Player: " + player.getName() + " | Permission: " + permission + " | Has Permission: " + hasPermission, 4);
-        } else {
-            hasPermission = player.hasPermission(permission);
-            debugMessage("[Bukkit] Player: " + player.getName() + " | Permission: " + permission + " | Has Permission: " + hasPermission, 4);
-        }
-
-        return hasPermission;
+        return permissionManager.hasPermission(permission, player);
     }
 
     /**
@@ -0,0 +1,133 @@
+package com.ranull.graves.data;
+
+import java.io.Serializable;
+
+/**
+ * A per-chunk index of grave blocks keyed by packed block coordinates.
+ * <p>
+ * A bitmap with one bit per block column of the chunk answers most negative lookups before the map is touched, and
+ * the map itself stores primitive keys, so probing a block that is not a grave allocates nothing.
+ * </p>
+ */
+public class BlockIndex implements Serializable {
+    /**
+     * One bit per block column, set while the column holds at least one grave block.
+     */
+    private final long[] columnBitmap;
+
+    /**
+     * The number of grave blocks in each block column.
+     */
+    private final short[] columnCount;
+
+    /**
+     * The grave blocks keyed by {@link #getBlockKey(int, int, int)}.
+     */
+    private final PackedLongMap<BlockData> blockDataMap;
+
+    /**
+     * Constructs a new, empty BlockIndex.
+     */
+    public BlockIndex() {
+        this.columnBitmap = new long[4];
+        this.columnCount = new short[256];
+        this.blockDataMap = new PackedLongMap<>();
+    }
+
+    /**
+     * Gets the block data at block coordinates within this chunk.
+     *
+     * @param x The block x-coordinate.
+     * @param y The block y-coordinate.
+     * @param z The block z-coordinate.
+     * @return The block data, or null if there is no grave block there.
+     */
+    public synchronized BlockData get(int x, int y, int z) {
+        int column = getColumn(x, z);
+
+        if ((columnBitmap[column >>> 6] & (1L << column)) == 0) {
+            return null;
+        }
+
+        return blockDataMap.get(getBlockKey(x, y, z));
+    }
+
+    /**
+     * Adds or replaces the block data at block coordinates within this chunk.
+     *
+     * @param x         The block x-coordinate.
+     * @param y         The block y-coordinate.
+     * @param z         The block z-coordinate.
+     * @param blockData The block data.
+     */
+    public synchronized void put(int x, int y, int z, BlockData blockData) {
+        if (blockDataMap.put(getBlockKey(x, y, z), blockData) == null) {
+            int column = getColumn(x, z);
+
+            columnCount[column]++;
+            columnBitmap[column >>> 6] |= 1L << column;
+        }
+    }
+
+    /**
+     * Removes the block data at block coordinates within this chunk.
+     *
+     * @param x The block x-coordinate.
+     * @param y The block y-coordinate.
+     * @param z The block z-coordinate.
+     */
+    public synchronized void remove(int x, int y, int z) {
+        if (blockDataMap.remove(getBlockKey(x, y, z)) != null) {
+            int column = getColumn(x, z);
+
+            if (--columnCount[column] == 0) {
+                columnBitmap[column >>> 6] &= ~(1L << column);
+            }
+        }
+    }
+
+    /**
+     * Checks if the index holds no grave blocks.
+     *
+     * @return True if the index is empty, false otherwise.
+     */
+    public synchronized boolean isEmpty() {
+        return blockDataMap.isEmpty();
+    }
+
+    /**
+     * Checks if the column bitmap marks a block column as holding at least one grave block.
+     *
+     * @param x The block x-coordinate.
+     * @param z The block z-coordinate.
+     * @return True if the column bit is set, false otherwise.
+     */
+    synchronized boolean isColumnOccupied(int x, int z) {
+        int column = getColumn(x, z);
+
+        return (columnBitmap[column >>> 6] & (1L << column)) != 0;
+    }
+
+    /**
+     * Packs block coordinates into a key unique within one chunk.
+     *
+     * @param x The block x-coordinate.
+     * @param y The block y-coordinate.
+     * @param z The block z-coordinate.
+     * @return The packed key.
+     */
+    public static long getBlockKey(int x, int y, int z) {
+        return ((long) y << 8) | ((x & 15) << 4) | (z & 15);
+    }
+
+    /**
+     * Gets the column of block coordinates within a chunk.
+     *
+     * @param x The block x-coordinate.
+     * @param z The block z-coordinate.
+     * @return The column, from 0 to 255.
+     */
+    private static int getColumn(int x, int z) {
+        return ((x & 15) << 4) | (z & 15);
+    }
+}
@@ -4,12 +4,16 @@ import org.bukkit.Location;
 import org.bukkit.World;
 
 import java.io.Serializable;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents data for a specific chunk in the game world, including block and entity data.
+ * <p>
+ * The block and entity maps may be read and modified from any thread. {@link #isLoaded()} queries the world and is
+ * main-thread only.
+ * </p>
  */
 public class ChunkData implements Serializable {
     /**
@@ -45,6 +49,15 @@ public class ChunkData implements Serializable {
      */
     private final Map<Location, BlockData> blockDataMap;
 
+    /**
+     * A primitive index of the block data in {@link #blockDataMap}.
+     * <p>
+     * This {@link BlockIndex} is kept in step with {@link #blockDataMap} so block probes by coordinates do not have
+     * to build a {@link Location}.
+     * </p>
+     */
+    private final BlockIndex blockIndex;
+
     /**
      * A map of entity UUIDs and their corresponding entity data.
      * <p>
@@ -63,8 +76,9 @@ public class ChunkData implements Serializable {
         this.world = location.getWorld();
         this.x = location.getBlockX() >> 4;
         this.z = location.getBlockZ() >> 4;
-        this.blockDataMap = new HashMap<>();
-        this.entityDataMap = new HashMap<>();
+        this.blockDataMap = new ConcurrentHashMap<>();
+        this.blockIndex = new BlockIndex();
+        this.entityDataMap = new ConcurrentHashMap<>();
     }
 
     /**
@@ -130,13 +144,28 @@ public class ChunkData implements Serializable {
         return blockDataMap;
     }
 
+    /**
+     * Gets the block data at block coordinates within the chunk, without allocating.
+     *
+     * @param x The block x-coordinate.
+     * @param y The block y-coordinate.
+     * @param z The block z-coordinate.
+     * @return The block data, or null if there is no grave block there.
+     */
+    public BlockData getBlockData(int x, int y, int z) {
+        return blockIndex.get(x, y, z);
+    }
+
     /**
      * Adds block data to the chunk.
      *
      * @param blockData The block data to add.
      */
     public void addBlockData(BlockData blockData) {
-        blockDataMap.put(blockData.getLocation(), blockData);
+        Location location = blockData.getLocation();
+
+        blockDataMap.put(location, blockData);
+        blockIndex.put(location.getBlockX(), location.getBlockY(), location.getBlockZ(), blockData);
     }
 
     /**
@@ -146,6 +175,7 @@ public class ChunkData implements Serializable {
      */
     public void removeBlockData(Location location) {
         blockDataMap.remove(location);
+        blockIndex.remove(location.getBlockX(), location.getBlockY(), location.getBlockZ());
     }
 
     /**
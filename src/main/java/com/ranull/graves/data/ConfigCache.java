@@ -0,0 +1,207 @@
+package com.ranull.graves.data;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.EntityType;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes resolved configuration lookups.
+ * <p>
+ * Resolving a config key walks the permission, entity and default sections on every call. This cache stores the
+ * resolved section per key, entity type and ordered permission list, along with values parsed from it, until the
+ * configuration is reloaded.
+ * </p>
+ */
+public class ConfigCache {
+    /**
+     * Stand-in for a cached null, since the backing maps do not accept null values.
+     */
+    private static final Object NULL = new Object();
+
+    /**
+     * The resolved sections and parsed values, replaced as a whole when cleared.
+     */
+    private volatile Map<Key, Object> cacheMap;
+
+    /**
+     * Constructs a new, empty ConfigCache.
+     */
+    public ConfigCache() {
+        this.cacheMap = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the resolved section for a config key, resolving and caching it on a miss.
+     *
+     * @param config         The config key.
+     * @param entityType     The entity type, or null.
+     * @param permissionList The ordered permission list, or null.
+     * @param resolver       Resolves the section on a miss.
+     * @return The resolved section.
+     */
+    public ConfigurationSection getSection(String config, EntityType entityType, List<String> permissionList,
+                                           Supplier<ConfigurationSection> resolver) {
+        return get(config, entityType, permissionList, ConfigurationSection.class, resolver);
+    }
+
+    /**
+     * Gets a value parsed from the resolved section of a config key, parsing and caching it on a miss.
+     *
+     * @param config         The config key.
+     * @param entityType     The entity type, or null.
+     * @param permissionList The ordered permission list, or null.
+     * @param type           The type of the parsed value, part of the cache key.
+     * @param section        The resolved section of the config key.
+     * @param parser         Parses the value from the resolved section.
+     * @param <T>            The type of the parsed value.
+     * @return The parsed value, may be null.
+     */
+    public <T> T getValue(String config, EntityType entityType, List<String> permissionList, Class<T> type,
+                          Supplier<ConfigurationSection> section, Function<ConfigurationSection, T> parser) {
+        return get(config, entityType, permissionList, type, () -> {
+            ConfigurationSection configurationSection = section.get();
+
+            return configurationSection != null ? parser.apply(configurationSection) : null;
+        });
+    }
+
+    /**
+     * Resolves the section a config key is read from, without caching.
+     * <p>
+     * The permission sections are checked in order, then the entity section, and the default section is used if
+     * none of them set the key.
+     * </p>
+     *
+     * @param root              The root configuration.
+     * @param config            The config key.
+     * @param entityType        The entity type, or null.
+     * @param permissionList    The ordered permission list, or null.
+     * @param hasConfigContains Whether the server can check a section for a key while ignoring defaults.
+     * @return The resolved section.
+     */
+    public static ConfigurationSection resolve(ConfigurationSection root, String config, EntityType entityType,
+                                               List<String> permissionList, boolean hasConfigContains) {
+        if (permissionList != null && !permissionList.isEmpty()) {
+            for (String permission : permissionList) {
+                ConfigurationSection configurationSection = getSection(root, "settings.permission." + permission);
+
+                if (configurationSection != null && contains(configurationSection, config, hasConfigContains)) {
+                    return configurationSection;
+                }
+            }
+        }
+
+        if (entityType != null) {
+            ConfigurationSection configurationSection = getSection(root, "settings.entity." + entityType.name());
+
+            if (configurationSection != null && contains(configurationSection, config, hasConfigContains)) {
+                return configurationSection;
+            }
+        }
+
+        return root.getConfigurationSection("settings.default.default");
+    }
+
+    /**
+     * Removes every cached section and value.
+     */
+    public void clear() {
+        cacheMap = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets a cached entry, computing it on a miss.
+     *
+     * @param config         The config key.
+     * @param entityType     The entity type, or null.
+     * @param permissionList The ordered permission list, or null.
+     * @param type           The type of the cached value.
+     * @param supplier       Computes the value on a miss.
+     * @param <T>            The type of the cached value.
+     * @return The cached value, may be null.
+     */
+    private <T> T get(String config, EntityType entityType, List<String> permissionList, Class<T> type,
+                      Supplier<? extends T> supplier) {
+        Map<Key, Object> cacheMap = this.cacheMap;
+        Object value = cacheMap.get(new Key(config, entityType, permissionList, type));
+
+        if (value == null) {
+            value = supplier.get();
+
+            // Store a copy of the permission list so later changes to the caller's list cannot corrupt the key
+            cacheMap.put(new Key(config, entityType, permissionList != null
+                    ? new ArrayList<>(permissionList) : null, type), value != null ? value : NULL);
+        }
+
+        return value != NULL ? type.cast(value) : null;
+    }
+
+    /**
+     * Gets a configuration section if the path holds one.
+     *
+     * @param root The root configuration.
+     * @param path The path of the section.
+     * @return The section, or null.
+     */
+    private static ConfigurationSection getSection(ConfigurationSection root, String path) {
+        return root.isConfigurationSection(path) ? root.getConfigurationSection(path) : null;
+    }
+
+    /**
+     * Checks if a section sets a config key itself.
+     *
+     * @param configurationSection The section.
+     * @param config               The config key.
+     * @param hasConfigContains    Whether defaults can be ignored by the check.
+     * @return True if the section sets the key.
+     */
+    private static boolean contains(ConfigurationSection configurationSection, String config,
+                                    boolean hasConfigContains) {
+        return hasConfigContains ? configurationSection.contains(config, true)
+                : configurationSection.contains(config);
+    }
+
+    /**
+     * A config key together with everything its resolution depends on.
+     */
+    private static final class Key {
+        private final String config;
+        private final EntityType entityType;
+        private final List<String> permissionList;
+        private final Class<?> type;
+        private final int hashCode;
+
+        private Key(String config, EntityType entityType, List<String> permissionList, Class<?> type) {
+            this.config = config;
+            this.entityType = entityType;
+            this.permissionList = permissionList != null && !permissionList.isEmpty() ? permissionList : null;
+            this.type = type;
+            this.hashCode = Objects.hash(config, entityType, this.permissionList, type);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+
+            if (!(object instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) object;
+
+            return hashCode == key.hashCode && config.equals(key.config) && entityType == key.entityType
+                    && type == key.type && Objects.equals(permissionList, key.permissionList);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.ranull.graves.data;
+
+import com.ranull.graves.type.Grave;
+
+import java.util.*;
+
+/**
+ * A deadline-ordered queue of grave lifetime and protection expiries.
+ * <p>
+ * Each grave has at most one pending deadline per {@link Type}. Rescheduling a grave replaces its pending deadlines,
+ * older queue entries are skipped when they come up. Graves that never expire are not queued at all.
+ * </p>
+ */
+public class GraveExpiryQueue {
+    /**
+     * The queued deadlines, earliest first.
+     */
+    private final PriorityQueue<Entry> queue;
+
+    /**
+     * The current deadline of each grave per expiry type.
+     * <p>
+     * A queue entry is only due if its deadline still matches the one stored here.
+     * </p>
+     */
+    private final Map<Type, Map<UUID, Long>> deadlineMap;
+
+    /**
+     * Constructs a new, empty GraveExpiryQueue.
+     */
+    public GraveExpiryQueue() {
+        this.queue = new PriorityQueue<>(Comparator.comparingLong(Entry::getDeadline));
+        this.deadlineMap = new EnumMap<>(Type.class);
+
+        for (Type type : Type.values()) {
+            deadlineMap.put(type, new HashMap<>());
+        }
+    }
+
+    /**
+     * Schedules the lifetime and protection deadlines of a grave, replacing any pending deadlines.
+     *
+     * @param grave The grave to schedule.
+     */
+    public synchronized void schedule(Grave grave) {
+        schedule(grave.getUUID(), Type.LIFETIME, getLifetimeDeadline(grave));
+        schedule(grave.getUUID(), Type.PROTECTION, getProtectionDeadline(grave));
+    }
+
+    /**
+     * Removes every pending deadline of a grave.
+     *
+     * @param graveUUID The UUID of the grave.
+     */
+    public synchronized void unschedule(UUID graveUUID) {
+        for (Map<UUID, Long> typeDeadlineMap : deadlineMap.values()) {
+            typeDeadlineMap.remove(graveUUID);
+        }
+    }
+
+    /**
+     * Removes and returns every deadline that is due at the given time.
+     *
+     * @param time The current time in milliseconds.
+     * @return A list of due entries, earliest first.
+     */
+    public synchronized List<Entry> pollDue(long time) {
+        List<Entry> entryList = new ArrayList<>();
+
+        while (!queue.isEmpty() && queue.peek().getDeadline() <= time) {
+            Entry entry = queue.poll();
+            Map<UUID, Long> typeDeadlineMap = deadlineMap.get(entry.getType());
+            Long deadline = typeDeadlineMap.get(entry.getGraveUUID());
+
+            if (deadline != null && deadline == entry.getDeadline()) {
+                typeDeadlineMap.remove(entry.getGraveUUID());
+                entryList.add(entry);
+            }
+        }
+
+        return entryList;
+    }
+
+    /**
+     * Removes every pending deadline.
+     */
+    public synchronized void clear() {
+        queue.clear();
+
+        for (Map<UUID, Long> typeDeadlineMap : deadlineMap.values()) {
+            typeDeadlineMap.clear();
+        }
+    }
+
+    /**
+     * Schedules a single deadline for a grave, a negative deadline removes it instead.
+     *
+     * @param graveUUID The UUID of the grave.
+     * @param type      The type of expiry.
+     * @param deadline  The absolute deadline in milliseconds.
+     */
+    private void schedule(UUID graveUUID, Type type, long deadline) {
+        Map<UUID, Long> typeDeadlineMap = deadlineMap.get(type);
+
+        if (deadline < 0) {
+            typeDeadlineMap.remove(graveUUID);
+        } else {
+            Long oldDeadline = typeDeadlineMap.put(graveUUID, deadline);
+
+            if (oldDeadline == null || oldDeadline != deadline) {
+                queue.add(new Entry(graveUUID, type, deadline));
+            }
+        }
+    }
+
+    /**
+     * Gets the absolute time a grave's lifetime ends.
+     *
+     * @param grave The grave.
+     * @return The deadline in milliseconds, or -1 if the grave never expires.
+     */
+    private static long getLifetimeDeadline(Grave grave) {
+        return !grave.isAbandoned() && grave.getTimeAlive() >= 0
+                ? grave.getTimeCreation() + grave.getTimeAlive() : -1;
+    }
+
+    /**
+     * Gets the absolute time a grave's protection ends.
+     *
+     * @param grave The grave.
+     * @return The deadline in milliseconds, or -1 if the protection never expires.
+     */
+    private static long getProtectionDeadline(Grave grave) {
+        return grave.getProtection() && grave.getTimeProtection() >= 0
+                ? grave.getTimeCreation() + grave.getTimeProtection() : -1;
+    }
+
+    /**
+     * The kind of expiry a deadline belongs to.
+     */
+    public enum Type {
+        LIFETIME,
+        PROTECTION
+    }
+
+    /**
+     * A single queued deadline.
+     */
+    public static final class Entry {
+        private final UUID graveUUID;
+        private final Type type;
+        private final long deadline;
+
+        private Entry(UUID graveUUID, Type type, long deadline) {
+            this.graveUUID = graveUUID;
+            this.type = type;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Gets the UUID of the grave.
+         *
+         * @return The grave UUID.
+         */
+        public UUID getGraveUUID() {
+            return graveUUID;
+        }
+
+        /**
+         * Gets the type of expiry.
+         *
+         * @return The expiry type.
+         */
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * Gets the absolute deadline.
+         *
+         * @return The deadline in milliseconds.
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.ranull.graves.data;
+
+import org.bukkit.Location;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reverse index from a grave to the block and entity records that make it up.
+ * <p>
+ * Every {@link BlockData} and {@link EntityData} (including {@link HologramData}) stored in a {@link ChunkData} is
+ * also indexed here by the UUID of its grave, so a grave's parts can be found without walking every chunk. Entity
+ * data is additionally indexed by the UUID of the entity, so an entity resolves to its record in one lookup.
+ * </p>
+ */
+public class GravePartIndex {
+    /**
+     * A map of grave UUIDs to their block data, keyed by block location.
+     */
+    private final Map<UUID, Map<Location, BlockData>> blockDataMap;
+
+    /**
+     * A map of grave UUIDs to their entity data, keyed by entity UUID.
+     */
+    private final Map<UUID, Map<UUID, EntityData>> entityDataMap;
+
+    /**
+     * A map of entity UUIDs to their entity data.
+     * <p>
+     * Written under the index lock, read without it, since entity events query it far more often than it changes.
+     * </p>
+     */
+    private final Map<UUID, EntityData> entityIndexMap;
+
+    /**
+     * Constructs a new, empty GravePartIndex.
+     */
+    public GravePartIndex() {
+        this.blockDataMap = new HashMap<>();
+        this.entityDataMap = new HashMap<>();
+        this.entityIndexMap = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Adds block data to the index.
+     *
+     * @param blockData The block data to add.
+     */
+    public synchronized void addBlockData(BlockData blockData) {
+        if (blockData != null && blockData.getGraveUUID() != null) {
+            blockDataMap.computeIfAbsent(blockData.getGraveUUID(), key -> new HashMap<>())
+                    .put(blockData.getLocation(), blockData);
+        }
+    }
+
+    /**
+     * Removes block data from the index.
+     *
+     * @param blockData The block data to remove.
+     */
+    public synchronized void removeBlockData(BlockData blockData) {
+        if (blockData != null && blockData.getGraveUUID() != null) {
+            Map<Location, BlockData> graveBlockDataMap = blockDataMap.get(blockData.getGraveUUID());
+
+            if (graveBlockDataMap != null) {
+                graveBlockDataMap.remove(blockData.getLocation());
+
+                if (graveBlockDataMap.isEmpty()) {
+                    blockDataMap.remove(blockData.getGraveUUID());
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds entity data to the index.
+     *
+     * @param entityData The entity data to add.
+     */
+    public synchronized void addEntityData(EntityData entityData) {
+        if (entityData != null && entityData.getUUIDGrave() != null) {
+            entityDataMap.computeIfAbsent(entityData.getUUIDGrave(), key -> new HashMap<>())
+                    .put(entityData.getUUIDEntity(), entityData);
+
+            if (entityData.getUUIDEntity() != null) {
+                entityIndexMap.put(entityData.getUUIDEntity(), entityData);
+            }
+        }
+    }
+
+    /**
+     * Removes entity data from the index.
+     *
+     * @param entityData The entity data to remove.
+     */
+    public synchronized void removeEntityData(EntityData entityData) {
+        if (entityData != null && entityData.getUUIDGrave() != null) {
+            Map<UUID, EntityData> graveEntityDataMap = entityDataMap.get(entityData.getUUIDGrave());
+
+            if (graveEntityDataMap != null) {
+                graveEntityDataMap.remove(entityData.getUUIDEntity());
+
+                if (graveEntityDataMap.isEmpty()) {
+                    entityDataMap.remove(entityData.getUUIDGrave());
+                }
+            }
+
+            if (entityData.getUUIDEntity() != null) {
+                // Only drop the record if it still belongs to this grave, the entity may have been re-added since
+                entityIndexMap.computeIfPresent(entityData.getUUIDEntity(), (key, value) ->
+                        entityData.getUUIDGrave().equals(value.getUUIDGrave()) ? null : value);
+            }
+        }
+    }
+
+    /**
+     * Gets the entity data of an entity.
+     *
+     * @param entityUUID The UUID of the entity.
+     * @return The entity data, or null if the entity is not part of a grave.
+     */
+    public EntityData getEntityData(UUID entityUUID) {
+        return entityUUID != null ? entityIndexMap.get(entityUUID) : null;
+    }
+
+    /**
+     * Gets a snapshot of the block data belonging to a grave.
+     *
+     * @param graveUUID The UUID of the grave.
+     * @return A list of the grave's block data.
+     */
+    public synchronized List<BlockData> getBlockDataList(UUID graveUUID) {
+        Map<Location, BlockData> graveBlockDataMap = blockDataMap.get(graveUUID);
+
+        return graveBlockDataMap != null ? new ArrayList<>(graveBlockDataMap.values()) : new ArrayList<>();
+    }
+
+    /**
+     * Gets a snapshot of the entity data belonging to a grave.
+     *
+     * @param graveUUID The UUID of the grave.
+     * @return A list of the grave's entity data.
+     */
+    public synchronized List<EntityData> getEntityDataList(UUID graveUUID) {
+        Map<UUID, EntityData> graveEntityDataMap = entityDataMap.get(graveUUID);
+
+        return graveEntityDataMap != null ? new ArrayList<>(graveEntityDataMap.values()) : new ArrayList<>();
+    }
+
+    /**
+     * Removes every part from the index.
+     */
+    public synchronized void clear() {
+        blockDataMap.clear();
+        entityDataMap.clear();
+        entityIndexMap.clear();
+    }
+}
@@ -0,0 +1,129 @@
+package com.ranull.graves.data;
+
+import org.bukkit.Location;
+
+/**
+ * A small ring buffer of the recent positions of an entity.
+ * <p>
+ * Positions are sampled at a bounded rate and stored as they are, nothing about the world is checked when they are
+ * recorded. Whoever reads the history decides which position is still usable, newest first. The newest position
+ * that was found usable as it left the buffer is kept apart, so there is still a fallback after the entity spent
+ * longer than the buffer covers on unusable ground.
+ * </p>
+ */
+public class LocationHistory {
+    /**
+     * The number of positions kept.
+     */
+    public static final int CAPACITY = 8;
+
+    /**
+     * The minimum time between two samples, in milliseconds.
+     */
+    public static final long SAMPLE_INTERVAL = 500;
+
+    /**
+     * The sampled positions, oldest entries are overwritten first.
+     */
+    private final Location[] locations;
+
+    /**
+     * The slot the next sample is written to.
+     */
+    private int head;
+
+    /**
+     * The number of positions held, at most {@link #CAPACITY}.
+     */
+    private int size;
+
+    /**
+     * The time of the last sample, in milliseconds.
+     */
+    private long timeSample;
+
+    /**
+     * The newest position found usable as it left the buffer, or null if there is none.
+     */
+    private Location validatedLocation;
+
+    /**
+     * Constructs a new, empty LocationHistory.
+     */
+    public LocationHistory() {
+        this.locations = new Location[CAPACITY];
+    }
+
+    /**
+     * Records a position if the last sample is at least {@link #SAMPLE_INTERVAL} old.
+     *
+     * @param location The position, stored without copying.
+     * @param time     The current time in milliseconds.
+     * @return True if the position was recorded, false if it was skipped.
+     */
+    public synchronized boolean addLocation(Location location, long time) {
+        if (size > 0 && time - timeSample < SAMPLE_INTERVAL) {
+            return false;
+        }
+
+        locations[head] = location;
+        head = (head + 1) % CAPACITY;
+        timeSample = time;
+
+        if (size < CAPACITY) {
+            size++;
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets a recorded position, newest first.
+     *
+     * @param index The index, 0 for the newest position.
+     * @return The position, or null if the index is out of range.
+     */
+    public synchronized Location getLocation(int index) {
+        if (index < 0 || index >= size) {
+            return null;
+        }
+
+        return locations[Math.floorMod(head - 1 - index, CAPACITY)];
+    }
+
+    /**
+     * Gets the oldest recorded position if the buffer is full, the one the next sample overwrites.
+     *
+     * @return The position, or null if the buffer is not full.
+     */
+    public synchronized Location getEvictedLocation() {
+        return size == CAPACITY ? locations[head] : null;
+    }
+
+    /**
+     * Gets the newest position found usable as it left the buffer.
+     *
+     * @return The position, or null if there is none.
+     */
+    public synchronized Location getValidatedLocation() {
+        return validatedLocation;
+    }
+
+    /**
+     * Sets the newest position found usable as it left the buffer.
+     *
+     * @param validatedLocation The position, stored without copying.
+     */
+    public synchronized void setValidatedLocation(Location validatedLocation) {
+        this.validatedLocation = validatedLocation;
+    }
+
+    /**
+     * Gets the number of recorded positions.
+     *
+     * @return The number of positions.
+     */
+    public synchronized int size() {
+        return size;
+    }
+}
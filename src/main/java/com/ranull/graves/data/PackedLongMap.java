@@ -0,0 +1,226 @@
+package com.ranull.graves.data;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * An open-addressed hash map from primitive {@code long} keys to non-null values.
+ * <p>
+ * Keys are stored unboxed and collisions are resolved by linear probing, so lookups allocate nothing. Removal shifts
+ * the following entries back instead of leaving tombstones. This class is not thread-safe, callers guard it.
+ * </p>
+ *
+ * @param <V> The type of the values.
+ */
+public final class PackedLongMap<V> implements Serializable {
+    /**
+     * The initial number of slots, always a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * The keys, a slot is in use when its value is not null.
+     */
+    private long[] keys;
+
+    /**
+     * The values, null for an empty slot.
+     */
+    private Object[] values;
+
+    /**
+     * The number of entries.
+     */
+    private int size;
+
+    /**
+     * Constructs a new, empty PackedLongMap.
+     */
+    public PackedLongMap() {
+        this.keys = new long[INITIAL_CAPACITY];
+        this.values = new Object[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key The key.
+     * @return The value, or null if the key is not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int mask = values.length - 1;
+
+        for (int slot = getSlot(key, mask); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Associates a value with a key, replacing any previous value.
+     *
+     * @param key   The key.
+     * @param value The value, must not be null.
+     * @return The previous value, or null if the key was not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+
+        int mask = values.length - 1;
+        int slot = getSlot(key, mask);
+
+        for (; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                V oldValue = (V) values[slot];
+                values[slot] = value;
+
+                return oldValue;
+            }
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+
+        // Keep the load factor at or below one half so probe sequences stay short
+        if (++size * 2 > values.length) {
+            resize(values.length * 2);
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key The key.
+     * @return The removed value, or null if the key was not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int mask = values.length - 1;
+
+        for (int slot = getSlot(key, mask); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                V oldValue = (V) values[slot];
+
+                shiftBack(slot, mask);
+                size--;
+
+                return oldValue;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the map has no entries.
+     *
+     * @return True if the map is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Performs an action for every value, in no particular order.
+     *
+     * @param action The action.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) {
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    /**
+     * Empties a slot and moves later entries of the same probe run back into the gap.
+     *
+     * @param slot The slot to empty.
+     * @param mask The slot mask.
+     */
+    private void shiftBack(int slot, int mask) {
+        int gap = slot;
+
+        for (int next = (gap + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+            int home = getSlot(keys[next], mask);
+
+            // Move the entry if its home slot does not lie cyclically between the gap and its current slot
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+
+        values[gap] = null;
+    }
+
+    /**
+     * Rehashes every entry into a table with a new number of slots.
+     *
+     * @param capacity The new number of slots, a power of two.
+     */
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        int mask = capacity - 1;
+
+        keys = new long[capacity];
+        values = new Object[capacity];
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = getSlot(oldKeys[i], mask);
+
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Gets the home slot of a key.
+     *
+     * @param key  The key.
+     * @param mask The slot mask.
+     * @return The home slot.
+     */
+    static int getSlot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
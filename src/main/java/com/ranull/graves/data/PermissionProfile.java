@@ -0,0 +1,100 @@
+package com.ranull.graves.data;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The resolved permissions of an online player.
+ * <p>
+ * Holds the ordered {@code graves.permission.*} list, the resolved max graves limit and every permission grant that
+ * has been checked, so death, respawn, grave and teleport handling do not have to ask the permission provider again
+ * until the profile is invalidated.
+ * </p>
+ */
+public class PermissionProfile {
+    /**
+     * The {@code graves.permission.*} names the player has, in config order.
+     */
+    private final List<String> permissionList;
+
+    /**
+     * The max graves limit granted through {@code grave.max.limit.*}.
+     * <p>
+     * {@link Integer#MAX_VALUE} for unlimited graves, or 0 if no limit is set by permissions.
+     * </p>
+     */
+    private final int maxGraves;
+
+    /**
+     * The permission grants checked so far.
+     */
+    private final Map<String, Boolean> grantMap;
+
+    /**
+     * The time the profile was created, in milliseconds.
+     */
+    private final long timeCreation;
+
+    /**
+     * Constructs a new PermissionProfile.
+     *
+     * @param permissionList The ordered permission list.
+     * @param maxGraves      The max graves limit.
+     * @param grantMap       The permission grants already checked.
+     */
+    public PermissionProfile(List<String> permissionList, int maxGraves, Map<String, Boolean> grantMap) {
+        this.permissionList = Collections.unmodifiableList(permissionList);
+        this.maxGraves = maxGraves;
+        this.grantMap = new ConcurrentHashMap<>(grantMap);
+        this.timeCreation = System.currentTimeMillis();
+    }
+
+    /**
+     * Gets the ordered permission list.
+     *
+     * @return The unmodifiable permission list.
+     */
+    public List<String> getPermissionList() {
+        return permissionList;
+    }
+
+    /**
+     * Gets the max graves limit.
+     *
+     * @return The max graves limit.
+     */
+    public int getMaxGraves() {
+        return maxGraves;
+    }
+
+    /**
+     * Gets a cached permission grant.
+     *
+     * @param permission The permission.
+     * @return The grant, or null if the permission has not been checked yet.
+     */
+    public Boolean getGrant(String permission) {
+        return grantMap.get(permission);
+    }
+
+    /**
+     * Caches a permission grant.
+     *
+     * @param permission    The permission.
+     * @param hasPermission Whether the permission is granted.
+     */
+    public void setGrant(String permission, boolean hasPermission) {
+        grantMap.put(permission, hasPermission);
+    }
+
+    /**
+     * Gets the time the profile was created.
+     *
+     * @return The creation time in milliseconds.
+     */
+    public long getTimeCreation() {
+        return timeCreation;
+    }
+}
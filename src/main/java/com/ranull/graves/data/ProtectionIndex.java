@@ -0,0 +1,359 @@
+package com.ranull.graves.data;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.*;
+
+/**
+ * Spatial index of grave locations and their protection radius, bucketed by world and chunk.
+ * <p>
+ * Protection checks only inspect the chunk buckets the largest indexed radius can reach, so the cost of a lookup
+ * does not grow with the total number of graves on the server.
+ * </p>
+ */
+public class ProtectionIndex {
+    /**
+     * A map of world UUIDs to their chunk buckets.
+     * <p>
+     * Each chunk bucket is keyed by the packed chunk coordinates and holds the protected points inside that chunk.
+     * </p>
+     */
+    private final Map<UUID, Map<Long, List<Point>>> worldMap;
+
+    /**
+     * A map of grave UUIDs to every point indexed for that grave.
+     * <p>
+     * This {@link Map} allows a grave to be removed or have its radius changed without scanning the buckets.
+     * </p>
+     */
+    private final Map<UUID, List<Point>> gravePointMap;
+
+    /**
+     * A map of grave UUIDs to their protection radius.
+     * <p>
+     * Every indexed grave has an entry, graves with a radius of 0 or less never protect a location.
+     * </p>
+     */
+    private final Map<UUID, Integer> radiusMap;
+
+    /**
+     * A count of indexed graves per protection radius.
+     * <p>
+     * The largest key decides how many chunks around a location have to be inspected.
+     * </p>
+     */
+    private final NavigableMap<Integer, Integer> radiusCountMap;
+
+    /**
+     * Constructs a new, empty ProtectionIndex.
+     */
+    public ProtectionIndex() {
+        this.worldMap = new HashMap<>();
+        this.gravePointMap = new HashMap<>();
+        this.radiusMap = new HashMap<>();
+        this.radiusCountMap = new TreeMap<>();
+    }
+
+    /**
+     * Adds a grave to the index with its death location and protection radius.
+     * Graves with a radius of 0 or less keep their locations indexed but never protect anything.
+     *
+     * @param graveUUID The UUID of the grave.
+     * @param location  The death location of the grave.
+     * @param radius    The protection radius of the grave.
+     */
+    public synchronized void addGrave(UUID graveUUID, Location location, int radius) {
+        removeGrave(graveUUID);
+        putRadius(graveUUID, radius);
+        addPoint(graveUUID, location, false);
+    }
+
+    /**
+     * Adds a block location to an already indexed grave.
+     *
+     * @param graveUUID The UUID of the grave.
+     * @param location  The location of the grave block.
+     */
+    public synchronized void addLocation(UUID graveUUID, Location location) {
+        if (radiusMap.containsKey(graveUUID)) {
+            addPoint(graveUUID, location, true);
+        }
+    }
+
+    /**
+     * Removes the grave block indexed at the specified location.
+     *
+     * @param location The location of the grave block.
+     */
+    public synchronized void removeLocation(Location location) {
+        if (location == null || location.getWorld() == null) {
+            return;
+        }
+
+        Map<Long, List<Point>> chunkMap = worldMap.get(location.getWorld().getUID());
+        long chunkKey = getChunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        List<Point> pointList = chunkMap != null ? chunkMap.get(chunkKey) : null;
+
+        if (pointList != null) {
+            Iterator<Point> iterator = pointList.iterator();
+
+            while (iterator.hasNext()) {
+                Point point = iterator.next();
+
+                if (point.block && point.isAt(location)) {
+                    iterator.remove();
+                    List<Point> gravePointList = gravePointMap.get(point.graveUUID);
+
+                    if (gravePointList != null) {
+                        gravePointList.remove(point);
+                    }
+                }
+            }
+
+            if (pointList.isEmpty()) {
+                chunkMap.remove(chunkKey);
+            }
+        }
+    }
+
+    /**
+     * Removes a grave and all of its locations from the index.
+     *
+     * @param graveUUID The UUID of the grave.
+     */
+    public synchronized void removeGrave(UUID graveUUID) {
+        removeRadius(graveUUID);
+
+        List<Point> pointList = gravePointMap.remove(graveUUID);
+
+        if (pointList != null) {
+            for (Point point : pointList) {
+                Map<Long, List<Point>> chunkMap = worldMap.get(point.worldUUID);
+
+                if (chunkMap != null) {
+                    long chunkKey = getChunkKey(point.getChunkX(), point.getChunkZ());
+                    List<Point> chunkPointList = chunkMap.get(chunkKey);
+
+                    if (chunkPointList != null) {
+                        chunkPointList.remove(point);
+
+                        if (chunkPointList.isEmpty()) {
+                            chunkMap.remove(chunkKey);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the protection radius of an indexed grave, keeping its locations.
+     *
+     * @param graveUUID The UUID of the grave.
+     * @param radius    The new protection radius.
+     */
+    public synchronized void setRadius(UUID graveUUID, int radius) {
+        if (radiusMap.containsKey(graveUUID)) {
+            removeRadius(graveUUID);
+            putRadius(graveUUID, radius);
+        }
+    }
+
+    /**
+     * Checks if a location is within the protection radius of any indexed grave.
+     *
+     * @param location The location to check.
+     * @return True if the location is protected by a grave, false otherwise.
+     */
+    public synchronized boolean isNearGrave(Location location) {
+        if (location == null || location.getWorld() == null || radiusCountMap.isEmpty()) {
+            return false;
+        }
+
+        Map<Long, List<Point>> chunkMap = worldMap.get(location.getWorld().getUID());
+
+        if (chunkMap == null || chunkMap.isEmpty()) {
+            return false;
+        }
+
+        int maxRadius = radiusCountMap.lastKey();
+        double x = location.getX();
+        double y = location.getY();
+        double z = location.getZ();
+        int minChunkX = (int) Math.floor(x - maxRadius) >> 4;
+        int maxChunkX = (int) Math.floor(x + maxRadius) >> 4;
+        int minChunkZ = (int) Math.floor(z - maxRadius) >> 4;
+        int maxChunkZ = (int) Math.floor(z + maxRadius) >> 4;
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                List<Point> pointList = chunkMap.get(getChunkKey(chunkX, chunkZ));
+
+                if (pointList != null) {
+                    for (Point point : pointList) {
+                        Integer radius = radiusMap.get(point.graveUUID);
+
+                        if (radius != null && radius > 0) {
+                            double distanceX = point.x - x;
+                            double distanceY = point.y - y;
+                            double distanceZ = point.z - z;
+
+                            if (distanceX * distanceX + distanceY * distanceY + distanceZ * distanceZ
+                                    <= (double) radius * radius) {
+                                return true;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if any grave is indexed in the chunk of a location or in one of the chunks around it.
+     * <p>
+     * This ignores protection radii, it answers whether grave parts could be nearby at all.
+     * </p>
+     *
+     * @param location The location to check.
+     * @return True if a grave is indexed in or next to the chunk, false otherwise.
+     */
+    public synchronized boolean isNearGraveChunk(Location location) {
+        if (location == null || location.getWorld() == null) {
+            return false;
+        }
+
+        Map<Long, List<Point>> chunkMap = worldMap.get(location.getWorld().getUID());
+
+        if (chunkMap == null || chunkMap.isEmpty()) {
+            return false;
+        }
+
+        int chunkX = location.getBlockX() >> 4;
+        int chunkZ = location.getBlockZ() >> 4;
+
+        for (int x = chunkX - 1; x <= chunkX + 1; x++) {
+            for (int z = chunkZ - 1; z <= chunkZ + 1; z++) {
+                List<Point> pointList = chunkMap.get(getChunkKey(x, z));
+
+                if (pointList != null && !pointList.isEmpty()) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes every grave from the index.
+     */
+    public synchronized void clear() {
+        worldMap.clear();
+        gravePointMap.clear();
+        radiusMap.clear();
+        radiusCountMap.clear();
+    }
+
+    /**
+     * Stores the radius of a grave and counts it towards the search reach when it protects anything.
+     *
+     * @param graveUUID The UUID of the grave.
+     * @param radius    The protection radius.
+     */
+    private void putRadius(UUID graveUUID, int radius) {
+        radiusMap.put(graveUUID, radius);
+
+        if (radius > 0) {
+            radiusCountMap.merge(radius, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Removes the radius of a grave and its contribution to the search reach.
+     *
+     * @param graveUUID The UUID of the grave.
+     */
+    private void removeRadius(UUID graveUUID) {
+        Integer radius = radiusMap.remove(graveUUID);
+
+        if (radius != null && radius > 0) {
+            radiusCountMap.computeIfPresent(radius, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    /**
+     * Adds a point for a grave to its chunk bucket.
+     *
+     * @param graveUUID The UUID of the grave.
+     * @param location  The location of the point.
+     * @param block     Whether the point belongs to a grave block.
+     */
+    private void addPoint(UUID graveUUID, Location location, boolean block) {
+        if (location == null) {
+            return;
+        }
+
+        World world = location.getWorld();
+
+        if (world == null) {
+            return;
+        }
+
+        Point point = new Point(graveUUID, world.getUID(), location.getX(), location.getY(), location.getZ(), block);
+
+        worldMap.computeIfAbsent(point.worldUUID, key -> new HashMap<>())
+                .computeIfAbsent(getChunkKey(point.getChunkX(), point.getChunkZ()), key -> new ArrayList<>())
+                .add(point);
+        gravePointMap.computeIfAbsent(graveUUID, key -> new ArrayList<>()).add(point);
+    }
+
+    /**
+     * Packs chunk coordinates into a single key.
+     *
+     * @param chunkX The x-coordinate of the chunk.
+     * @param chunkZ The z-coordinate of the chunk.
+     * @return The packed chunk key.
+     */
+    public static long getChunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * A single protected location belonging to a grave.
+     */
+    private static final class Point {
+        private final UUID graveUUID;
+        private final UUID worldUUID;
+        private final double x;
+        private final double y;
+        private final double z;
+        private final boolean block;
+
+        private Point(UUID graveUUID, UUID worldUUID, double x, double y, double z, boolean block) {
+            this.graveUUID = graveUUID;
+            this.worldUUID = worldUUID;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.block = block;
+        }
+
+        private int getChunkX() {
+            return (int) Math.floor(x) >> 4;
+        }
+
+        private int getChunkZ() {
+            return (int) Math.floor(z) >> 4;
+        }
+
+        private boolean isAt(Location location) {
+            return (int) Math.floor(x) == location.getBlockX()
+                    && (int) Math.floor(y) == location.getBlockY()
+                    && (int) Math.floor(z) == location.getBlockZ();
+        }
+    }
+}
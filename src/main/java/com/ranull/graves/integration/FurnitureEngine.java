@@ -76,6 +76,7 @@ public final class FurnitureEngine extends EntityDataManager {
             if (placeFurniture(name, location, BlockFaceUtil.getBlockFaceRotation(BlockFaceUtil.getYawBlockFace(location.getYaw())))) {
                 ItemFrame itemFrame = getItemFrame(location);
                 if (itemFrame != null && location.getWorld() != null) {
+                    markEntity(itemFrame);
                     createEntityData(location, itemFrame.getUniqueId(), grave.getUUID(), EntityData.Type.FURNITUREENGINE);
                     plugin.debugMessage("Placing FurnitureEngine furniture for " + grave.getUUID() + " at "
                             + location.getWorld().getName() + ", " + (location.getBlockX() + 0.5) + "x, "
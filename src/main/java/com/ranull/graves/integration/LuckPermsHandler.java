@@ -1,18 +1,27 @@
 package com.ranull.graves.integration;
 
 import net.luckperms.api.LuckPerms;
+import net.luckperms.api.event.EventSubscription;
+import net.luckperms.api.event.context.ContextUpdateEvent;
+import net.luckperms.api.event.user.UserDataRecalculateEvent;
 import net.luckperms.api.model.user.User;
 import net.luckperms.api.node.Node;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.RegisteredServiceProvider;
 
+import java.util.UUID;
+import java.util.function.Consumer;
+
 /**
  * Provides an integration with LuckPerms to manage player permissions.
  */
 public class LuckPermsHandler {
     private final LuckPerms luckPerms;
+    private EventSubscription<UserDataRecalculateEvent> recalculateSubscription;
+    private EventSubscription<ContextUpdateEvent> contextSubscription;
 
     /**
      * Constructs a new LuckPerms integration instance by registering the LuckPerms service.
@@ -27,6 +36,40 @@ public class LuckPermsHandler {
         }
     }
 
+    /**
+     * Subscribes to LuckPerms user data recalculation and player context changes, replacing any earlier
+     * subscriptions. Context changes, such as moving to another world, change which contextual permissions apply
+     * without a recalculation. The listener may be called from any thread.
+     *
+     * @param plugin   The plugin the subscriptions belong to.
+     * @param listener Called with the UUID of each user whose permissions were recalculated or whose context changed.
+     */
+    public void registerListeners(Plugin plugin, Consumer<UUID> listener) {
+        unregisterListeners();
+        recalculateSubscription = luckPerms.getEventBus().subscribe(plugin, UserDataRecalculateEvent.class,
+                event -> listener.accept(event.getUser().getUniqueId()));
+        contextSubscription = luckPerms.getEventBus().subscribe(plugin, ContextUpdateEvent.class, event -> {
+            if (event.getSubject() instanceof Player) {
+                listener.accept(((Player) event.getSubject()).getUniqueId());
+            }
+        });
+    }
+
+    /**
+     * Closes the LuckPerms subscriptions, if there are any.
+     */
+    public void unregisterListeners() {
+        if (recalculateSubscription != null) {
+            recalculateSubscription.close();
+            recalculateSubscription = null;
+        }
+
+        if (contextSubscription != null) {
+            contextSubscription.close();
+            contextSubscription = null;
+        }
+    }
+
     /**
      * Checks if a player has the specified permission.
      *
@@ -5,7 +5,10 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -13,10 +16,45 @@ import java.util.UUID;
  * Implements InventoryHolder to manage inventory display.
  */
 public class GraveList implements InventoryHolder {
+    /**
+     * The number of graves shown on one page.
+     */
+    public static final int PAGE_SIZE = 45;
+
+    /**
+     * The slot of the previous page control.
+     */
+    public static final int SLOT_PREVIOUS = 45;
+
+    /**
+     * The slot of the next page control.
+     */
+    public static final int SLOT_NEXT = 53;
+
     private final UUID uuid;
-    private final List<Grave> graveList;
+    private List<Grave> graveList;
     private Inventory inventory;
 
+    /**
+     * The render state of each rendered slot, refreshes only replace slots whose state changed.
+     */
+    private final Map<Integer, Long> slotStateMap = new HashMap<>();
+
+    /**
+     * Whether the items show values that change with time, such as remaining time or distance.
+     */
+    private boolean dynamic;
+
+    /**
+     * Whether the list has a row of page controls.
+     */
+    private final boolean paged;
+
+    /**
+     * The page shown, starting at 0.
+     */
+    private int page;
+
     /**
      * Constructs a new GraveList instance with the given UUID and list of graves.
      *
@@ -24,8 +62,20 @@ public class GraveList implements InventoryHolder {
      * @param graveList  The list of graves to be managed.
      */
     public GraveList(UUID uuid, List<Grave> graveList) {
+        this(uuid, graveList, false);
+    }
+
+    /**
+     * Constructs a new GraveList instance showing one page of graves.
+     *
+     * @param uuid      The UUID associated with this GraveList.
+     * @param graveList The graves on the first page.
+     * @param paged     Whether the list has a row of page controls.
+     */
+    public GraveList(UUID uuid, List<Grave> graveList, boolean paged) {
         this.uuid = uuid;
         this.graveList = graveList;
+        this.paged = paged;
     }
 
     /**
@@ -66,4 +116,96 @@ public class GraveList implements InventoryHolder {
     public Grave getGrave(int slot) {
         return slot >= 0 && graveList.size() > slot ? graveList.get(slot) : null;
     }
+
+    /**
+     * Sets the graves shown by this GraveList, so slots keep matching the graves rendered into them.
+     *
+     * @param graveList The graves on the current page.
+     */
+    public void setGraveList(List<Grave> graveList) {
+        this.graveList = graveList;
+    }
+
+    /**
+     * Checks if the list has a row of page controls.
+     *
+     * @return True if the list is paged, false otherwise.
+     */
+    public boolean isPaged() {
+        return paged;
+    }
+
+    /**
+     * Gets the page shown.
+     *
+     * @return The page, starting at 0.
+     */
+    public int getPage() {
+        return page;
+    }
+
+    /**
+     * Sets the page shown.
+     *
+     * @param page The page, starting at 0.
+     */
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    /**
+     * Gets the render state of a slot, as set by {@link #setSlotState(int, long)}.
+     *
+     * @param slot The slot.
+     * @return The render state, or null if the slot has not been rendered.
+     */
+    public Long getSlotState(int slot) {
+        return slotStateMap.get(slot);
+    }
+
+    /**
+     * Sets the render state of a slot, the inputs its item was last rendered from.
+     *
+     * @param slot  The slot.
+     * @param state The render state.
+     */
+    public void setSlotState(int slot, long state) {
+        slotStateMap.put(slot, state);
+    }
+
+    /**
+     * Removes the render state of a slot.
+     *
+     * @param slot The slot.
+     */
+    public void removeSlotState(int slot) {
+        slotStateMap.remove(slot);
+    }
+
+    /**
+     * Gets the slots that have been rendered.
+     *
+     * @return The rendered slots.
+     */
+    public Set<Integer> getSlotSet() {
+        return slotStateMap.keySet();
+    }
+
+    /**
+     * Checks if the items of this GraveList show values that change with time.
+     *
+     * @return True if the items must be rendered on every refresh, false otherwise.
+     */
+    public boolean isDynamic() {
+        return dynamic;
+    }
+
+    /**
+     * Sets whether the items of this GraveList show values that change with time.
+     *
+     * @param dynamic True if the items must be rendered on every refresh.
+     */
+    public void setDynamic(boolean dynamic) {
+        this.dynamic = dynamic;
+    }
 }
\ No newline at end of file
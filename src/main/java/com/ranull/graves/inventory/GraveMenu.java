@@ -5,6 +5,10 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Represents a menu for a specific grave, displayed in an inventory.
  * Implements InventoryHolder to manage inventory display.
@@ -13,6 +17,16 @@ public class GraveMenu implements InventoryHolder {
     private final Grave grave;
     private Inventory inventory;
 
+    /**
+     * The render state of each rendered slot, refreshes only replace slots whose state changed.
+     */
+    private final Map<Integer, Long> slotStateMap = new HashMap<>();
+
+    /**
+     * Whether the items show values that change with time, such as remaining time or distance.
+     */
+    private boolean dynamic;
+
     /**
      * Constructs a new GraveMenu instance for the specified grave.
      *
@@ -50,4 +64,60 @@ public class GraveMenu implements InventoryHolder {
     public Grave getGrave() {
         return grave;
     }
+
+    /**
+     * Gets the render state of a slot, as set by {@link #setSlotState(int, long)}.
+     *
+     * @param slot The slot.
+     * @return The render state, or null if the slot has not been rendered.
+     */
+    public Long getSlotState(int slot) {
+        return slotStateMap.get(slot);
+    }
+
+    /**
+     * Sets the render state of a slot, the inputs its item was last rendered from.
+     *
+     * @param slot  The slot.
+     * @param state The render state.
+     */
+    public void setSlotState(int slot, long state) {
+        slotStateMap.put(slot, state);
+    }
+
+    /**
+     * Removes the render state of a slot.
+     *
+     * @param slot The slot.
+     */
+    public void removeSlotState(int slot) {
+        slotStateMap.remove(slot);
+    }
+
+    /**
+     * Gets the slots that have been rendered.
+     *
+     * @return The rendered slots.
+     */
+    public Set<Integer> getSlotSet() {
+        return slotStateMap.keySet();
+    }
+
+    /**
+     * Checks if the items of this GraveMenu show values that change with time.
+     *
+     * @return True if the items must be rendered on every refresh, false otherwise.
+     */
+    public boolean isDynamic() {
+        return dynamic;
+    }
+
+    /**
+     * Sets whether the items of this GraveMenu show values that change with time.
+     *
+     * @param dynamic True if the items must be rendered on every refresh.
+     */
+    public void setDynamic(boolean dynamic) {
+        this.dynamic = dynamic;
+    }
 }
\ No newline at end of file
@@ -33,7 +33,8 @@ public class BlockBreakListener implements Listener {
      *
      * Checks if the broken block is associated with a grave. If so, verifies if breaking the grave
      * is allowed and if the player has permission to do so. If not a grave block, it checks if
-     * the block is within a 15-block radius of any grave and cancels the event if so.
+     * the block is within a 15-block radius of any grave and cancels the event if so. While grave data is still
+     * loading, blocks in or next to a chunk holding a grave are not broken either.
      *
      * @param event The BlockBreakEvent to handle.
      */
@@ -54,7 +55,9 @@ public class BlockBreakListener implements Listener {
             } else {
                 event.setCancelled(true);
             }
-        } else if (plugin.getGraveManager().isNearGrave(block.getLocation(), player)) {
+        } else if (plugin.getGraveManager().isNearGrave(block.getLocation(), player)
+                || plugin.getGraveManager().isGraveBlockPending(block)) {
+            // Until grave blocks are loaded, a skull or a block next to a known grave may be one of its parts
             event.setCancelled(true);
             plugin.getEntityManager().sendMessage("message.grave-protection-break-deny", player);
         }
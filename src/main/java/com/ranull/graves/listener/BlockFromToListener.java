@@ -1,6 +1,7 @@
 package com.ranull.graves.listener;
 
 import com.ranull.graves.Graves;
+import com.ranull.graves.util.MaterialUtil;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -29,7 +30,7 @@ public class BlockFromToListener implements Listener {
     @EventHandler(priority = EventPriority.MONITOR)
     public void onBlockFromTo(BlockFromToEvent event) {
         // Check if the destination block of the fluid is a grave
-        if (isGraveBlock(event) || event.getToBlock().getType().toString().toUpperCase().contains("SKULL")) {
+        if (MaterialUtil.isSkull(event.getToBlock().getType()) || isGraveBlock(event)) {
             event.setCancelled(true);
         }
     }
@@ -38,6 +38,12 @@ public class BlockPistonExtendListener implements Listener {
         // Get all blocks being moved by the piston
         List<Block> blocks = event.getBlocks();
 
+        // Grave blocks may not be cached yet and a grave may not even be known, keep every piston still until they are
+        if (!plugin.getDataManager().isReady()) {
+            event.setCancelled(true);
+            return;
+        }
+
         BlockFace[] facesToCheck = {BlockFace.NORTH, BlockFace.SOUTH, BlockFace.EAST, BlockFace.WEST, BlockFace.UP, BlockFace.DOWN};
 
         // Check all faces around the piston
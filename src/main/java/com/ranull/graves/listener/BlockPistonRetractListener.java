@@ -0,0 +1,45 @@
+package com.ranull.graves.listener;
+
+import com.ranull.graves.Graves;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+
+/**
+ * Listens for BlockPistonRetractEvent to prevent sticky pistons from pulling blocks that are graves.
+ */
+public class BlockPistonRetractListener implements Listener {
+    private final Graves plugin;
+
+    /**
+     * Constructs a new BlockPistonRetractListener with the specified Graves plugin.
+     *
+     * @param plugin The Graves plugin instance.
+     */
+    public BlockPistonRetractListener(Graves plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Handles BlockPistonRetractEvent to prevent pistons from retracting if they are pulling a grave block.
+     *
+     * @param event The BlockPistonRetractEvent to handle.
+     */
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onBlockPistonRetract(BlockPistonRetractEvent event) {
+        // Grave blocks may not be cached yet and a grave may not even be known, keep every piston still until they are
+        if (!plugin.getDataManager().isReady()) {
+            event.setCancelled(true);
+            return;
+        }
+
+        for (Block block : event.getBlocks()) {
+            if (plugin.getBlockManager().getGraveFromBlock(block) != null) {
+                event.setCancelled(true);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ranull.graves.listener;
+
+import com.ranull.graves.Graves;
+import com.ranull.graves.util.LocationUtil;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+
+/**
+ * Listener for handling ChunkLoadEvent to keep the loaded grave chunk set current.
+ */
+public class ChunkLoadListener implements Listener {
+    private final Graves plugin;
+
+    /**
+     * Constructs a ChunkLoadListener with the specified Graves plugin.
+     *
+     * @param plugin The Graves plugin instance.
+     */
+    public ChunkLoadListener(Graves plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Handles the ChunkLoadEvent by marking the chunk as loaded if it holds grave data.
+     *
+     * @param event The ChunkLoadEvent to handle.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        String chunkString = LocationUtil.chunkToString(event.getChunk());
+
+        if (plugin.getCacheManager().getChunkMap().containsKey(chunkString)) {
+            plugin.getCacheManager().getLoadedChunkSet().add(chunkString);
+        }
+    }
+}
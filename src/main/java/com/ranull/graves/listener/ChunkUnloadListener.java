@@ -0,0 +1,34 @@
+package com.ranull.graves.listener;
+
+import com.ranull.graves.Graves;
+import com.ranull.graves.util.LocationUtil;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkUnloadEvent;
+
+/**
+ * Listener for handling ChunkUnloadEvent to keep the loaded grave chunk set current.
+ */
+public class ChunkUnloadListener implements Listener {
+    private final Graves plugin;
+
+    /**
+     * Constructs a ChunkUnloadListener with the specified Graves plugin.
+     *
+     * @param plugin The Graves plugin instance.
+     */
+    public ChunkUnloadListener(Graves plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Handles the ChunkUnloadEvent by removing the chunk from the loaded chunk set.
+     *
+     * @param event The ChunkUnloadEvent to handle.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        plugin.getCacheManager().getLoadedChunkSet().remove(LocationUtil.chunkToString(event.getChunk()));
+    }
+}
@@ -67,6 +67,12 @@ public class EntityDeathListener implements Listener {
 
         if (!isEnabledGrave(livingEntity, permissionList, entityName)) return;
 
+        if (!plugin.getDataManager().isReady()) {
+            // Grave limits and placement need the full cache, drops are left to the server until it is loaded
+            plugin.debugMessage("Grave not created for " + entityName + " because grave data is still loading", 2);
+            return;
+        }
+
         Player player = ((PlayerDeathEvent) event).getEntity().getPlayer();
 
         if (isKeepInventory((PlayerDeathEvent) event, entityName) && !plugin.hasGrantedPermission("graves.keepinventory.bypass", player)) return;
@@ -140,19 +146,8 @@ public class EntityDeathListener implements Listener {
      *         unlimited graves, or {@code 0} if no specific limit is set by permissions.
      */
     private int getMaxGravesPermission(Player player) {
-        int maxGraves = 0; // Default to 0, indicating no specific limit set
-
-        // Retrieve all permissions related to grave limits
-        for (int i = 0; i <= 10; i++) { // Adjust the range as needed
-            String permission = "grave.max.limit." + i;
-            if (plugin.hasGrantedPermission("grave.max.limit.unlimited", player)) {
-                return Integer.MAX_VALUE; // Player has unlimited graves
-            } else if (plugin.hasGrantedPermission(permission, player)) {
-                maxGraves = i;
-            }
-        }
-
-        return maxGraves;
+        // Resolved once per permission profile rather than probing every limit on each death
+        return plugin.getPermissionManager().getProfile(player).getMaxGraves();
     }
 
     /**
@@ -10,8 +10,9 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityExplodeEvent;
 
-import java.util.Iterator;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Listens for EntityExplodeEvent to handle interactions with grave blocks when they are affected by entity explosions.
@@ -35,48 +36,68 @@ public class EntityExplodeListener implements Listener {
      */
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onEntityExplode(EntityExplodeEvent event) {
-        List<Block> affectedBlocks = event.blockList();
+        if (!plugin.getDataManager().isReady()) {
+            // Grave blocks may not be cached yet, keep skulls and everything near a known grave out of the explosion
+            event.blockList().removeIf(block -> plugin.getGraveManager().isGraveBlockPending(block));
+        }
+
+        Map<Block, Grave> graveBlockMap = plugin.getBlockManager().getGraveBlockMap(event.blockList());
+
+        if (graveBlockMap.isEmpty()) {
+            return;
+        }
+
+        Set<Block> protectedBlockSet = new HashSet<>();
 
-        Iterator<Block> iterator = affectedBlocks.iterator();
-        while (iterator.hasNext()) {
-            Block block = iterator.next();
+        for (Map.Entry<Block, Grave> entry : graveBlockMap.entrySet()) {
+            Block block = entry.getKey();
+            Grave grave = entry.getValue();
             Location blockLocation = block.getLocation();
 
-            Grave grave = plugin.getBlockManager().getGraveFromBlock(block);
-            if (grave != null) {
-                if (plugin.getConfig("grave.explode-protection", grave).getBoolean("grave.explode-protection")){
-                    for (Block blocks : affectedBlocks) {
-                        Location blockLocations = block.getLocation();
-                        Grave graves = plugin.getBlockManager().getGraveFromBlock(blocks);
-
-                        if (graves != null) {
-                            Location graveLocation = plugin.getGraveManager().getGraveLocation(blockLocations, graves);
-                            if (graveLocation != null) {
-                                try {
-                                    double distance = blockLocation.distance(graveLocation);
-                                    int protectionRadius = plugin.getConfig("grave.protection-radius", grave).getInt("grave.protection-radius");
-                                    if (protectionRadius != 0 && distance + 15 <= protectionRadius + 15) {
-                                        event.blockList().clear();
-                                        event.setCancelled(true);
-                                    }
-                                } catch (IllegalArgumentException ignored) {
-
-                                }
-                            }
-                        }
-                    }
-                } else {
-                    Location graveHeadLocation = grave.getLocationDeath();
-                    if (graveHeadLocation.equals(blockLocation)) {
-                        iterator.remove();
-                    }
-                }
+            // An earlier block of the same grave may already have exploded it
+            if (!plugin.getCacheManager().getGraveMap().containsKey(grave.getUUID())) {
+                continue;
+            }
 
-                if (shouldExplode(grave)) {
-                    handleGraveExplosion(event, iterator, block, grave, blockLocation);
+            if (plugin.getConfig("grave.explode-protection", grave).getBoolean("grave.explode-protection")) {
+                if (isProtected(blockLocation, grave)) {
+                    event.blockList().clear();
+                    event.setCancelled(true);
+                    return;
                 }
+            } else if (blockLocation.equals(grave.getLocationDeath())) {
+                protectedBlockSet.add(block);
+            }
+
+            if (shouldExplode(grave) && handleGraveExplosion(event, block, grave, blockLocation)) {
+                protectedBlockSet.add(block);
             }
         }
+
+        if (!protectedBlockSet.isEmpty()) {
+            event.blockList().removeIf(protectedBlockSet::contains);
+        }
+    }
+
+    /**
+     * Checks if a grave block lies within the protection radius of its grave.
+     *
+     * @param location The location of the grave block.
+     * @param grave    The grave the block belongs to.
+     * @return True if the explosion should be cancelled, false otherwise.
+     */
+    private boolean isProtected(Location location, Grave grave) {
+        int protectionRadius = plugin.getConfig("grave.protection-radius", grave).getInt("grave.protection-radius");
+
+        if (protectionRadius == 0) {
+            return false;
+        }
+
+        Location graveLocation = plugin.getGraveManager().getGraveLocation(location, grave);
+
+        return graveLocation != null && graveLocation.getWorld() != null
+                && graveLocation.getWorld().equals(location.getWorld())
+                && location.distanceSquared(graveLocation) <= (double) protectionRadius * protectionRadius;
     }
 
     /**
@@ -93,12 +114,12 @@ public class EntityExplodeListener implements Listener {
      * Handles the explosion of a grave.
      *
      * @param event     The EntityExplodeEvent.
-     * @param iterator  The iterator for the blocks in the explosion.
      * @param block     The block that exploded.
      * @param grave     The grave associated with the block.
      * @param location  The location of the grave.
+     * @return True if the block should be kept out of the explosion, false otherwise.
      */
-    private void handleGraveExplosion(EntityExplodeEvent event, Iterator<Block> iterator, Block block, Grave grave, Location location) {
+    private boolean handleGraveExplosion(EntityExplodeEvent event, Block block, Grave grave, Location location) {
         GraveExplodeEvent graveExplodeEvent = new GraveExplodeEvent(location, event.getEntity(), grave);
         plugin.getServer().getPluginManager().callEvent(graveExplodeEvent);
 
@@ -117,7 +138,9 @@ public class EntityExplodeListener implements Listener {
                 plugin.getEntityManager().spawnZombie(location, grave);
             }
         } else if (graveExplodeEvent.isCancelled() && !graveExplodeEvent.isAddon()) {
-            iterator.remove();
+            return true;
         }
+
+        return false;
     }
 }
\ No newline at end of file
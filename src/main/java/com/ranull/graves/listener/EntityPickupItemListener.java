@@ -0,0 +1,36 @@
+package com.ranull.graves.listener;
+
+import com.ranull.graves.Graves;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+
+/**
+ * Listener for handling EntityPickupItemEvent to keep track of grave compasses players pick up.
+ */
+public class EntityPickupItemListener implements Listener {
+    private final Graves plugin;
+
+    /**
+     * Constructs an EntityPickupItemListener with the specified Graves plugin.
+     *
+     * @param plugin The Graves plugin instance.
+     */
+    public EntityPickupItemListener(Graves plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Handles the EntityPickupItemEvent to track grave compasses picked up by players.
+     *
+     * @param event The EntityPickupItemEvent to handle.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityPickupItem(EntityPickupItemEvent event) {
+        if (event.getEntity() instanceof Player) {
+            plugin.getCompassManager().addCompass((Player) event.getEntity(), event.getItem().getItemStack());
+        }
+    }
+}
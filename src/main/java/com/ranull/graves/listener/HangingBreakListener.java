@@ -1,6 +1,7 @@
 package com.ranull.graves.listener;
 
 import com.ranull.graves.Graves;
+import com.ranull.graves.util.MaterialUtil;
 import org.bukkit.entity.ItemFrame;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -52,6 +53,22 @@ public class HangingBreakListener implements Listener {
      * @return True if the entity is associated with a grave, false otherwise.
      */
     private boolean isAssociatedWithGrave(HangingBreakEvent event) {
-        return plugin.getEntityDataManager().getGrave(event.getEntity()) != null;
+        // Until entity data is loaded, trust the marker grave entities are spawned with, and hold back frames showing a
+        // skull or hanging near a known grave
+        return plugin.getEntityDataManager().getGrave(event.getEntity()) != null
+                || (!plugin.getDataManager().isReady()
+                && (plugin.getEntityDataManager().isMarkedEntity(event.getEntity())
+                || isSkullFrame((ItemFrame) event.getEntity())
+                || plugin.getGraveManager().isGraveDataPending(event.getEntity().getLocation())));
+    }
+
+    /**
+     * Checks if an item frame shows a skull.
+     *
+     * @param itemFrame The item frame.
+     * @return True if the item in the frame is a skull, false otherwise.
+     */
+    private boolean isSkullFrame(ItemFrame itemFrame) {
+        return MaterialUtil.isSkull(itemFrame.getItem().getType());
     }
 }
\ No newline at end of file
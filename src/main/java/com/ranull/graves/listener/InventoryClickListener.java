@@ -288,6 +288,18 @@ public class InventoryClickListener implements Listener {
      * @param graveList The GraveList inventory holder.
      */
     private void handleGraveListClick(InventoryClickEvent event, Player player, GraveList graveList) {
+        if (graveList.isPaged() && (event.getRawSlot() == GraveList.SLOT_PREVIOUS
+                || event.getRawSlot() == GraveList.SLOT_NEXT)) {
+            // Only controls that are shown turn the page
+            if (graveList.getSlotState(event.getRawSlot()) != null) {
+                plugin.getGUIManager().setGraveListPage(graveList, graveList.getPage()
+                        + (event.getRawSlot() == GraveList.SLOT_NEXT ? 1 : -1));
+            }
+
+            event.setCancelled(true);
+            return;
+        }
+
         Grave grave = graveList.getGrave(event.getSlot());
 
         if (grave != null) {
@@ -299,7 +311,7 @@ public class InventoryClickListener implements Listener {
             // Run function associated with the clicked slot in GraveList
             plugin.getEntityManager().runFunction(player, plugin.getConfig("gui.menu.list.function", grave)
                     .getString("gui.menu.list.function", "menu"), grave);
-            plugin.getGUIManager().setGraveListItems(graveList.getInventory(), graveList.getUUID());
+            plugin.getGUIManager().refreshGraveList(graveList);
         }
 
         event.setCancelled(true);
@@ -327,7 +339,7 @@ public class InventoryClickListener implements Listener {
                             plugin.getConfig("gui.menu.grave.slot." + event.getSlot() + ".function", grave)
                                     .getString("gui.menu.grave.slot." + event.getSlot()
                                             + ".function", "none"), grave);
-                    plugin.getGUIManager().setGraveMenuItems(graveMenu.getInventory(), grave);
+                    plugin.getGUIManager().refreshGraveMenu(graveMenu);
                 }
             }
 
@@ -11,6 +11,7 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.Inventory;
 
 /**
@@ -30,12 +31,15 @@ public class InventoryCloseListener implements Listener {
 
     /**
      * Handles the InventoryCloseEvent to perform actions when a grave inventory is closed.
-     * Calls a custom GraveCloseEvent and manages the state of the grave based on its item amount.
+     * Calls a custom GraveCloseEvent and manages the state of the grave based on its item amount, then rebuilds the
+     * player's tracked compasses in case one was taken from the closed container.
      *
      * @param event The InventoryCloseEvent to handle.
      */
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onInventoryClose(InventoryCloseEvent event) {
+        plugin.getGUIManager().removeViewer(CompatibilityInventoryView.getTopInventory(event).getHolder());
+
         if (isGraveInventory(event) && isPlayer(event.getPlayer())) {
             Player player = (Player) event.getPlayer();
             Entity entity = event.getPlayer();
@@ -52,6 +56,20 @@ public class InventoryCloseListener implements Listener {
             // Play a sound effect related to closing the inventory
             plugin.getEntityManager().playWorldSound("sound.close", player, grave);
         }
+
+        if (isPlayer(event.getPlayer()) && !isPlayerInventory(event)) {
+            plugin.getCompassManager().loadCompasses((Player) event.getPlayer());
+        }
+    }
+
+    /**
+     * Checks if the closed view is the player's own inventory, which cannot hand them items from elsewhere.
+     *
+     * @param event The InventoryCloseEvent.
+     * @return True if only the player's own inventory was open, false otherwise.
+     */
+    private boolean isPlayerInventory(InventoryCloseEvent event) {
+        return CompatibilityInventoryView.getTopInventory(event).getType() == InventoryType.CRAFTING;
     }
 
     /**
@@ -110,13 +128,13 @@ public class InventoryCloseListener implements Listener {
     }
 
     /**
-     * Checks if the grave is empty.
+     * Checks if the grave is empty. A grave whose inventory could not be decoded is never empty.
      *
      * @param grave The grave to check.
      * @return True if the grave is empty, false otherwise.
      */
     private boolean isEmptyGrave(Grave grave) {
-        return grave.getItemAmount() <= 0;
+        return !grave.isContentsUnreadable() && grave.getItemAmount() <= 0;
     }
 
     /**
@@ -7,6 +7,8 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerDropItemEvent;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.UUID;
+
 /**
  * Listener for handling PlayerDropItemEvent to prevent dropping items associated with graves.
  */
@@ -26,26 +28,18 @@ public class PlayerDropItemListener implements Listener {
      * Handles the PlayerDropItemEvent to remove items from the world if they are associated with graves.
      *
      * If the dropped item is linked to a grave (i.e., it has a grave UUID associated with it),
-     * the item drop is cancelled, and the item is removed from the world.
+     * the item drop is cancelled, the item is removed from the world and the compass is no longer tracked.
      *
      * @param event The PlayerDropItemEvent to handle.
      */
     @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
     public void onPlayerDropItem(PlayerDropItemEvent event) {
         ItemStack itemStack = event.getItemDrop().getItemStack();
+        UUID graveUUID = plugin.getEntityManager().getGraveUUIDFromItemStack(itemStack);
 
-        if (isGraveItem(itemStack)) {
+        if (graveUUID != null) {
             event.getItemDrop().remove();
+            plugin.getCompassManager().removeCompass(event.getPlayer().getUniqueId(), graveUUID);
         }
     }
-
-    /**
-     * Checks if the item stack is associated with a grave.
-     *
-     * @param itemStack The item stack to check.
-     * @return True if the item stack is associated with a grave, false otherwise.
-     */
-    private boolean isGraveItem(ItemStack itemStack) {
-        return plugin.getEntityManager().getGraveUUIDFromItemStack(itemStack) != null;
-    }
 }
\ No newline at end of file
@@ -160,6 +160,7 @@ public class PlayerInteractListener implements Listener {
                     if (event.getClickedBlock() != null && plugin.getLocationManager().hasGrave(event.getClickedBlock().getLocation())
                             && player.getInventory().getItemInMainHand().getType().toString().toLowerCase().contains("compass")) {
                         player.getInventory().remove(itemStack);
+                        plugin.getCompassManager().removeCompass(player.getUniqueId(), uuid);
                         //player.closeInventory(); // Close the player's inventory
                        // player.openInventory(player.getInventory()); // Reopen the player's inventory
                     } else {
@@ -172,6 +173,7 @@ public class PlayerInteractListener implements Listener {
                             if (!graveCompassUseEvent.isCancelled() && !graveCompassUseEvent.isAddon()) {
                                 player.getInventory().setItem(player.getInventory().getHeldItemSlot(),
                                         graveCompass);
+                                plugin.getCompassManager().addCompass(player, grave, location);
                                 plugin.getEntityManager().runFunction(player, plugin.getConfig("compass.function", grave).getString("compass.function"), grave);
                                 if (plugin.getConfig("compass.particles.enabled", grave).getBoolean("compass.particles.enabled")) {
                                     GraveParticleEvent graveParticleEvent = new GraveParticleEvent(player, grave);
@@ -183,15 +185,18 @@ public class PlayerInteractListener implements Listener {
                             }
                         } else {
                             player.getInventory().remove(itemStack);
+                            plugin.getCompassManager().removeCompass(player.getUniqueId(), uuid);
                         }
                     }
                 } else {
                     player.getInventory().remove(itemStack);
+                    plugin.getCompassManager().removeCompass(player.getUniqueId(), uuid);
                     //player.closeInventory(); // Close the player's inventory
                     //player.openInventory(player.getInventory()); // Reopen the player's inventory
                 }
             } else {
                 player.getInventory().remove(itemStack);
+                plugin.getCompassManager().removeCompass(player.getUniqueId(), uuid);
                 //player.closeInventory(); // Close the player's inventory
                 //player.openInventory(player.getInventory()); // Reopen the player's inventory
             }
@@ -31,6 +31,8 @@ public class PlayerJoinListener implements Listener {
     /**
      * Handles the PlayerJoinEvent to notify players about available plugin updates.
      *
+     * The player's permission profile is built first, so later permission checks are served from the cache.
+     *
      * This method checks if the plugin's update check is enabled and if the player has the
      * permission to receive update notifications. If so, it runs an asynchronous task to
      * fetch the latest version of the plugin and compares it with the player's current version.
@@ -46,6 +48,9 @@ public class PlayerJoinListener implements Listener {
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
 
+        plugin.getPermissionManager().loadProfile(player);
+        plugin.getCompassManager().loadCompasses(player);
+
         if (shouldCheckForUpdates(player)) {
             plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
                 notifyPlayerIfOutdated(player);
@@ -12,7 +12,6 @@ import com.ranull.graves.util.StringUtil;
 import org.bukkit.GameMode;
 import org.bukkit.Material;
 import org.bukkit.Location;
-import org.bukkit.block.BlockFace;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -24,12 +23,18 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.NamespacedKey;
 
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Listener for handling PlayerMoveEvent to manage interactions with graves and related mechanics.
  */
 public class PlayerMoveListener implements Listener {
+    /**
+     * The squared distance from a grave within which its compasses are removed.
+     */
+    private static final double COMPASS_REMOVE_DISTANCE_SQUARED = 15 * 15;
+
     private final Graves plugin;
 
     /**
@@ -44,8 +49,9 @@ public class PlayerMoveListener implements Listener {
     /**
      * Handles the PlayerMoveEvent to manage interactions with graves and update player locations.
      *
-     * This method checks if the player has moved and whether the new location is inside a border and safe.
-     * It then updates the player's last known solid location if applicable.
+     * This method checks if the player has moved and records a sample of the player's location while they are on
+     * the ground. The samples are checked for safety when a grave needs a fallback location, and as they leave the
+     * history, so the newest usable one is kept.
      *
      * Additionally, if the player is moving over a location that is known to contain a grave,
      * and if the grave's configuration allows walking over it, the grave is automatically looted
@@ -61,8 +67,9 @@ public class PlayerMoveListener implements Listener {
             if (hasPlayerMoved(event)) {
                 Location location = LocationUtil.roundLocation(player.getLocation());
 
-                if (isLocationSafe(location)) {
-                    plugin.getLocationManager().setLastSolidLocation(player, location.clone());
+                // Only a sample is kept here, its safety is checked as it ages out or if a grave needs it
+                if (player.isOnGround()) {
+                    plugin.getLocationManager().addLocationSample(player, location);
                 }
 
                 if (isLocationContainingGrave(location)) {
@@ -97,18 +104,6 @@ public class PlayerMoveListener implements Listener {
                 || event.getTo().getBlockZ() != event.getFrom().getBlockZ());
     }
 
-    /**
-     * Checks if the location is safe for the player.
-     *
-     * @param location The location to check.
-     * @return True if the location is safe, false otherwise.
-     */
-    private boolean isLocationSafe(Location location) {
-        return plugin.getLocationManager().isInsideBorder(location)
-                && location.getBlock().getRelative(BlockFace.DOWN).getType().isSolid()
-                && plugin.getLocationManager().isLocationSafePlayer(location);
-    }
-
     /**
      * Checks if the location contains a grave.
      *
@@ -157,54 +152,85 @@ public class PlayerMoveListener implements Listener {
     /**
      * Removes a specific type of compass (e.g., RECOVERY_COMPASS) from the player's inventory if within a configured block radius of a grave.
      *
+     * Only the compasses tracked by the compass manager are compared against the player's position, the inventory
+     * is only searched once the player is within range of one of their targets.
+     *
      * @param player   The player to check.
      * @param location The player's current location.
      */
     private void removeSpecificCompassNearGrave(Player player, Location location) {
+        Map<UUID, Location> compassMap = plugin.getCompassManager().getCompassMap(player.getUniqueId());
+
+        if (compassMap == null || location.getWorld() == null) {
+            return;
+        }
+
+        for (Map.Entry<UUID, Location> entry : compassMap.entrySet()) {
+            Location graveLocation = entry.getValue();
+
+            if (location.getWorld().equals(graveLocation.getWorld())
+                    && location.distanceSquared(graveLocation) <= COMPASS_REMOVE_DISTANCE_SQUARED) {
+                Grave grave = plugin.getCacheManager().getGraveMap().get(entry.getKey());
+
+                if (grave != null) {
+                    removeCompass(player, grave);
+                }
+
+                plugin.getCompassManager().removeCompass(player.getUniqueId(), entry.getKey());
+            } else if (!plugin.getCacheManager().getGraveMap().containsKey(entry.getKey())) {
+                plugin.getCompassManager().removeCompass(player.getUniqueId(), entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Removes the compasses of a grave from the player's inventory.
+     *
+     * @param player The player whose inventory to search.
+     * @param grave  The grave the compasses belong to.
+     */
+    private void removeCompass(Player player, Grave grave) {
         PlayerInventory inventory = player.getInventory();
-        ItemStack[] items = inventory.getContents();
+        Material material = plugin.getVersionManager().getMaterialForVersion("RECOVERY_COMPASS");
+        String compassName = null;
 
-        for (ItemStack item : items) {
-            if (item != null && item.hasItemMeta()) {
+        for (ItemStack item : inventory.getContents()) {
+            if (item != null && item.getType() == material && item.hasItemMeta()) {
                 ItemMeta itemMeta = item.getItemMeta();
-                if (itemMeta != null) {
-                    // Check if the item is a compass with the specific name
-                    if ((item.getType() == Material.valueOf(String.valueOf(plugin.getVersionManager().getMaterialForVersion("RECOVERY_COMPASS"))))
-                            && itemMeta.hasDisplayName()) {
-
-                        UUID graveUUID = getGraveUUIDFromItemStack(item);
-
-                        if (graveUUID != null) {
-                            Grave grave = plugin.getCacheManager().getGraveMap().get(graveUUID);
-                            try {
-                                if (grave != null && location.getWorld() != null) {
-                                    Location graveLocation = plugin.getGraveManager().getGraveLocation(player.getLocation(), grave);
-                                    if (graveLocation != null && location.distance(graveLocation) <= 15) {
-                                        // Remove the specific item from the inventory
-                                        String compassName;
-                                        if (plugin.getIntegrationManager().hasMiniMessage()) {
-                                            String compassNameNew = StringUtil.parseString("&f" + plugin
-                                                    .getConfig("compass.name", grave).getString("compass.name"), grave, plugin);
-                                            compassName = MiniMessage.parseString(compassNameNew);
-                                        } else {
-                                            compassName = StringUtil.parseString("&f" + plugin
-                                                    .getConfig("compass.name", grave).getString("compass.name"), grave, plugin);
-                                        }
-                                        if (itemMeta.getDisplayName().equals(compassName)) {
-                                            inventory.remove(item);
-                                        }
-                                    }
-                                }
-                            } catch (IllegalArgumentException | NullPointerException ignored) {
-                                // ignored
-                            }
+
+                try {
+                    // Check if the item is a compass of this grave with the specific name
+                    if (itemMeta != null && itemMeta.hasDisplayName()
+                            && grave.getUUID().equals(getGraveUUIDFromItemStack(item))) {
+                        if (compassName == null) {
+                            compassName = getCompassName(grave);
+                        }
+
+                        if (itemMeta.getDisplayName().equals(compassName)) {
+                            // Remove the specific item from the inventory
+                            inventory.remove(item);
                         }
                     }
+                } catch (IllegalArgumentException | NullPointerException ignored) {
+                    // ignored
                 }
             }
         }
     }
 
+    /**
+     * Gets the display name given to the compasses of a grave.
+     *
+     * @param grave The grave.
+     * @return The compass name.
+     */
+    private String getCompassName(Grave grave) {
+        String compassName = StringUtil.parseString("&f" + plugin
+                .getConfig("compass.name", grave).getString("compass.name"), grave, plugin);
+
+        return plugin.getIntegrationManager().hasMiniMessage() ? MiniMessage.parseString(compassName) : compassName;
+    }
+
     /**
      * Retrieves the Grave UUID from the item stack.
      *
@@ -229,14 +255,17 @@ public class PlayerMoveListener implements Listener {
      * @return The BlockData at the specified location, or null if not found.
      */
     private BlockData getBlockDataFromLocation(ChunkData chunkData, Location location) {
-        BlockData blockData = null;
-
-        if (chunkData.getBlockDataMap().containsKey(location)) {
-            blockData = chunkData.getBlockDataMap().get(location);
-        } else if (chunkData.getBlockDataMap().containsKey(location.clone().add(0, 1, 0))) {
-            blockData = chunkData.getBlockDataMap().get(location.clone().add(0, 1, 0));
-        } else if (chunkData.getBlockDataMap().containsKey(location.clone().subtract(0, 1, 0))) {
-            blockData = chunkData.getBlockDataMap().get(location.clone().subtract(0, 1, 0));
+        int x = location.getBlockX();
+        int y = location.getBlockY();
+        int z = location.getBlockZ();
+        BlockData blockData = chunkData.getBlockData(x, y, z);
+
+        if (blockData == null) {
+            blockData = chunkData.getBlockData(x, y + 1, z);
+        }
+
+        if (blockData == null) {
+            blockData = chunkData.getBlockData(x, y - 1, z);
         }
 
         return blockData;
@@ -27,7 +27,7 @@ public class PlayerQuitListener implements Listener {
     /**
      * Handles the PlayerQuitEvent to clean up player-related data upon their departure.
      *
-     * This method removes the player's last solid location and stops any ongoing modification.
+     * This method removes the player's recorded locations, cached permission profile and tracked compasses.
      *
      * @param event The PlayerQuitEvent to handle.
      */
@@ -35,15 +35,17 @@ public class PlayerQuitListener implements Listener {
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
 
-        removeLastSolidLocation(player);
+        removeLocationHistory(player);
+        plugin.getPermissionManager().invalidateProfile(player.getUniqueId());
+        plugin.getCompassManager().unloadCompasses(player.getUniqueId());
     }
 
     /**
-     * Removes the player's last solid location from the plugin's location manager.
+     * Removes the player's recorded locations from the plugin's location manager.
      *
-     * @param player The player whose last solid location should be removed.
+     * @param player The player whose recorded locations should be removed.
      */
-    private void removeLastSolidLocation(Player player) {
-        plugin.getLocationManager().removeLastSolidLocation(player);
+    private void removeLocationHistory(Player player) {
+        plugin.getLocationManager().removeLocationHistory(player);
     }
 }
\ No newline at end of file
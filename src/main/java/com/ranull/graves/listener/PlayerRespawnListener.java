@@ -45,6 +45,9 @@ public class PlayerRespawnListener implements Listener {
         List<String> permissionList = plugin.getPermissionList(player);
         List<Grave> graveList = plugin.getGraveManager().getGraveList(player);
 
+        // Compasses may have been destroyed, dropped or kept on death
+        plugin.getCompassManager().loadCompasses(player);
+
         if (!graveList.isEmpty()) {
             Grave grave = graveList.get(graveList.size() - 1);
 
@@ -146,6 +149,7 @@ public class PlayerRespawnListener implements Listener {
 
             if (itemStack != null) {
                 player.getInventory().addItem(itemStack);
+                plugin.getCompassManager().addCompass(player, grave, locationList.get(0));
             }
         }
     }
@@ -3,15 +3,15 @@ package com.ranull.graves.manager;
 import com.ranull.graves.Graves;
 import com.ranull.graves.data.BlockData;
 import com.ranull.graves.data.ChunkData;
+import com.ranull.graves.data.ProtectionIndex;
 import com.ranull.graves.type.Grave;
 import com.ranull.graves.util.LocationUtil;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * The BlockManager class is responsible for managing block data and operations related to graves.
@@ -35,15 +35,69 @@ public final class BlockManager {
      * @return The BlockData associated with the block, or null if not found.
      */
     public BlockData getBlockData(Block block) {
-        if (plugin.getDataManager().hasChunkData(block.getLocation())) {
-            ChunkData chunkData = plugin.getDataManager().getChunkData(block.getLocation());
+        return getBlockData(block.getWorld(), block.getX(), block.getY(), block.getZ());
+    }
+
+    /**
+     * Gets the BlockData at the specified block coordinates.
+     * <p>
+     * Probed by coordinates so blocks that are not graves cost no allocation, fluid and piston events ask constantly.
+     * </p>
+     *
+     * @param world The world of the block.
+     * @param x     The block x-coordinate.
+     * @param y     The block y-coordinate.
+     * @param z     The block z-coordinate.
+     * @return The BlockData at the coordinates, or null if not found.
+     */
+    public BlockData getBlockData(World world, int x, int y, int z) {
+        ChunkData chunkData = plugin.getCacheManager().getChunkData(world, x >> 4, z >> 4);
+
+        return chunkData != null ? chunkData.getBlockData(x, y, z) : null;
+    }
+
+    /**
+     * Gets the graves of every grave block in a collection of blocks, such as the block list of an explosion.
+     * <p>
+     * Blocks are grouped by chunk and the chunk cache is consulted once per chunk. Blocks in chunks without grave
+     * blocks are skipped without any further lookup, the rest are probed in the chunk's block index. The blocks are
+     * expected to share a world, as they do in an explosion.
+     * </p>
+     *
+     * @param blocks The blocks to check.
+     * @return The grave blocks and their graves, in the order of the given blocks.
+     */
+    public Map<Block, Grave> getGraveBlockMap(Collection<Block> blocks) {
+        Map<Block, Grave> graveBlockMap = new LinkedHashMap<>();
+        Map<Long, ChunkData> chunkDataCache = new HashMap<>();
+
+        for (Block block : blocks) {
+            int chunkX = block.getX() >> 4;
+            int chunkZ = block.getZ() >> 4;
+            long chunkKey = ProtectionIndex.getChunkKey(chunkX, chunkZ);
+            ChunkData chunkData;
+
+            if (chunkDataCache.containsKey(chunkKey)) {
+                chunkData = chunkDataCache.get(chunkKey);
+            } else {
+                chunkData = plugin.getCacheManager().getChunkData(block.getWorld(), chunkX, chunkZ);
 
-            if (chunkData.getBlockDataMap().containsKey(block.getLocation())) {
-                return chunkData.getBlockDataMap().get(block.getLocation());
+                // Remember chunks without grave blocks as null so their other blocks are skipped
+                chunkDataCache.put(chunkKey, chunkData != null && chunkData.hasData() ? chunkData : null);
+            }
+
+            if (chunkData != null) {
+                BlockData blockData = chunkData.getBlockData(block.getX(), block.getY(), block.getZ());
+                Grave grave = blockData != null
+                        ? plugin.getCacheManager().getGraveMap().get(blockData.getGraveUUID()) : null;
+
+                if (grave != null) {
+                    graveBlockMap.put(block, grave);
+                }
             }
         }
 
-        return null;
+        return graveBlockMap;
     }
 
     /**
@@ -142,17 +196,7 @@ public final class BlockManager {
      * @return A list of BlockData associated with the grave.
      */
     public List<BlockData> getBlockDataList(Grave grave) {
-        List<BlockData> blockDataList = new ArrayList<>();
-
-        for (Map.Entry<String, ChunkData> chunkDataEntry : plugin.getCacheManager().getChunkMap().entrySet()) {
-            for (BlockData blockData : new ArrayList<>(chunkDataEntry.getValue().getBlockDataMap().values())) {
-                if (grave.getUUID().equals(blockData.getGraveUUID())) {
-                    blockDataList.add(blockData);
-                }
-            }
-        }
-
-        return blockDataList;
+        return plugin.getCacheManager().getGravePartIndex().getBlockDataList(grave.getUUID());
     }
 
     /**
@@ -164,12 +208,8 @@ public final class BlockManager {
     public List<Location> getBlockList(Grave grave) {
         List<Location> locationList = new ArrayList<>();
 
-        for (Map.Entry<String, ChunkData> chunkDataEntry : plugin.getCacheManager().getChunkMap().entrySet()) {
-            for (BlockData blockData : new ArrayList<>(chunkDataEntry.getValue().getBlockDataMap().values())) {
-                if (grave.getUUID().equals(blockData.getGraveUUID())) {
-                    locationList.add(blockData.getLocation());
-                }
-            }
+        for (BlockData blockData : getBlockDataList(grave)) {
+            locationList.add(blockData.getLocation());
         }
 
         return locationList;
@@ -181,14 +221,12 @@ public final class BlockManager {
      * @param grave The grave to remove the blocks for.
      */
     public void removeBlock(Grave grave) {
-        for (ChunkData chunkData : plugin.getCacheManager().getChunkMap().values()) {
+        for (BlockData blockData : getBlockDataList(grave)) {
+            Location location = blockData.getLocation();
 
-            if (chunkData.isLoaded()) {
-                for (BlockData blockData : new ArrayList<>(chunkData.getBlockDataMap().values())) {
-                    if (grave.getUUID().equals(blockData.getGraveUUID())) {
-                        removeBlock(blockData);
-                    }
-                }
+            if (location.getWorld() != null && location.getWorld()
+                    .isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)) {
+                removeBlock(blockData);
             }
         }
     }
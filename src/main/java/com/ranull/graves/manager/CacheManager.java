@@ -1,41 +1,118 @@
 package com.ranull.graves.manager;
 
 import com.ranull.graves.data.ChunkData;
+import com.ranull.graves.data.GraveExpiryQueue;
+import com.ranull.graves.data.GravePartIndex;
+import com.ranull.graves.data.LocationHistory;
+import com.ranull.graves.data.PackedLongMap;
+import com.ranull.graves.data.ProtectionIndex;
 import com.ranull.graves.type.Grave;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.inventory.ItemStack;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
+/**
+ * Holds the in-memory state of graves, chunks and their indexes.
+ * <p>
+ * Threading contract: every map and index held here is safe to read and write from any thread, so the asynchronous
+ * database loaders can fill the cache while listeners and timers read it on the main thread. Iterating a map never
+ * throws {@link ConcurrentModificationException}, but may or may not reflect changes made during the iteration.
+ * Grave additions and removals keep {@link #graveMap}, the owner index and the expiry queue in step under one lock,
+ * and {@link #replaceGraves(Collection)} publishes a fully built grave map in a single swap. Anything that touches
+ * the world, such as checking whether a cached chunk is loaded, remains main-thread only.
+ * </p>
+ */
 public final class CacheManager {
     /**
      * A map of grave UUIDs to their corresponding {@link Grave} objects.
      * <p>
      * This {@link Map} associates each {@link UUID} with a {@link Grave} instance, allowing for quick retrieval
-     * of grave information based on its unique identifier.
+     * of grave information based on its unique identifier. It is replaced as a whole by
+     * {@link #replaceGraves(Collection)}, so readers see either the old or the new map, never one half built.
      * </p>
      */
-    private final Map<UUID, Grave> graveMap;
+    private volatile Map<UUID, Grave> graveMap;
+
+    /**
+     * A map of owner UUIDs to their graves, ordered by creation time.
+     * <p>
+     * This {@link Map} is kept in step with {@link #graveMap} by {@link #addGrave(Grave)} and
+     * {@link #removeGrave(UUID)}, so per-owner lookups never scan every grave.
+     * </p>
+     */
+    private volatile Map<UUID, NavigableSet<Grave>> ownerGraveMap;
+
+    /**
+     * Guards grave additions and removals so the grave map, the owner index and the expiry queue change together.
+     */
+    private final Object graveLock = new Object();
+
+    /**
+     * A queue of grave lifetime and protection deadlines.
+     * <p>
+     * This {@link GraveExpiryQueue} is kept in step with {@link #graveMap}, so the grave timer only has to look at
+     * graves that are actually due.
+     * </p>
+     */
+    private final GraveExpiryQueue graveExpiryQueue;
 
     /**
      * A map of chunk identifiers to their corresponding {@link ChunkData} objects.
      * <p>
      * This {@link Map} associates each chunk identifier (as a {@link String}) with {@link ChunkData}, which holds
-     * information about the specific chunk.
+     * information about the specific chunk. Chunks are added and removed through {@link #addChunkData(String,
+     * ChunkData)} and {@link #removeChunkData(String)} so {@link #chunkIndexMap} stays in step.
      * </p>
      */
     private final Map<String, ChunkData> chunkMap;
 
     /**
-     * A map of entity UUIDs to their last known {@link Location}.
+     * A map of world UUIDs to their {@link ChunkData} keyed by packed chunk coordinates.
      * <p>
-     * This {@link Map} tracks the most recent {@link Location} for each entity identified by its {@link UUID}.
+     * This {@link Map} mirrors {@link #chunkMap} so block probes can find a chunk without building its identifier
+     * string. It is guarded by its own monitor.
      * </p>
      */
-    private final Map<UUID, Location> lastLocationMap;
+    private final Map<UUID, PackedLongMap<ChunkData>> chunkIndexMap;
+
+    /**
+     * A set of chunk identifiers from {@link #chunkMap} whose chunk is currently loaded.
+     * <p>
+     * This {@link Set} is maintained from chunk load and unload events so periodic grave work only visits chunks
+     * near players.
+     * </p>
+     */
+    private final Set<String> loadedChunkSet;
+
+    /**
+     * A spatial index of grave locations and their protection radius.
+     * <p>
+     * This {@link ProtectionIndex} buckets graves by world and chunk so protection-radius checks only inspect
+     * nearby graves.
+     * </p>
+     */
+    private final ProtectionIndex protectionIndex;
+
+    /**
+     * A reverse index from grave UUIDs to their block, hologram and entity data.
+     * <p>
+     * This {@link GravePartIndex} mirrors the data held in {@link ChunkData} so a grave's parts can be found
+     * without walking every chunk.
+     * </p>
+     */
+    private final GravePartIndex gravePartIndex;
+
+    /**
+     * A map of entity UUIDs to their recent {@link Location} samples.
+     * <p>
+     * This {@link Map} holds a {@link LocationHistory} for each moving entity identified by its {@link UUID}.
+     * </p>
+     */
+    private final Map<UUID, LocationHistory> locationHistoryMap;
 
     /**
      * A map of entity UUIDs to lists of removed {@link ItemStack} objects.
@@ -53,7 +130,7 @@ public final class CacheManager {
      * representing the block identifier.
      * </p>
      */
-    private final Map<String, Location> rightClickedBlocks = new HashMap<>();
+    private final Map<String, Location> rightClickedBlocks;
 
     /**
      * Constructs a new {@link CacheManager} with initialized maps.
@@ -62,10 +139,17 @@ public final class CacheManager {
      * </p>
      */
     public CacheManager() {
-        this.graveMap = new HashMap<>();
-        this.chunkMap = new HashMap<>();
-        this.lastLocationMap = new HashMap<>();
-        this.removedItemStackMap = new HashMap<>();
+        this.graveMap = new ConcurrentHashMap<>();
+        this.ownerGraveMap = new ConcurrentHashMap<>();
+        this.graveExpiryQueue = new GraveExpiryQueue();
+        this.chunkMap = new ConcurrentHashMap<>();
+        this.chunkIndexMap = new HashMap<>();
+        this.loadedChunkSet = ConcurrentHashMap.newKeySet();
+        this.protectionIndex = new ProtectionIndex();
+        this.gravePartIndex = new GravePartIndex();
+        this.locationHistoryMap = new ConcurrentHashMap<>();
+        this.removedItemStackMap = new ConcurrentHashMap<>();
+        this.rightClickedBlocks = new ConcurrentHashMap<>();
     }
 
     /**
@@ -76,6 +160,158 @@ public final class CacheManager {
         return graveMap;
     }
 
+    /**
+     * Adds a grave to the grave map, the owner index and the expiry queue, replacing any grave with the same UUID.
+     * @param grave the grave to add
+     */
+    public void addGrave(Grave grave) {
+        synchronized (graveLock) {
+            Grave oldGrave = graveMap.put(grave.getUUID(), grave);
+
+            if (oldGrave != null) {
+                removeOwnerGrave(ownerGraveMap, oldGrave);
+            }
+
+            graveExpiryQueue.schedule(grave);
+            addOwnerGrave(ownerGraveMap, grave);
+        }
+    }
+
+    /**
+     * Removes a grave from the grave map, the owner index and the expiry queue.
+     * @param uuid the UUID of the grave
+     * @return the removed grave, or {@code null} if it was not cached
+     */
+    public Grave removeGrave(UUID uuid) {
+        synchronized (graveLock) {
+            Grave grave = graveMap.remove(uuid);
+
+            graveExpiryQueue.unschedule(uuid);
+
+            if (grave != null) {
+                removeOwnerGrave(ownerGraveMap, grave);
+            }
+
+            return grave;
+        }
+    }
+
+    /**
+     * Removes every grave from the grave map, the owner index and the expiry queue.
+     */
+    public void clearGraves() {
+        synchronized (graveLock) {
+            graveExpiryQueue.clear();
+            ownerGraveMap = new ConcurrentHashMap<>();
+            graveMap = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Replaces every cached grave at once with the graves loaded from the database.
+     * <p>
+     * The new grave map and owner index are built off to the side and then swapped in, so a reader on another
+     * thread sees either the previous graves or the complete new set. Graves already cached when the swap happens
+     * were added by {@link #addGrave(Grave)} while the load was running, they are merged into the new map and win
+     * over a loaded copy with the same UUID, so a grave created during startup is not dropped from the cache.
+     * </p>
+     * @param graves the graves to cache
+     */
+    public void replaceGraves(Collection<Grave> graves) {
+        Map<UUID, Grave> newGraveMap = new ConcurrentHashMap<>();
+        Map<UUID, NavigableSet<Grave>> newOwnerGraveMap = new ConcurrentHashMap<>();
+
+        for (Grave grave : graves) {
+            newGraveMap.put(grave.getUUID(), grave);
+        }
+
+        for (Grave grave : newGraveMap.values()) {
+            addOwnerGrave(newOwnerGraveMap, grave);
+        }
+
+        synchronized (graveLock) {
+            for (Grave grave : graveMap.values()) {
+                Grave loadedGrave = newGraveMap.put(grave.getUUID(), grave);
+
+                if (loadedGrave != null) {
+                    removeOwnerGrave(newOwnerGraveMap, loadedGrave);
+                }
+
+                addOwnerGrave(newOwnerGraveMap, grave);
+            }
+
+            graveExpiryQueue.clear();
+
+            for (Grave grave : newGraveMap.values()) {
+                graveExpiryQueue.schedule(grave);
+            }
+
+            ownerGraveMap = newOwnerGraveMap;
+            graveMap = newGraveMap;
+        }
+    }
+
+    /**
+     * Returns the graves owned by a given UUID, oldest first.
+     * @param ownerUUID the UUID of the owner
+     * @return a list of the owner's graves in creation order
+     */
+    public List<Grave> getOwnerGraveList(UUID ownerUUID) {
+        NavigableSet<Grave> graveSet = ownerGraveMap.get(ownerUUID);
+
+        return graveSet != null ? new ArrayList<>(graveSet) : new ArrayList<>();
+    }
+
+    /**
+     * Returns a read-only view of the graves owned by a given UUID, oldest first.
+     * <p>
+     * The view is backed by the owner index and is not copied, iterating it is safe while graves are added or
+     * removed.
+     * </p>
+     * @param ownerUUID the UUID of the owner
+     * @return a view of the owner's graves in creation order
+     */
+    public Collection<Grave> getOwnerGraves(UUID ownerUUID) {
+        NavigableSet<Grave> graveSet = ownerGraveMap.get(ownerUUID);
+
+        return graveSet != null ? Collections.unmodifiableSet(graveSet) : Collections.emptySet();
+    }
+
+    /**
+     * Adds a grave to an owner index.
+     * @param ownerGraveMap the owner index
+     * @param grave the grave to add
+     */
+    private static void addOwnerGrave(Map<UUID, NavigableSet<Grave>> ownerGraveMap, Grave grave) {
+        if (grave.getOwnerUUID() != null) {
+            ownerGraveMap.computeIfAbsent(grave.getOwnerUUID(), key -> new ConcurrentSkipListSet<>(Comparator
+                    .comparingLong(Grave::getTimeCreation).thenComparing(Grave::getUUID))).add(grave);
+        }
+    }
+
+    /**
+     * Removes a grave from an owner index, must be called while holding {@link #graveLock} for the live index.
+     * @param ownerGraveMap the owner index to remove from
+     * @param grave the grave to remove
+     */
+    private static void removeOwnerGrave(Map<UUID, NavigableSet<Grave>> ownerGraveMap, Grave grave) {
+        if (grave.getOwnerUUID() == null) {
+            return;
+        }
+
+        NavigableSet<Grave> graveSet = ownerGraveMap.get(grave.getOwnerUUID());
+
+        if (graveSet != null) {
+            if (!graveSet.remove(grave)) {
+                graveSet.removeIf(cur -> cur.getUUID().equals(grave.getUUID()));
+            }
+
+            if (graveSet.isEmpty()) {
+                ownerGraveMap.remove(grave.getOwnerUUID());
+            }
+        }
+    }
+
     /**
      * Adds a right-clicked block location for a specified player.
      * @param playerName the name of the player
@@ -121,11 +357,102 @@ public final class CacheManager {
     }
 
     /**
-     * Returns the map of entity UUIDs to their last known {@link Location}.
-     * @return the map of last known locations
+     * Returns the chunk data of a chunk without building its identifier string.
+     * @param world the world of the chunk
+     * @param chunkX the x-coordinate of the chunk
+     * @param chunkZ the z-coordinate of the chunk
+     * @return the chunk data, or {@code null} if the chunk is not cached
+     */
+    public ChunkData getChunkData(World world, int chunkX, int chunkZ) {
+        synchronized (chunkIndexMap) {
+            PackedLongMap<ChunkData> chunkDataMap = chunkIndexMap.get(world.getUID());
+
+            return chunkDataMap != null ? chunkDataMap.get(ProtectionIndex.getChunkKey(chunkX, chunkZ)) : null;
+        }
+    }
+
+    /**
+     * Adds chunk data unless the chunk is already cached.
+     * @param chunkString the chunk identifier
+     * @param chunkData the chunk data to add
+     * @return the chunk data already cached, or {@code null} if the given chunk data was added
+     */
+    public ChunkData addChunkData(String chunkString, ChunkData chunkData) {
+        synchronized (chunkIndexMap) {
+            ChunkData oldChunkData = chunkMap.putIfAbsent(chunkString, chunkData);
+
+            if (oldChunkData == null && chunkData.getWorld() != null) {
+                chunkIndexMap.computeIfAbsent(chunkData.getWorld().getUID(), key -> new PackedLongMap<>())
+                        .put(ProtectionIndex.getChunkKey(chunkData.getX(), chunkData.getZ()), chunkData);
+            }
+
+            return oldChunkData;
+        }
+    }
+
+    /**
+     * Removes chunk data.
+     * @param chunkString the chunk identifier
+     * @return the removed chunk data, or {@code null} if the chunk was not cached
      */
-    public Map<UUID, Location> getLastLocationMap() {
-        return lastLocationMap;
+    public ChunkData removeChunkData(String chunkString) {
+        synchronized (chunkIndexMap) {
+            ChunkData chunkData = chunkMap.remove(chunkString);
+
+            if (chunkData != null && chunkData.getWorld() != null) {
+                PackedLongMap<ChunkData> chunkDataMap = chunkIndexMap.get(chunkData.getWorld().getUID());
+
+                if (chunkDataMap != null) {
+                    chunkDataMap.remove(ProtectionIndex.getChunkKey(chunkData.getX(), chunkData.getZ()));
+
+                    if (chunkDataMap.isEmpty()) {
+                        chunkIndexMap.remove(chunkData.getWorld().getUID());
+                    }
+                }
+            }
+
+            return chunkData;
+        }
+    }
+
+    /**
+     * Returns the set of chunk identifiers whose chunk is currently loaded.
+     * @return the loaded chunk set
+     */
+    public Set<String> getLoadedChunkSet() {
+        return loadedChunkSet;
+    }
+
+    /**
+     * Returns the spatial index of grave locations and their protection radius.
+     * @return the protection index
+     */
+    public ProtectionIndex getProtectionIndex() {
+        return protectionIndex;
+    }
+
+    /**
+     * Returns the queue of grave lifetime and protection deadlines.
+     * @return the grave expiry queue
+     */
+    public GraveExpiryQueue getGraveExpiryQueue() {
+        return graveExpiryQueue;
+    }
+
+    /**
+     * Returns the reverse index from grave UUIDs to their block, hologram and entity data.
+     * @return the grave part index
+     */
+    public GravePartIndex getGravePartIndex() {
+        return gravePartIndex;
+    }
+
+    /**
+     * Returns the map of entity UUIDs to their recent {@link Location} samples.
+     * @return the map of location histories
+     */
+    public Map<UUID, LocationHistory> getLocationHistoryMap() {
+        return locationHistoryMap;
     }
 
     /**
@@ -142,19 +469,13 @@ public final class CacheManager {
      * @return The oldest grave for the specified player.
      */
     public Grave getOldestGrave(UUID playerUUID) {
-        long oldestTime = Long.MAX_VALUE;
-        Grave oldestGrave = null;
-
-        for (Grave cur : graveMap.values()) { // Iterate over all graves
-            if (cur.getOwnerUUID().equals(playerUUID)) { // Check if the grave belongs to the specified player
-                long curTime = cur.getTimeCreation();
-                if (curTime < oldestTime) {
-                    oldestTime = curTime;
-                    oldestGrave = cur;
-                }
-            }
-        }
+        NavigableSet<Grave> graveSet = ownerGraveMap.get(playerUUID);
 
-        return oldestGrave;
+        try {
+            return graveSet != null ? graveSet.first() : null;
+        } catch (NoSuchElementException ignored) {
+            // Emptied by a removal on another thread
+            return null;
+        }
     }
 }
\ No newline at end of file
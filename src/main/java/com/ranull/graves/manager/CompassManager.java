@@ -0,0 +1,142 @@
+package com.ranull.graves.manager;
+
+import com.ranull.graves.Graves;
+import com.ranull.graves.type.Grave;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the grave compasses online players carry.
+ * <p>
+ * Each tracked compass is stored with the location it points to, so movement handling only compares the player's
+ * position with a few targets and leaves the inventory alone until the player is close to one of them. The registry
+ * is filled when a player joins or respawns, rebuilt when they close a container they may have taken a compass from,
+ * and kept up to date as compasses are given, used, picked up, dropped or removed.
+ * </p>
+ */
+public final class CompassManager {
+    /**
+     * The main plugin instance associated with Graves.
+     * <p>
+     * This {@link Graves} instance represents the core plugin that this Graves is part of. It provides access
+     * to the plugin's functionality, configuration, and other services.
+     * </p>
+     */
+    private final Graves plugin;
+
+    /**
+     * A map of player UUIDs to the graves their compasses point to, and the location each compass targets.
+     */
+    private final Map<UUID, Map<UUID, Location>> compassMap;
+
+    /**
+     * Initializes a new instance of the CompassManager class.
+     *
+     * @param plugin The plugin instance.
+     */
+    public CompassManager(Graves plugin) {
+        this.plugin = plugin;
+        this.compassMap = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Rebuilds the tracked compasses of a player from their inventory.
+     *
+     * @param player The player.
+     */
+    public void loadCompasses(Player player) {
+        Map<UUID, Location> targetMap = new ConcurrentHashMap<>();
+
+        for (UUID graveUUID : plugin.getEntityManager().getCompassesFromInventory(player).values()) {
+            Grave grave = plugin.getCacheManager().getGraveMap().get(graveUUID);
+
+            if (grave != null && !targetMap.containsKey(graveUUID)) {
+                Location location = plugin.getGraveManager().getGraveLocation(player.getLocation(), grave);
+
+                if (location != null) {
+                    targetMap.put(graveUUID, location);
+                }
+            }
+        }
+
+        if (targetMap.isEmpty()) {
+            compassMap.remove(player.getUniqueId());
+        } else {
+            compassMap.put(player.getUniqueId(), targetMap);
+        }
+    }
+
+    /**
+     * Tracks a compass given to a player.
+     *
+     * @param player   The player holding the compass.
+     * @param grave    The grave the compass belongs to.
+     * @param location The location the compass points to.
+     */
+    public void addCompass(Player player, Grave grave, Location location) {
+        if (location != null) {
+            compassMap.computeIfAbsent(player.getUniqueId(), uuid -> new ConcurrentHashMap<>())
+                    .put(grave.getUUID(), location);
+        }
+    }
+
+    /**
+     * Tracks a compass item that entered a player's inventory, if it is a grave compass.
+     *
+     * @param player    The player.
+     * @param itemStack The item stack.
+     */
+    public void addCompass(Player player, ItemStack itemStack) {
+        UUID graveUUID = plugin.getEntityManager().getGraveUUIDFromItemStack(itemStack);
+
+        if (graveUUID != null) {
+            Grave grave = plugin.getCacheManager().getGraveMap().get(graveUUID);
+
+            if (grave != null) {
+                addCompass(player, grave, plugin.getGraveManager().getGraveLocation(player.getLocation(), grave));
+            }
+        }
+    }
+
+    /**
+     * Stops tracking the compass of a grave for a player.
+     *
+     * @param uuid      The UUID of the player.
+     * @param graveUUID The UUID of the grave.
+     */
+    public void removeCompass(UUID uuid, UUID graveUUID) {
+        Map<UUID, Location> targetMap = compassMap.get(uuid);
+
+        if (targetMap != null) {
+            targetMap.remove(graveUUID);
+
+            if (targetMap.isEmpty()) {
+                compassMap.remove(uuid, targetMap);
+            }
+        }
+    }
+
+    /**
+     * Stops tracking every compass of a player.
+     *
+     * @param uuid The UUID of the player.
+     */
+    public void unloadCompasses(UUID uuid) {
+        compassMap.remove(uuid);
+    }
+
+    /**
+     * Gets the tracked compasses of a player.
+     *
+     * @param uuid The UUID of the player.
+     * @return A map of grave UUIDs to compass targets, or null if the player has no tracked compasses.
+     */
+    public Map<UUID, Location> getCompassMap(UUID uuid) {
+        return compassMap.get(uuid);
+    }
+}
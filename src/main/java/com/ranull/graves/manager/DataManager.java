@@ -10,6 +10,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.bukkit.Location;
 import org.bukkit.entity.EntityType;
 import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.h2.tools.Server;
 
@@ -19,8 +20,16 @@ import java.sql.Date;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
 
 /**
  * Manages data storage and retrieval for the Graves plugin.
@@ -59,6 +68,41 @@ public final class DataManager {
      */
     private Server webServer;  // H2 Web Server
 
+    /**
+     * The write-behind queue for grave, block, hologram and entity mutations.
+     * <p>
+     * This {@link WriteBehindQueue} coalesces writes and flushes them in batches instead of one round trip per change.
+     * </p>
+     */
+    private final WriteBehindQueue writeBehindQueue;
+
+    /**
+     * The loader that decodes grave inventories and equipment on first access.
+     */
+    private final Grave.ContentsLoader graveContentsLoader;
+
+    /**
+     * Whether every table has been loaded into the cache.
+     * <p>
+     * Cleared when a load starts and set on the main thread once the last loader has finished.
+     * </p>
+     */
+    private final AtomicBoolean ready;
+
+    /**
+     * The maximum number of tables loaded in parallel.
+     */
+    private static final int LOAD_THREADS = 4;
+
+    /**
+     * The number of rows fetched per round trip while loading the cache.
+     */
+    private static final int LOAD_FETCH_SIZE = 1000;
+
+    /**
+     * The number of seconds an async caller waits for the main thread to decode grave contents.
+     */
+    private static final long CONTENTS_LOAD_TIMEOUT_SECONDS = 2;
 
     /**
      * Initializes the DataManager with the specified plugin instance and sets up the database connection.
@@ -67,6 +111,9 @@ public final class DataManager {
      */
     public DataManager(Graves plugin) {
         this.plugin = plugin;
+        this.writeBehindQueue = new WriteBehindQueue(plugin, this);
+        this.graveContentsLoader = new GraveContentsLoader();
+        this.ready = new AtomicBoolean(false);
 
         String typeStr = plugin.getConfig().getString("settings.storage.type", "SQLITE");
         try {
@@ -201,45 +248,136 @@ public final class DataManager {
 
     /**
      * Loads data from the database asynchronously.
+     * <p>
+     * Graves are loaded first, then the block, entity and hologram tables are loaded in parallel since they only
+     * reference graves. The data manager reports {@link #isReady()} once every table is in the cache. If the graves
+     * cannot be loaded, including a failed schema migration step, the plugin is disabled instead, so the loading
+     * gates never stay closed.
+     * </p>
      */
     private void load() {
+        ready.set(false);
+
         plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            long start = System.currentTimeMillis();
+            boolean loaded = false;
+
             try {
                 loadTables();
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
-            }
+                loadGraveMap();
+
+                List<Runnable> loaderList = new ArrayList<>();
+                loaderList.add(this::loadBlockMap);
+                loaderList.add(() -> loadEntityMap("armorstand", EntityData.Type.ARMOR_STAND));
+                loaderList.add(() -> loadEntityMap("itemframe", EntityData.Type.ITEM_FRAME));
+                loaderList.add(this::loadHologramMap);
+
+                Map<String, EntityData.Type> integrationMap = new HashMap<>();
+                integrationMap.put("furniturelib", EntityData.Type.FURNITURELIB);
+                integrationMap.put("furnitureengine", EntityData.Type.FURNITUREENGINE);
+                integrationMap.put("itemsadder", EntityData.Type.ITEMSADDER);
+                integrationMap.put("oraxen", EntityData.Type.ORAXEN);
+                integrationMap.put("playernpc", EntityData.Type.PLAYERNPC);
+                integrationMap.put("citizensnpc", EntityData.Type.CITIZENSNPC);
+
+                for (Map.Entry<String, EntityData.Type> entry : integrationMap.entrySet()) {
+                    String integration = entry.getKey();
+                    EntityData.Type type = entry.getValue();
+
+                    if (isIntegrationEnabled(integration)) {
+                        loaderList.add(() -> {
+                            loadEntityDataMap(integration, type);
+
+                            // Corpses can only be created once their entity data is cached
+                            if (integration.equals("playernpc")) {
+                                plugin.getIntegrationManager().getPlayerNPC().createCorpses();
+                            } else if (integration.equals("citizensnpc")) {
+                                plugin.getIntegrationManager().getCitizensNPC().createCorpses();
+                            }
+                        });
+                    }
+                }
 
-            loadGraveMap();
-            loadBlockMap();
-            loadEntityMap("armorstand", EntityData.Type.ARMOR_STAND);
-            loadEntityMap("itemframe", EntityData.Type.ITEM_FRAME);
-            loadHologramMap();
-
-            Map<String, EntityData.Type> integrationMap = new HashMap<>();
-            integrationMap.put("furniturelib", EntityData.Type.FURNITURELIB);
-            integrationMap.put("furnitureengine", EntityData.Type.FURNITUREENGINE);
-            integrationMap.put("itemsadder", EntityData.Type.ITEMSADDER);
-            integrationMap.put("oraxen", EntityData.Type.ORAXEN);
-            integrationMap.put("playernpc", EntityData.Type.PLAYERNPC);
-            integrationMap.put("citizensnpc", EntityData.Type.CITIZENSNPC);
-
-            for (Map.Entry<String, EntityData.Type> entry : integrationMap.entrySet()) {
-                String integration = entry.getKey();
-                EntityData.Type type = entry.getValue();
-
-                if (isIntegrationEnabled(integration)) {
-                    loadEntityDataMap(integration, type);
-                    if (integration.equals("playernpc")) {
-                        plugin.getIntegrationManager().getPlayerNPC().createCorpses();
-                    } else if (integration.equals("citizensnpc")) {
-                        plugin.getIntegrationManager().getCitizensNPC().createCorpses();
+                runLoaders(loaderList);
+
+                loaded = true;
+            } catch (Exception exception) {
+                plugin.getLogger().severe("Failed to load grave data: " + exception.getMessage());
+                plugin.logStackTrace(exception);
+            } finally {
+                if (plugin.isEnabled()) {
+                    if (loaded) {
+                        plugin.getServer().getScheduler().runTask(plugin, () -> {
+                            try {
+                                loadLoadedChunkSet();
+                            } finally {
+                                ready.set(true);
+                            }
+
+                            plugin.getLogger().info("Loaded grave data in "
+                                    + (System.currentTimeMillis() - start) + "ms.");
+                        });
+                    } else {
+                        // The loading gates would otherwise stay closed, and graves must not be created over data
+                        // that was never loaded
+                        plugin.getLogger().severe("Grave data could not be loaded. Disabling plugin...");
+                        plugin.getServer().getScheduler().runTask(plugin, () ->
+                                plugin.getServer().getPluginManager().disablePlugin(plugin));
                     }
                 }
             }
         });
     }
 
+    /**
+     * Runs loaders on a bounded pool and waits for all of them to finish.
+     * <p>
+     * The pool never holds more connections than the data source can spare, so writes queued while loading still
+     * get a connection.
+     * </p>
+     *
+     * @param loaderList the loaders to run.
+     */
+    private void runLoaders(List<Runnable> loaderList) {
+        int threads = Math.max(1, Math.min(Math.min(LOAD_THREADS, loaderList.size()),
+                dataSource.getMaximumPoolSize() - 1));
+        ExecutorService executorService = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "GravesX Loader");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        try {
+            List<CompletableFuture<Void>> futureList = new ArrayList<>();
+
+            for (Runnable loader : loaderList) {
+                futureList.add(CompletableFuture.runAsync(loader, executorService).exceptionally(throwable -> {
+                    plugin.getLogger().severe("Error occurred while loading grave data: " + throwable.getMessage());
+
+                    return null;
+                }));
+            }
+
+            CompletableFuture.allOf(futureList.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * Checks if every table has been loaded into the cache.
+     * <p>
+     * Until then a missing block or entity may belong to a grave that has not been loaded yet.
+     * </p>
+     *
+     * @return true if the data is loaded, false otherwise.
+     */
+    public boolean isReady() {
+        return ready.get();
+    }
+
     /**
      * Checks if the integration is enabled.
      * @param integration The name of the integration.
@@ -265,11 +403,23 @@ public final class DataManager {
     }
 
     /**
-     * Loads database tables.
+     * Loads database tables, migrating the schema to the latest version if it is behind.
      *
      * @throws SQLException if an SQL error occurs.
      */
     private void loadTables() throws SQLException {
+        new SchemaMigrator(plugin, this).migrate();
+    }
+
+    /**
+     * Creates missing tables and probes every column of a database created before schema versioning.
+     * <p>
+     * This only runs once per database, when {@link SchemaMigrator} adopts it.
+     * </p>
+     *
+     * @throws SQLException if an SQL error occurs.
+     */
+    void setupLegacyTables() throws SQLException {
         setupGraveTable();
         setupBlockTable();
         setupHologramTable();
@@ -282,23 +432,20 @@ public final class DataManager {
      * @throws SQLException if an SQL error occurs.
      */
     private void setupEntityTables() throws SQLException {
-        Map<String, Boolean> integrationMap = new HashMap<>();
-        integrationMap.put("armorstand", true);
-        integrationMap.put("itemframe", true);
-        integrationMap.put("furniturelib", plugin.getIntegrationManager().hasFurnitureLib());
-        integrationMap.put("furnitureengine", plugin.getIntegrationManager().hasFurnitureEngine());
-        integrationMap.put("itemsadder", plugin.getIntegrationManager().hasItemsAdder());
-        integrationMap.put("oraxen", plugin.getIntegrationManager().hasOraxen());
-        integrationMap.put("playernpc", plugin.getIntegrationManager().hasPlayerNPC());
-        integrationMap.put("citizensnpc", plugin.getIntegrationManager().hasCitizensNPC());
-
-        for (Map.Entry<String, Boolean> entry : integrationMap.entrySet()) {
-            if (entry.getValue()) {
-                setupEntityTable(entry.getKey());
-            }
+        for (String table : SchemaMigrator.ENTITY_TABLE_LIST) {
+            setupEntityTable(table);
         }
     }
 
+    /**
+     * Gets the database type.
+     *
+     * @return the database type.
+     */
+    Type getDatabaseType() {
+        return type;
+    }
+
     /**
      * Reloads the data manager with the current type.
      */
@@ -702,24 +849,47 @@ public final class DataManager {
      */
     public ChunkData getChunkData(Location location) {
         String chunkString = LocationUtil.chunkToString(location);
-        ChunkData chunkData;
+        ChunkData chunkData = plugin.getCacheManager().getChunkMap().get(chunkString);
 
-        if (plugin.getCacheManager().getChunkMap().containsKey(chunkString)) {
-            chunkData = plugin.getCacheManager().getChunkMap().get(chunkString);
-        } else {
-            chunkData = new ChunkData(location);
-            plugin.getCacheManager().getChunkMap().put(chunkString, chunkData);
+        if (chunkData == null) {
+            ChunkData newChunkData = new ChunkData(location);
+
+            // Loaders run in parallel, only the first one to create the chunk data may publish it
+            chunkData = plugin.getCacheManager().addChunkData(chunkString, newChunkData);
+
+            if (chunkData == null) {
+                chunkData = newChunkData;
+
+                if (plugin.getServer().isPrimaryThread() && chunkData.isLoaded()) {
+                    plugin.getCacheManager().getLoadedChunkSet().add(chunkString);
+                }
+            }
         }
         return chunkData;
     }
 
+    /**
+     * Adds every cached chunk that is currently loaded to the loaded chunk set.
+     * Chunks cached by the asynchronous loaders are picked up here, chunk events keep the set current afterwards.
+     */
+    public void loadLoadedChunkSet() {
+        for (Map.Entry<String, ChunkData> chunkDataEntry : new ArrayList<>(plugin.getCacheManager().getChunkMap().entrySet())) {
+            if (chunkDataEntry.getValue().isLoaded()) {
+                plugin.getCacheManager().getLoadedChunkSet().add(chunkDataEntry.getKey());
+            }
+        }
+    }
+
     /**
      * Removes chunk data.
      *
      * @param chunkData the chunk data to remove.
      */
     public void removeChunkData(ChunkData chunkData) {
-        plugin.getCacheManager().getChunkMap().remove(LocationUtil.chunkToString(chunkData.getLocation()));
+        String chunkString = LocationUtil.chunkToString(chunkData.getLocation());
+
+        plugin.getCacheManager().removeChunkData(chunkString);
+        plugin.getCacheManager().getLoadedChunkSet().remove(chunkString);
     }
 
     /**
@@ -1153,27 +1323,181 @@ public final class DataManager {
         addColumnIfNotExists(name, "uuid_grave", "VARCHAR(255)");
     }
 
+    /**
+     * Fills the typed location columns of every table for rows that only have the string encoded location.
+     * <p>
+     * Tables written before the typed location columns existed, or by a release that does not know them, only carry
+     * the string locations.
+     * </p>
+     */
+    void convertLocationColumns() {
+        convertLocationColumns("grave", "location_death");
+        convertLocationColumns("block", "location");
+        convertLocationColumns("hologram", "location");
+
+        for (String table : SchemaMigrator.ENTITY_TABLE_LIST) {
+            convertLocationColumns(table, "location");
+        }
+    }
+
+    /**
+     * Fills the typed location columns of rows that only have the string encoded location.
+     * <p>
+     * Each distinct location is parsed once and written with batched updates in a single transaction.
+     * </p>
+     *
+     * @param name           the table name.
+     * @param locationColumn the column holding the string encoded location.
+     */
+    private void convertLocationColumns(String name, String locationColumn) {
+        String selectQuery = "SELECT DISTINCT " + locationColumn + " FROM " + name + " WHERE world IS NULL AND "
+                + locationColumn + " IS NOT NULL;";
+        String updateQuery = "UPDATE " + name + " SET world = ?, x = ?, y = ?, z = ?, chunk_x = ?, chunk_z = ? " +
+                "WHERE " + locationColumn + " = ? AND world IS NULL;";
+        List<String> locationList = new ArrayList<>();
+        int convertCount = 0;
+
+        try (Connection connection = getConnection()) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(selectQuery)) {
+                while (resultSet.next()) {
+                    locationList.add(resultSet.getString(1));
+                }
+            }
+
+            if (locationList.isEmpty()) {
+                return;
+            }
+
+            plugin.getLogger().info("Converting " + locationList.size() + " locations in " + name + " to typed columns...");
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement statement = connection.prepareStatement(updateQuery)) {
+                int batchCount = 0;
+
+                for (String location : locationList) {
+                    Object[] parameters = getLocationParameters(location);
+
+                    if (parameters == null) {
+                        plugin.getLogger().warning("Skipping invalid location \"" + location + "\" in " + name + ".");
+                        continue;
+                    }
+
+                    setParameters(statement, parameters);
+                    statement.setString(parameters.length + 1, location);
+                    statement.addBatch();
+                    convertCount++;
+
+                    if (++batchCount >= 500) {
+                        statement.executeBatch();
+                        batchCount = 0;
+                    }
+                }
+
+                if (batchCount > 0) {
+                    statement.executeBatch();
+                }
+
+                connection.commit();
+            } catch (SQLException exception) {
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+
+            plugin.getLogger().info("Converted " + convertCount + " locations in " + name + ".");
+        } catch (SQLException exception) {
+            plugin.getLogger().severe("Failed to convert locations in " + name + ": " + exception.getMessage());
+            plugin.logStackTrace(exception);
+        }
+    }
+
+    /**
+     * Gets the typed location column values of a location.
+     *
+     * @param location the location.
+     * @return the world name, x, y, z, chunk x and chunk z, in that order.
+     */
+    private static Object[] getLocationParameters(Location location) {
+        return new Object[]{
+                location.getWorld() != null ? location.getWorld().getName() : null,
+                location.getBlockX(),
+                location.getBlockY(),
+                location.getBlockZ(),
+                location.getBlockX() >> 4,
+                location.getBlockZ() >> 4
+        };
+    }
+
+    /**
+     * Gets the typed location column values of a string encoded location, without resolving the world.
+     *
+     * @param location the location in the format "world|x|y|z".
+     * @return the world name, x, y, z, chunk x and chunk z, in that order, or null if the string is invalid.
+     */
+    private static Object[] getLocationParameters(String location) {
+        String[] strings = location.split("\\|");
+
+        if (strings.length < 4) {
+            return null;
+        }
+
+        try {
+            int x = Integer.parseInt(strings[1]);
+            int y = Integer.parseInt(strings[2]);
+            int z = Integer.parseInt(strings[3]);
+
+            return new Object[]{strings[0], x, y, z, x >> 4, z >> 4};
+        } catch (NumberFormatException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Appends the typed location column values of a location to statement parameters.
+     *
+     * @param parameters the parameters.
+     * @param location   the location, or null to leave the typed columns empty.
+     * @return the parameters followed by the world name, x, y, z, chunk x and chunk z.
+     */
+    private static Object[] withLocationParameters(Object[] parameters, Location location) {
+        Object[] result = Arrays.copyOf(parameters, parameters.length + 6);
+
+        if (location != null) {
+            System.arraycopy(getLocationParameters(location), 0, result, parameters.length, 6);
+        }
+
+        return result;
+    }
+
     /**
      * Loads the grave map from the database.
      */
     public void loadGraveMap() {
-        plugin.getCacheManager().getGraveMap().clear();
+        plugin.getCacheManager().getProtectionIndex().clear();
         plugin.getLogger().info("Loading grave maps...");
         String query = "SELECT * FROM grave;";
+        List<Grave> graveList = new ArrayList<>();
         int graveCount = 0;
 
         try (Connection connection = getConnection();
-             Statement statement = connection.createStatement();
-             ResultSet resultSet = statement.executeQuery(query)) {
+             PreparedStatement statement = prepareLoadStatement(connection, query);
+             ResultSet resultSet = statement.executeQuery()) {
 
             while (resultSet.next()) {
                 Grave grave = resultSetToGrave(resultSet);
                 if (grave != null) {
-                    plugin.getCacheManager().getGraveMap().put(grave.getUUID(), grave);
+                    graveList.add(grave);
+                    plugin.getCacheManager().getProtectionIndex().addGrave(grave.getUUID(), grave.getLocationDeath(),
+                            getProtectionRadius(grave));
                     graveCount++;
                 }
             }
 
+            // Publish every grave at once so the main thread never sees a partially loaded grave map
+            plugin.getCacheManager().replaceGraves(graveList);
+
             if (graveCount == 0) {
                 plugin.getLogger().info("Found 0 grave maps to load into cache.");
             } else {
@@ -1203,237 +1527,278 @@ public final class DataManager {
 
     /**
      * Loads the block map from the database.
+     * <p>
+     * Runs on the calling thread, rows are streamed instead of being read into memory first.
+     * </p>
      */
     public void loadBlockMap() {
-        String query = "SELECT * FROM block;";
+        String query = "SELECT location, uuid_grave, replace_material, replace_data FROM block;";
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            plugin.getLogger().info("Loading Block Map cache...");
-            int blockCount = 0;
+        plugin.getLogger().info("Loading Block Map cache...");
+        int blockCount = 0;
 
-            try (Connection connection = getConnection();
-                 PreparedStatement statement = connection != null ? connection.prepareStatement(query) : null;
-                 ResultSet resultSet = statement != null ? statement.executeQuery() : null) {
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection != null ? prepareLoadStatement(connection, query) : null;
+             ResultSet resultSet = statement != null ? statement.executeQuery() : null) {
 
-                if (statement == null || resultSet == null) {
-                    plugin.getLogger().severe("Failed to create statement or result set.");
-                    return;
-                }
+            if (statement == null || resultSet == null) {
+                plugin.getLogger().severe("Failed to create statement or result set.");
+                return;
+            }
 
-                while (resultSet.next()) {
-                    try {
-                        Location location = LocationUtil.stringToLocation(resultSet.getString("location"));
-                        UUID uuidGrave = UUID.fromString(resultSet.getString("uuid_grave"));
-                        String replaceMaterial = resultSet.getString("replace_material");
-                        String replaceData = resultSet.getString("replace_data");
-
-                        if (replaceMaterial != null && replaceData != null) {
-                            getChunkData(location).addBlockData(new BlockData(location, uuidGrave, replaceMaterial, replaceData));
-                        } else {
-                            getChunkData(location).addBlockData(new BlockData(location, uuidGrave, "AIR", "minecraft:air"));
-                            plugin.getLogger().warning("Block Data for grave \"" + uuidGrave + "\" at location \"" + location + "\" is missing or invalid. Material/Block set to Air.");
-                        }
-                        blockCount++;
-                    } catch (Exception e) {
-                        String uuidGraveStr = resultSet.getString("uuid_grave");
-                        plugin.getLogger().warning("Failed to process a block entry for Grave " + uuidGraveStr + ": " + e.getMessage());
+            while (resultSet.next()) {
+                try {
+                    Location location = LocationUtil.stringToLocation(resultSet.getString("location"));
+                    UUID uuidGrave = UUID.fromString(resultSet.getString("uuid_grave"));
+                    String replaceMaterial = resultSet.getString("replace_material");
+                    String replaceData = resultSet.getString("replace_data");
+
+                    BlockData blockData;
+
+                    if (replaceMaterial != null && replaceData != null) {
+                        blockData = new BlockData(location, uuidGrave, replaceMaterial, replaceData);
+                    } else {
+                        blockData = new BlockData(location, uuidGrave, "AIR", "minecraft:air");
+                        plugin.getLogger().warning("Block Data for grave \"" + uuidGrave + "\" at location \"" + location + "\" is missing or invalid. Material/Block set to Air.");
                     }
-                }
 
-                if (blockCount == 0) {
-                    plugin.getLogger().info("Loaded 0 Blocks into Block Map Cache.");
-                } else {
-                    plugin.getLogger().info("Loaded " + blockCount + " Blocks into the Block Map Cache.");
-                }
-            } catch (SQLException exception) {
-                String sqlState = exception.getSQLState();
-                String message = exception.getMessage().toLowerCase();
-                if ("42701".equals(sqlState)
-                        || "42P07".equals(sqlState)
-                        || "42S01".equals(sqlState)
-                        || "42S04".equals(sqlState)
-                        || "X0Y32".equals(sqlState)
-                        || "42000".equals(sqlState)
-                        || (message.contains("duplicate column name") && "SQLITE_ERROR".equals(sqlState))) {
-                    plugin.getLogger().info("Loaded 0 Blocks into Block Map Cache.");
-                } else {
-                    plugin.getLogger().severe("Error occurred while loading Block Map: " + exception.getMessage());
-                    plugin.logStackTrace(exception);
+                    getChunkData(location).addBlockData(blockData);
+                    plugin.getCacheManager().getGravePartIndex().addBlockData(blockData);
+                    plugin.getCacheManager().getProtectionIndex().addLocation(uuidGrave, location);
+                    blockCount++;
+                } catch (Exception e) {
+                    String uuidGraveStr = resultSet.getString("uuid_grave");
+                    plugin.getLogger().warning("Failed to process a block entry for Grave " + uuidGraveStr + ": " + e.getMessage());
                 }
             }
-        });
+
+            if (blockCount == 0) {
+                plugin.getLogger().info("Loaded 0 Blocks into Block Map Cache.");
+            } else {
+                plugin.getLogger().info("Loaded " + blockCount + " Blocks into the Block Map Cache.");
+            }
+        } catch (SQLException exception) {
+            String sqlState = exception.getSQLState();
+            String message = exception.getMessage().toLowerCase();
+            if ("42701".equals(sqlState)
+                    || "42P07".equals(sqlState)
+                    || "42S01".equals(sqlState)
+                    || "42S04".equals(sqlState)
+                    || "X0Y32".equals(sqlState)
+                    || "42000".equals(sqlState)
+                    || (message.contains("duplicate column name") && "SQLITE_ERROR".equals(sqlState))) {
+                plugin.getLogger().info("Loaded 0 Blocks into Block Map Cache.");
+            } else {
+                plugin.getLogger().severe("Error occurred while loading Block Map: " + exception.getMessage());
+                plugin.logStackTrace(exception);
+            }
+        }
     }
 
     /**
      * Loads an entity map from the database.
+     * <p>
+     * Runs on the calling thread, rows are streamed instead of being read into memory first.
+     * </p>
      *
      * @param table the table name.
      * @param type  the type of entity data.
      */
     private void loadEntityMap(String table, EntityData.Type type) {
-        String query = "SELECT * FROM " + table + ";";
+        String query = "SELECT location, uuid_entity, uuid_grave FROM " + table + ";";
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            plugin.getLogger().info("Loading Entity Map Cache for " + table + "...");
-            int entityCount = 0;
+        plugin.getLogger().info("Loading Entity Map Cache for " + table + "...");
+        int entityCount = 0;
 
-            try (Connection connection = getConnection();
-                 PreparedStatement statement = connection.prepareStatement(query);
-                 ResultSet resultSet = statement.executeQuery()) {
+        try (Connection connection = getConnection();
+             PreparedStatement statement = prepareLoadStatement(connection, query);
+             ResultSet resultSet = statement.executeQuery()) {
 
-                while (resultSet.next()) {
-                    Location location = null;
+            while (resultSet.next()) {
+                Location location = null;
 
-                    // Handle possible null values for location and chunk
-                    String locationString = resultSet.getString("location");
+                // Handle possible null values for location and chunk
+                String locationString = resultSet.getString("location");
 
-                    if (locationString != null) {
-                        location = LocationUtil.stringToLocation(locationString);
-                    }
+                if (locationString != null) {
+                    location = LocationUtil.stringToLocation(locationString);
+                }
+
+                if (location != null) {
+                    // Ensure UUIDs are not null and valid
+                    String uuidEntityString = resultSet.getString("uuid_entity");
+                    String uuidGraveString = resultSet.getString("uuid_grave");
 
-                    if (location != null) {
-                        // Ensure UUIDs are not null and valid
-                        String uuidEntityString = resultSet.getString("uuid_entity");
-                        String uuidGraveString = resultSet.getString("uuid_grave");
+                    if (uuidEntityString != null && uuidGraveString != null) {
+                        UUID uuidEntity = UUID.fromString(uuidEntityString);
+                        UUID uuidGrave = UUID.fromString(uuidGraveString);
 
-                        if (uuidEntityString != null && uuidGraveString != null) {
-                            UUID uuidEntity = UUID.fromString(uuidEntityString);
-                            UUID uuidGrave = UUID.fromString(uuidGraveString);
+                        EntityData entityData = new EntityData(location, uuidEntity, uuidGrave, type);
 
-                            getChunkData(location).addEntityData(new EntityData(location, uuidEntity, uuidGrave, type));
-                            entityCount++;
-                        } else {
-                            plugin.getLogger().warning("Missing UUIDs in result set for location: " + location);
-                        }
+                        getChunkData(location).addEntityData(entityData);
+                        plugin.getCacheManager().getGravePartIndex().addEntityData(entityData);
+                        entityCount++;
                     } else {
-                        plugin.getLogger().warning("Invalid location data in result set.");
+                        plugin.getLogger().warning("Missing UUIDs in result set for location: " + location);
                     }
-                }
-
-                if (entityCount == 0) {
-                    plugin.getLogger().info("Loaded 0 entities into Entity Map Cache for " + table + ".");
                 } else {
-                    plugin.getLogger().info("Loaded " + entityCount + " entities into Entity Map Cache for " + table + ".");
+                    plugin.getLogger().warning("Invalid location data in result set.");
                 }
-            } catch (SQLException exception) {
-                plugin.getLogger().severe("Error occurred while loading Entity Map: " + exception.getMessage());
-                plugin.logStackTrace(exception);
             }
-        });
+
+            if (entityCount == 0) {
+                plugin.getLogger().info("Loaded 0 entities into Entity Map Cache for " + table + ".");
+            } else {
+                plugin.getLogger().info("Loaded " + entityCount + " entities into Entity Map Cache for " + table + ".");
+            }
+        } catch (SQLException exception) {
+            plugin.getLogger().severe("Error occurred while loading Entity Map: " + exception.getMessage());
+            plugin.logStackTrace(exception);
+        }
     }
 
     /**
      * Loads the hologram map from the database.
+     * <p>
+     * Runs on the calling thread, rows are streamed instead of being read into memory first.
+     * </p>
      */
     public void loadHologramMap() {
-        String query = "SELECT * FROM hologram;";
+        String query = "SELECT location, uuid_entity, uuid_grave, line FROM hologram;";
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            plugin.getLogger().info("Loading Holograms into Hologram Map Cache...");
-            int hologramCount = 0;
+        plugin.getLogger().info("Loading Holograms into Hologram Map Cache...");
+        int hologramCount = 0;
 
-            try (Connection connection = getConnection();
-                 PreparedStatement statement = connection.prepareStatement(query);
-                 ResultSet resultSet = statement.executeQuery()) {
+        try (Connection connection = getConnection();
+             PreparedStatement statement = prepareLoadStatement(connection, query);
+             ResultSet resultSet = statement.executeQuery()) {
 
-                while (resultSet.next()) {
-                    Location location = null;
+            while (resultSet.next()) {
+                Location location = null;
 
-                    // Handle possible null values for location
-                    String locationString = resultSet.getString("location");
+                // Handle possible null values for location
+                String locationString = resultSet.getString("location");
 
-                    if (locationString != null) {
-                        location = LocationUtil.stringToLocation(locationString);
-                    }
+                if (locationString != null) {
+                    location = LocationUtil.stringToLocation(locationString);
+                }
+
+                if (location != null) {
+                    // Ensure UUIDs are not null and valid
+                    String uuidEntityString = resultSet.getString("uuid_entity");
+                    String uuidGraveString = resultSet.getString("uuid_grave");
 
-                    if (location != null) {
-                        // Ensure UUIDs are not null and valid
-                        String uuidEntityString = resultSet.getString("uuid_entity");
-                        String uuidGraveString = resultSet.getString("uuid_grave");
-
-                        if (uuidEntityString != null && uuidGraveString != null) {
-                            UUID uuidEntity = UUID.fromString(uuidEntityString);
-                            UUID uuidGrave = UUID.fromString(uuidGraveString);
-                            int line = resultSet.getInt("line");
-
-                            getChunkData(location).addEntityData(new HologramData(location, uuidEntity, uuidGrave, line));
-                            hologramCount++;  // Increment hologram count
-                        } else {
-                            plugin.getLogger().warning("Missing UUIDs in result set for location: " + location);
-                        }
+                    if (uuidEntityString != null && uuidGraveString != null) {
+                        UUID uuidEntity = UUID.fromString(uuidEntityString);
+                        UUID uuidGrave = UUID.fromString(uuidGraveString);
+                        int line = resultSet.getInt("line");
+
+                        HologramData hologramData = new HologramData(location, uuidEntity, uuidGrave, line);
+
+                        getChunkData(location).addEntityData(hologramData);
+                        plugin.getCacheManager().getGravePartIndex().addEntityData(hologramData);
+                        hologramCount++;  // Increment hologram count
                     } else {
-                        plugin.getLogger().warning("Invalid location data in result set.");
+                        plugin.getLogger().warning("Missing UUIDs in result set for location: " + location);
                     }
-                }
-                if (hologramCount == 0) {
-                    plugin.getLogger().info("Loaded 0 Holograms into Hologram Map Cache.");
                 } else {
-                    plugin.getLogger().info("Loaded " + hologramCount + " Holograms into Hologram Map Cache.");
+                    plugin.getLogger().warning("Invalid location data in result set.");
                 }
-
-            } catch (SQLException exception) {
-                plugin.getLogger().severe("Error occurred while loading Hologram Map: " + exception.getMessage());
-                plugin.logStackTrace(exception);
             }
-        });
+            if (hologramCount == 0) {
+                plugin.getLogger().info("Loaded 0 Holograms into Hologram Map Cache.");
+            } else {
+                plugin.getLogger().info("Loaded " + hologramCount + " Holograms into Hologram Map Cache.");
+            }
+        } catch (SQLException exception) {
+            plugin.getLogger().severe("Error occurred while loading Hologram Map: " + exception.getMessage());
+            plugin.logStackTrace(exception);
+        }
     }
 
     /**
      * Loads entity data from the database.
+     * <p>
+     * Runs on the calling thread, rows are streamed instead of being read into memory first.
+     * </p>
      *
      * @param table the table name.
      * @param type  the type of entity data.
      */
     private void loadEntityDataMap(String table, EntityData.Type type) {
-        String query = "SELECT * FROM " + table + ";";
+        String query = "SELECT location, uuid_entity, uuid_grave FROM " + table + ";";
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            plugin.getLogger().info("Loading Entity Data Map Cache for " + table + "...");
-            int entityCount = 0;
+        plugin.getLogger().info("Loading Entity Data Map Cache for " + table + "...");
+        int entityCount = 0;
 
-            try (Connection connection = getConnection();
-                 PreparedStatement statement = connection.prepareStatement(query);
-                 ResultSet resultSet = statement.executeQuery()) {
+        try (Connection connection = getConnection();
+             PreparedStatement statement = prepareLoadStatement(connection, query);
+             ResultSet resultSet = statement.executeQuery()) {
 
-                while (resultSet.next()) {
-                    Location location = null;
+            while (resultSet.next()) {
+                Location location = null;
 
-                    // Retrieve and convert location or chunk data
-                    String locationString = resultSet.getString("location");
+                // Retrieve and convert location or chunk data
+                String locationString = resultSet.getString("location");
 
-                    if (locationString != null) {
-                        location = LocationUtil.stringToLocation(locationString);
-                    } else {
-                        plugin.getLogger().warning("Invalid location for result set entry");
-                        continue; // Continue processing remaining entries
-                    }
+                if (locationString != null) {
+                    location = LocationUtil.stringToLocation(locationString);
+                } else {
+                    plugin.getLogger().warning("Invalid location for result set entry");
+                    continue; // Continue processing remaining entries
+                }
 
-                    // Retrieve and validate UUIDs
-                    String uuidEntityString = resultSet.getString("uuid_entity");
-                    String uuidGraveString = resultSet.getString("uuid_grave");
+                // Retrieve and validate UUIDs
+                String uuidEntityString = resultSet.getString("uuid_entity");
+                String uuidGraveString = resultSet.getString("uuid_grave");
 
-                    if (uuidEntityString != null && uuidGraveString != null) {
-                        UUID uuidEntity = UUID.fromString(uuidEntityString);
-                        UUID uuidGrave = UUID.fromString(uuidGraveString);
+                if (uuidEntityString != null && uuidGraveString != null) {
+                    UUID uuidEntity = UUID.fromString(uuidEntityString);
+                    UUID uuidGrave = UUID.fromString(uuidGraveString);
 
-                        // Add entity data to the chunk data map
-                        getChunkData(location).addEntityData(new EntityData(location, uuidEntity, uuidGrave, type));
-                        entityCount++;  // Increment entity count
-                    } else {
-                        plugin.getLogger().warning("Missing UUIDs for location: " + location);
-                    }
-                }
+                    // Add entity data to the chunk data map
+                    EntityData entityData = new EntityData(location, uuidEntity, uuidGrave, type);
 
-                if (entityCount == 0) {
-                    plugin.getLogger().info("Loaded 0 entities into Entity Data Map Cache for " + table + ".");
+                    getChunkData(location).addEntityData(entityData);
+                    plugin.getCacheManager().getGravePartIndex().addEntityData(entityData);
+                    entityCount++;  // Increment entity count
                 } else {
-                    plugin.getLogger().info("Loaded " + entityCount + " entities into Entity Data Map Cache for " + table + ".");
+                    plugin.getLogger().warning("Missing UUIDs for location: " + location);
                 }
-            } catch (SQLException exception) {
-                plugin.getLogger().severe("Error occurred while loading Entity Data Map: " + exception.getMessage());
-                plugin.logStackTrace(exception);
             }
-        });
+
+            if (entityCount == 0) {
+                plugin.getLogger().info("Loaded 0 entities into Entity Data Map Cache for " + table + ".");
+            } else {
+                plugin.getLogger().info("Loaded " + entityCount + " entities into Entity Data Map Cache for " + table + ".");
+            }
+        } catch (SQLException exception) {
+            plugin.getLogger().severe("Error occurred while loading Entity Data Map: " + exception.getMessage());
+            plugin.logStackTrace(exception);
+        }
+    }
+
+    /**
+     * Prepares a read-only, forward-only statement that streams its rows while the cache is loaded.
+     *
+     * @param connection the connection to prepare the statement on.
+     * @param query      the query.
+     * @return the prepared statement.
+     * @throws SQLException if an SQL error occurs.
+     */
+    private PreparedStatement prepareLoadStatement(Connection connection, String query) throws SQLException {
+        if (type == Type.POSTGRESQL) {
+            // PostgreSQL only honours the fetch size inside a transaction, the pool rolls it back on close
+            connection.setAutoCommit(false);
+        }
+
+        PreparedStatement statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY);
+
+        // MySQL Connector/J only streams with this sentinel, the other drivers take a row count
+        statement.setFetchSize(type == Type.MYSQL ? Integer.MIN_VALUE : LOAD_FETCH_SIZE);
+
+        return statement;
     }
 
     /**
@@ -1443,8 +1808,10 @@ public final class DataManager {
      */
     public void addBlockData(BlockData blockData) {
         getChunkData(blockData.getLocation()).addBlockData(blockData);
+        plugin.getCacheManager().getGravePartIndex().addBlockData(blockData);
+        plugin.getCacheManager().getProtectionIndex().addLocation(blockData.getGraveUUID(), blockData.getLocation());
 
-        String query = "INSERT INTO block (location, uuid_grave, replace_material, replace_data) VALUES (?, ?, ?, ?)";
+        String query = "INSERT INTO block (location, uuid_grave, replace_material, replace_data, world, x, y, z, chunk_x, chunk_z) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
         Object[] parameters = new Object[4];
 
         // Set location
@@ -1459,14 +1826,8 @@ public final class DataManager {
         // Set replace_data
         parameters[3] = blockData.getReplaceData();
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                executeUpdate(query, parameters);
-            } catch (SQLException exception) {
-                plugin.getLogger().severe("Failed to add block data: " + exception.getMessage());
-                plugin.logStackTrace(exception);
-            }
-        });
+        writeBehindQueue.insert("block:" + parameters[0], query,
+                withLocationParameters(parameters, blockData.getLocation()));
     }
 
     /**
@@ -1475,19 +1836,24 @@ public final class DataManager {
      * @param location the location of the block data to remove.
      */
     public void removeBlockData(Location location) {
-        getChunkData(location).removeBlockData(location);
+        ChunkData chunkData = getChunkData(location);
 
-        String query = "DELETE FROM block WHERE location = ?";
-        Object[] parameters = { LocationUtil.locationToString(location) };
+        plugin.getCacheManager().getGravePartIndex().removeBlockData(chunkData.getBlockDataMap().get(location));
+        chunkData.removeBlockData(location);
+        plugin.getCacheManager().getProtectionIndex().removeLocation(location);
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                executeUpdate(query, parameters);
-            } catch (SQLException exception) {
-                plugin.getLogger().severe("Failed to remove block data: " + exception.getMessage());
-                plugin.logStackTrace(exception);
-            }
-        });
+        String query = "DELETE FROM block WHERE world = ? AND chunk_x = ? AND chunk_z = ? AND x = ? AND y = ? AND z = ?";
+        Object[] locationParameters = getLocationParameters(location);
+        Object[] parameters = {
+                locationParameters[0],
+                locationParameters[4],
+                locationParameters[5],
+                locationParameters[1],
+                locationParameters[2],
+                locationParameters[3]
+        };
+
+        writeBehindQueue.delete("block:" + LocationUtil.locationToString(location), query, parameters);
     }
 
     /**
@@ -1497,8 +1863,9 @@ public final class DataManager {
      */
     public void addHologramData(HologramData hologramData) {
         getChunkData(hologramData.getLocation()).addEntityData(hologramData);
+        plugin.getCacheManager().getGravePartIndex().addEntityData(hologramData);
 
-        String query = "INSERT INTO hologram (uuid_entity, uuid_grave, line, location) VALUES (?, ?, ?, ?)";
+        String query = "INSERT INTO hologram (uuid_entity, uuid_grave, line, location, world, x, y, z, chunk_x, chunk_z) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
         Object[] parameters = {
                 hologramData.getUUIDEntity().toString(),
                 hologramData.getUUIDGrave().toString(),
@@ -1506,14 +1873,8 @@ public final class DataManager {
                 LocationUtil.locationToString(hologramData.getLocation())
         };
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                executeUpdate(query, parameters);
-            } catch (SQLException exception) {
-                plugin.getLogger().severe("Failed to add hologram data: " + exception.getMessage());
-                plugin.logStackTrace(exception);
-            }
-        });
+        writeBehindQueue.insert("hologram:" + hologramData.getUUIDEntity(), query,
+                withLocationParameters(parameters, hologramData.getLocation()));
     }
 
     /**
@@ -1522,23 +1883,14 @@ public final class DataManager {
      * @param entityDataList the list of entity data to remove.
      */
     public void removeHologramData(List<EntityData> entityDataList) {
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            String sql = "DELETE FROM hologram WHERE uuid_entity = ?";
-            try (Connection connection = getConnection();
-                 PreparedStatement statement = connection != null ? connection.prepareStatement(sql) : null) {
-                if (statement != null) {
-                    for (EntityData hologramData : entityDataList) {
-                        getChunkData(hologramData.getLocation()).removeEntityData(hologramData);
-                        statement.setString(1, String.valueOf(hologramData.getUUIDEntity()));
-                        statement.addBatch();
-                    }
-                    executeBatch(statement);
-                }
-            } catch (SQLException exception) {
-                plugin.getLogger().severe("Error occurred while removing hologram data: " + exception.getMessage());
-                plugin.logStackTrace(exception);
-            }
-        });
+        String query = "DELETE FROM hologram WHERE uuid_entity = ?";
+
+        for (EntityData hologramData : entityDataList) {
+            getChunkData(hologramData.getLocation()).removeEntityData(hologramData);
+            plugin.getCacheManager().getGravePartIndex().removeEntityData(hologramData);
+            writeBehindQueue.delete("hologram:" + hologramData.getUUIDEntity(), query,
+                    new Object[]{ String.valueOf(hologramData.getUUIDEntity()) });
+        }
     }
 
     /**
@@ -1548,9 +1900,10 @@ public final class DataManager {
      */
     public void addEntityData(EntityData entityData) {
         getChunkData(entityData.getLocation()).addEntityData(entityData);
+        plugin.getCacheManager().getGravePartIndex().addEntityData(entityData);
 
         String table = entityDataTypeTable(entityData.getType());
-        String query = "INSERT INTO " + table + " (location, uuid_entity, uuid_grave) VALUES (?, ?, ?)";
+        String query = "INSERT INTO " + table + " (location, uuid_entity, uuid_grave, world, x, y, z, chunk_x, chunk_z) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
         String location = LocationUtil.locationToString(entityData.getLocation());
         Object[] parameters = {
@@ -1559,14 +1912,8 @@ public final class DataManager {
                 entityData.getUUIDGrave()
         };
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                executeUpdate(query, parameters);
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Failed to add entity data: " + e.getMessage());
-                plugin.logStackTrace(e);
-            }
-        });
+        writeBehindQueue.insert(table + ":" + entityData.getUUIDEntity(), query,
+                withLocationParameters(parameters, entityData.getLocation()));
     }
 
     /**
@@ -1584,31 +1931,37 @@ public final class DataManager {
      * @param entityDataList the list of entity data to remove.
      */
     public void removeEntityData(List<EntityData> entityDataList) {
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try (Connection connection = getConnection();
-                 Statement statement = connection != null ? connection.createStatement() : null) {
-                if (statement != null) {
-                    for (EntityData entityData : entityDataList) {
-                        getChunkData(entityData.getLocation()).removeEntityData(entityData);
-                        String table = entityDataTypeTable(entityData.getType());
-                        String query = "DELETE FROM " + table + " WHERE uuid_entity = ?";
-                        Object[] parameters = { entityData.getUUIDEntity() };
-                        executeUpdate(query, parameters);
-                        plugin.debugMessage("Removing " + table + " for grave " + entityData.getUUIDGrave(), 1);
-                    }
-                }
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Failed to remove entity data: " + e.getMessage());
-                plugin.logStackTrace(e);
-            }
-        });
+        for (EntityData entityData : entityDataList) {
+            getChunkData(entityData.getLocation()).removeEntityData(entityData);
+            plugin.getCacheManager().getGravePartIndex().removeEntityData(entityData);
+            String table = entityDataTypeTable(entityData.getType());
+            String query = "DELETE FROM " + table + " WHERE uuid_entity = ?";
+            Object[] parameters = { entityData.getUUIDEntity() };
+            writeBehindQueue.delete(table + ":" + entityData.getUUIDEntity(), query, parameters);
+            plugin.debugMessage("Removing " + table + " for grave " + entityData.getUUIDGrave(), 1);
+        }
     }
 
+    /**
+     * Checks if the database holds a grave with a death location at a block.
+     *
+     * @param location the location to check.
+     * @return true if a grave died at the block, false otherwise.
+     */
     public boolean hasGraveAtLocation(Location location) {
-        String query = "SELECT COUNT(*) FROM grave WHERE location_death = ?";
+        String query = "SELECT COUNT(*) FROM grave WHERE world = ? AND chunk_x = ? AND chunk_z = ? AND x = ? AND y = ? AND z = ?";
+        Object[] locationParameters = getLocationParameters(location);
+
         try (Connection connection = getConnection();
              PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, LocationUtil.locationToString(location));
+            setParameters(statement, new Object[]{
+                    locationParameters[0],
+                    locationParameters[4],
+                    locationParameters[5],
+                    locationParameters[1],
+                    locationParameters[2],
+                    locationParameters[3]
+            });
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
                     return resultSet.getInt(1) > 0;
@@ -1657,9 +2010,13 @@ public final class DataManager {
      * @param grave the grave to add.
      */
     public void addGrave(Grave grave) {
-        plugin.getCacheManager().getGraveMap().put(grave.getUUID(), grave);
+        plugin.getCacheManager().addGrave(grave);
+        plugin.getCacheManager().getProtectionIndex().addGrave(grave.getUUID(), grave.getLocationDeath(),
+                getProtectionRadius(grave));
 
-        String query = "INSERT INTO grave (uuid, owner_type, owner_name, owner_name_display, owner_uuid, owner_texture, owner_texture_signature, killer_type, killer_name, killer_name_display, killer_uuid, location_death, yaw, pitch, inventory, equipment, experience, protection, is_abandoned, time_alive, time_protection, time_creation, permissions) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String query = "INSERT INTO grave (uuid, owner_type, owner_name, owner_name_display, owner_uuid, owner_texture, owner_texture_signature, killer_type, killer_name, killer_name_display, killer_uuid, location_death, yaw, pitch, inventory, equipment, experience, protection, is_abandoned, time_alive, time_protection, time_creation, permissions, inventory_data, equipment_data, world, x, y, z, chunk_x, chunk_z) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        Object[] inventoryParameters = getContentsParameters(InventoryUtil.inventoryToString(grave.getInventory()));
+        Object[] equipmentParameters = getContentsParameters(InventoryCodec.encodeEquipmentMap(grave.getEquipmentMap()));
 
         // Prepare parameters
         Object[] parameters = {
@@ -1677,27 +2034,21 @@ public final class DataManager {
                 grave.getLocationDeath() != null ? LocationUtil.locationToString(grave.getLocationDeath()) : null,
                 grave.getYaw(),
                 grave.getPitch(),
-                InventoryUtil.inventoryToString(grave.getInventory()),
-                Base64Util.objectToBase64(grave.getEquipmentMap().entrySet().stream()
-                        .filter(entry -> entry.getValue() != null)
-                        .collect(Collectors.toMap(entry -> entry.getKey().name(), Map.Entry::getValue))),
+                inventoryParameters[0],
+                equipmentParameters[0],
                 grave.getExperience(),
                 grave.getProtection() ? 1 : 0,
                 grave.isAbandoned() ? 1 : 0,
                 grave.getTimeAlive(),
                 grave.getTimeProtection(),
                 grave.getTimeCreation(),
-                grave.getPermissionList() != null && !grave.getPermissionList().isEmpty() ? StringUtils.join(grave.getPermissionList(), "|") : null
+                grave.getPermissionList() != null && !grave.getPermissionList().isEmpty() ? StringUtils.join(grave.getPermissionList(), "|") : null,
+                inventoryParameters[1],
+                equipmentParameters[1]
         };
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                executeUpdate(query, parameters);
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Failed to add grave: " + e.getMessage());
-                plugin.logStackTrace(e);
-            }
-        });
+        writeBehindQueue.insert("grave:" + grave.getUUID(), query,
+                withLocationParameters(parameters, grave.getLocationDeath()));
     }
 
     /**
@@ -1710,22 +2061,24 @@ public final class DataManager {
     }
 
     public void removeGrave(UUID uuid) {
-        plugin.getCacheManager().getGraveMap().remove(uuid);
+        plugin.getCacheManager().removeGrave(uuid);
+        plugin.getCacheManager().getProtectionIndex().removeGrave(uuid);
 
         String deleteQuery = "DELETE FROM grave WHERE uuid = ?";
         Object[] deleteParams = { uuid };
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                plugin.debugMessage("Attempting to remove grave for UUID: " + uuid, 1);
+        plugin.debugMessage("Queueing removal of grave for UUID: " + uuid, 1);
+        writeBehindQueue.delete("grave:" + uuid, deleteQuery, deleteParams);
+    }
 
-                executeUpdate(deleteQuery, deleteParams);
-                plugin.debugMessage("Grave successfully removed for UUID: " + uuid, 1);
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Failed to remove grave: " + e.getMessage());
-                plugin.logStackTrace(e);
-            }
-        });
+    /**
+     * Resolves the configured protection radius for a grave.
+     *
+     * @param grave the grave to resolve the radius for.
+     * @return the protection radius, 0 or less if the grave does not protect its surroundings.
+     */
+    public int getProtectionRadius(Grave grave) {
+        return plugin.getConfig("grave.protection-radius", grave).getInt("grave.protection-radius");
     }
 
     /**
@@ -1739,14 +2092,7 @@ public final class DataManager {
         String query = "UPDATE grave SET " + column + " = ? WHERE uuid = ?";
         Object[] parameters = { integer, grave.getUUID() };
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                executeUpdate(query, parameters);
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Failed to update grave: " + e.getMessage());
-                plugin.logStackTrace(e);
-            }
-        });
+        writeBehindQueue.update("grave:" + grave.getUUID(), column, query, parameters);
     }
 
     /**
@@ -1757,17 +2103,66 @@ public final class DataManager {
      * @param string the new value for the column.
      */
     public void updateGrave(Grave grave, String column, String string) {
-        String query = "UPDATE grave SET " + column + " = ? WHERE uuid = ?";
-        Object[] parameters = { string, grave.getUUID() };
+        if (column.equals("inventory") && grave.isContentsUnreadable()) {
+            plugin.debugMessage("Kept stored inventory of grave " + grave.getUUID()
+                    + ", it could not be decoded", 2);
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                executeUpdate(query, parameters);
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Failed to update grave: " + e.getMessage());
-                plugin.logStackTrace(e);
-            }
-        });
+            return;
+        }
+
+        String query;
+        Object[] parameters;
+
+        if (column.equals("inventory") || column.equals("equipment")) {
+            Object[] contentsParameters = getContentsParameters(string);
+
+            query = "UPDATE grave SET " + column + " = ?, " + column + "_data = ? WHERE uuid = ?";
+            parameters = new Object[]{ contentsParameters[0], contentsParameters[1], grave.getUUID() };
+        } else {
+            query = "UPDATE grave SET " + column + " = ? WHERE uuid = ?";
+            parameters = new Object[]{ string, grave.getUUID() };
+        }
+
+        writeBehindQueue.update("grave:" + grave.getUUID(), column, query, parameters);
+    }
+
+    /**
+     * Gets the text and binary column values of encoded grave contents.
+     * <p>
+     * Values written by {@link InventoryCodec} go to the binary column, legacy values stay in the text column. An
+     * empty binary value stands for none, since a typed null binary parameter is not portable across backends.
+     * </p>
+     *
+     * @param value the encoded inventory or equipment, or null for none.
+     * @return the text column value and the binary column value, in that order.
+     */
+    private static Object[] getContentsParameters(String value) {
+        byte[] binary = InventoryCodec.toBinary(value);
+
+        return binary != null ? new Object[]{null, binary} : new Object[]{value, new byte[0]};
+    }
+
+    /**
+     * Reads encoded grave contents, preferring the binary column over the text column.
+     *
+     * @param resultSet the result set positioned on a grave row.
+     * @param column    the text column, the binary column has the same name with a {@code _data} suffix.
+     * @return the encoded contents, or null for none.
+     * @throws SQLException if an SQL error occurs.
+     */
+    private static String getContents(ResultSet resultSet, String column) throws SQLException {
+        byte[] binary = resultSet.getBytes(column + "_data");
+
+        return binary != null && binary.length > 0 ? InventoryCodec.fromBinary(binary) : resultSet.getString(column);
+    }
+
+    /**
+     * Gets the loader that decodes grave inventories and equipment on first access.
+     *
+     * @return the grave contents loader.
+     */
+    public Grave.ContentsLoader getGraveContentsLoader() {
+        return graveContentsLoader;
     }
 
     /**
@@ -1839,13 +2234,8 @@ public final class DataManager {
             graveLocation = locationDeath != null ? LocationUtil.stringToLocation(locationDeath) : null;
             grave.setLocationDeath(graveLocation);
 
-            if (resultSet.getString("equipment") == null) invalidationReason.add("equipment is null");
-            if (resultSet.getString("equipment") != null) {
-                @SuppressWarnings("unchecked")
-                Map<EquipmentSlot, ItemStack> equipmentMap = (Map<EquipmentSlot, ItemStack>) Base64Util
-                        .base64ToObject(resultSet.getString("equipment"));
-                grave.setEquipmentMap(equipmentMap != null ? equipmentMap : new HashMap<>());
-            }
+            String equipment = getContents(resultSet, "equipment");
+            if (equipment == null) invalidationReason.add("equipment is null");
 
             grave.setYaw(resultSet.getFloat("yaw"));
             grave.setPitch(resultSet.getFloat("pitch"));
@@ -1857,10 +2247,8 @@ public final class DataManager {
             grave.setTimeCreation(resultSet.getLong("time_creation"));
             grave.setPermissionList(resultSet.getString("permissions") != null
                     ? new ArrayList<>(Arrays.asList(resultSet.getString("permissions").split("\\|"))) : new ArrayList<>());
-            grave.setInventory(InventoryUtil.stringToInventory(grave, resultSet.getString("inventory"),
-                    StringUtil.parseString(plugin.getConfig("gui.grave.title", grave.getOwnerType(),
-                                    grave.getPermissionList())
-                            .getString("gui.grave.title"), grave.getLocationDeath(), grave, plugin), plugin));
+            // Items are decoded on first access, most graves expire without ever being opened
+            grave.setContents(getContents(resultSet, "inventory"), equipment, graveContentsLoader);
 
             if (!invalidationReason.isEmpty()) {
                 plugin.logInvalidGraveSite(uuidString, graveLocation, invalidationReason);
@@ -1888,7 +2276,7 @@ public final class DataManager {
      *
      * @return the database connection.
      */
-    private Connection getConnection() {
+    Connection getConnection() {
         try {
             return dataSource.getConnection();
         } catch (SQLException exception) {
@@ -1962,6 +2350,14 @@ public final class DataManager {
         }
     }
 
+    /**
+     * Stops the write-behind queue and writes every pending change to the database.
+     * Must run before {@link #closeConnection()}.
+     */
+    public void flushWriteBehindQueue() {
+        writeBehindQueue.shutdown();
+    }
+
     /**
      * Closes the database connection.
      */
@@ -1974,27 +2370,6 @@ public final class DataManager {
         }
     }
 
-    /**
-     * Executes a batch of SQL statements.
-     *
-     * @param statement the statement containing the batch.
-     */
-    private void executeBatch(Statement statement) {
-        if (statement == null) {
-            plugin.debugMessage("Attempted to execute batch with a null statement.", 1);
-            return;
-        }
-
-        try {
-            statement.executeBatch();
-        } catch (SQLException exception) {
-            // Log the error message and the state of the batch statement
-            plugin.getLogger().severe("Error occurred while executing batch: " + exception.getMessage());
-            plugin.getLogger().severe("Failed batch statement: " + statement);
-            plugin.logStackTrace(exception);
-        }
-    }
-
     /**
      * Executes an update SQL statement (deprecated method).
      *
@@ -2016,73 +2391,83 @@ public final class DataManager {
      * @throws SQLException if a database access error occurs.
      */
     private void executeUpdate(String sql, Object[] parameters) throws SQLException {
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try (Connection connection = getConnection();
-                 PreparedStatement statement = connection.prepareStatement(sql)) {
-
-                if (parameters != null) {
-                    for (int i = 0; i < parameters.length; i++) {
-                        Object parameter = parameters[i];
-                        if (parameter == null) {
-                            // Use specific SQL types for null values
-                            statement.setNull(i + 1, Types.VARCHAR); // Adjust based on expected parameter type
-                        } else if (parameter instanceof String) {
-                            statement.setString(i + 1, (String) parameter);
-                        } else if (parameter instanceof Integer) {
-                            statement.setInt(i + 1, (Integer) parameter);
-                        } else if (parameter instanceof Long) {
-                            statement.setLong(i + 1, (Long) parameter);
-                        } else if (parameter instanceof Double) {
-                            statement.setDouble(i + 1, (Double) parameter);
-                        } else if (parameter instanceof Float) {
-                            statement.setFloat(i + 1, (Float) parameter);
-                        } else if (parameter instanceof Boolean) {
-                            statement.setBoolean(i + 1, (Boolean) parameter); // Use setBoolean for MSSQL
-                        } else if (parameter instanceof UUID) {
-                            statement.setObject(i + 1, parameter.toString(), Types.VARCHAR);
-                        } else if (parameter instanceof byte[]) {
-                            statement.setBytes(i + 1, (byte[]) parameter);
-                        } else if (parameter instanceof Date) {
-                            statement.setDate(i + 1, (Date) parameter);
-                        } else if (parameter instanceof Timestamp) {
-                            statement.setTimestamp(i + 1, (Timestamp) parameter);
-                        } else if (parameter instanceof LocalDate) {
-                            statement.setObject(i + 1, parameter, Types.DATE);
-                        } else if (parameter instanceof LocalDateTime) {
-                            statement.setObject(i + 1, parameter, Types.TIMESTAMP);
-                        } else if (parameter instanceof Clob) {
-                            statement.setClob(i + 1, (Clob) parameter);
-                        } else if (parameter instanceof Blob) {
-                            statement.setBlob(i + 1, (Blob) parameter);
-                        } else if (parameter instanceof EntityType) {
-                            statement.setString(i + 1, ((EntityType) parameter).name());
-                        } else {
-                            statement.setObject(i + 1, parameter);
-                        }
-                    }
-                }
+        // Schema statements run in order on the calling thread, later statements depend on the earlier ones
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
 
-                statement.executeUpdate();
-            } catch (SQLException exception) {
-                String sqlState = exception.getSQLState();
-                String message = exception.getMessage().toLowerCase();
-                // Ignore errors related to existing tables or columns
-                if ("42701".equals(sqlState)
-                        || "42P07".equals(sqlState)
-                        || "42S01".equals(sqlState)
-                        || "42S02".equals(sqlState)
-                        || "42S04".equals(sqlState)
-                        || "X0Y32".equals(sqlState)
-                        || "42000".equals(sqlState)
-                        || (message.contains("duplicate column name") && "SQLITE_ERROR".equals(sqlState))) {
-                    // ignore
+            setParameters(statement, parameters);
+
+            statement.executeUpdate();
+        } catch (SQLException exception) {
+            String sqlState = exception.getSQLState();
+            String message = exception.getMessage().toLowerCase();
+            // Ignore errors related to existing tables or columns
+            if ("42701".equals(sqlState)
+                    || "42P07".equals(sqlState)
+                    || "42S01".equals(sqlState)
+                    || "42S02".equals(sqlState)
+                    || "42S04".equals(sqlState)
+                    || "X0Y32".equals(sqlState)
+                    || "42000".equals(sqlState)
+                    || (message.contains("duplicate column name") && "SQLITE_ERROR".equals(sqlState))) {
+                // ignore
+            } else {
+                plugin.getLogger().severe("Error executing SQL update: " + exception.getMessage());
+                plugin.getLogger().severe("Failed SQL statement: " + sql);
+                plugin.logStackTrace(exception);
+            }
+        }
+    }
+
+    /**
+     * Binds parameters to a prepared statement, choosing the setter by the parameter type.
+     *
+     * @param statement  the prepared statement.
+     * @param parameters the parameters for the SQL statement.
+     * @throws SQLException if a database access error occurs.
+     */
+    static void setParameters(PreparedStatement statement, Object[] parameters) throws SQLException {
+        if (parameters != null) {
+            for (int i = 0; i < parameters.length; i++) {
+                Object parameter = parameters[i];
+                if (parameter == null) {
+                    // Use specific SQL types for null values
+                    statement.setNull(i + 1, Types.VARCHAR); // Adjust based on expected parameter type
+                } else if (parameter instanceof String) {
+                    statement.setString(i + 1, (String) parameter);
+                } else if (parameter instanceof Integer) {
+                    statement.setInt(i + 1, (Integer) parameter);
+                } else if (parameter instanceof Long) {
+                    statement.setLong(i + 1, (Long) parameter);
+                } else if (parameter instanceof Double) {
+                    statement.setDouble(i + 1, (Double) parameter);
+                } else if (parameter instanceof Float) {
+                    statement.setFloat(i + 1, (Float) parameter);
+                } else if (parameter instanceof Boolean) {
+                    statement.setBoolean(i + 1, (Boolean) parameter); // Use setBoolean for MSSQL
+                } else if (parameter instanceof UUID) {
+                    statement.setObject(i + 1, parameter.toString(), Types.VARCHAR);
+                } else if (parameter instanceof byte[]) {
+                    statement.setBytes(i + 1, (byte[]) parameter);
+                } else if (parameter instanceof Date) {
+                    statement.setDate(i + 1, (Date) parameter);
+                } else if (parameter instanceof Timestamp) {
+                    statement.setTimestamp(i + 1, (Timestamp) parameter);
+                } else if (parameter instanceof LocalDate) {
+                    statement.setObject(i + 1, parameter, Types.DATE);
+                } else if (parameter instanceof LocalDateTime) {
+                    statement.setObject(i + 1, parameter, Types.TIMESTAMP);
+                } else if (parameter instanceof Clob) {
+                    statement.setClob(i + 1, (Clob) parameter);
+                } else if (parameter instanceof Blob) {
+                    statement.setBlob(i + 1, (Blob) parameter);
+                } else if (parameter instanceof EntityType) {
+                    statement.setString(i + 1, ((EntityType) parameter).name());
                 } else {
-                    plugin.getLogger().severe("Error executing SQL update: " + exception.getMessage());
-                    plugin.getLogger().severe("Failed SQL statement: " + sql);
-                    plugin.logStackTrace(exception);
+                    statement.setObject(i + 1, parameter);
                 }
             }
-        });
+        }
     }
 
     /**
@@ -2226,6 +2611,10 @@ public final class DataManager {
 
     /**
      * Migrates data from SQLite to the target database (MySQL, MariaDB, PostgreSQL, H2, or MSSQL).
+     * <p>
+     * Rows are copied in batches by {@link DataMigrator}, an interrupted migration resumes on the next start. The
+     * SQLite file is renamed once every table has been copied.
+     * </p>
      */
     private void migrate() {
         File dataFolder = new File(plugin.getDataFolder(), "data");
@@ -2252,298 +2641,33 @@ public final class DataManager {
         config.addDataSourceProperty("autoReconnect", "true");
         config.setDriverClassName("org.sqlite.JDBC");
 
-        // Use a try-with-resources to ensure that HikariDataSource is closed after use
-        try (HikariDataSource dataSourceMigrate = new HikariDataSource(config);
-             Connection sqliteConnection = dataSourceMigrate.getConnection()) {
-
-            DatabaseMetaData metaData = sqliteConnection.getMetaData();
-            try (ResultSet tables = metaData.getTables(null, null, "%", new String[]{"TABLE"})) {
-                boolean migrationSuccess = true;
-
-                while (tables.next()) {
-                    String tableName = tables.getString("TABLE_NAME");
-                    StringBuilder createTableQuery = new StringBuilder();
-                    List<String> columns = new ArrayList<>();
-
-                    // Using try-with-resources for the statement
-                    try (Statement sqliteStatement = sqliteConnection.createStatement();
-                         ResultSet tableData = sqliteStatement.executeQuery("SELECT * FROM " + tableName)) {
-
-                        ResultSetMetaData tableMetaData = tableData.getMetaData();
-                        createTableQuery.append("CREATE TABLE IF NOT EXISTS ").append(tableName).append(" (");
-                        for (int i = 1; i <= tableMetaData.getColumnCount(); i++) {
-                            String columnName = tableMetaData.getColumnName(i);
-                            String sqliteType = tableMetaData.getColumnTypeName(i);
-                            String targetType = mapSQLiteTypeToTargetDB(sqliteType, columnName);
-
-                            if (targetType != null) {
-                                createTableQuery.append(columnName).append(" ").append(targetType);
-                                if (i < tableMetaData.getColumnCount()) {
-                                    createTableQuery.append(", ");
-                                } else {
-                                    createTableQuery.append(")");
-                                }
-                                columns.add(columnName);
-                            }
-                        }
-
-                        if (columns.isEmpty()) {
-                            plugin.getLogger().warning("No valid columns found for table " + tableName + ". Skipping table creation.");
-                            continue;
-                        }
-
-                        plugin.getLogger().info("Creating table with query: " + createTableQuery.toString());
-                        executeUpdate(createTableQuery.toString(), new Object[0]);
-
-                        if ("grave".equals(tableName)) {
-                            adjustGraveTableForTargetDB();
-                        }
-
-                        String insertQueryTemplate = "INSERT INTO " + tableName + " (" + String.join(", ", columns) + ") VALUES (" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
-                        try (PreparedStatement insertStatement = getConnection().prepareStatement(insertQueryTemplate)) {
-                            while (tableData.next()) {
-                                for (int i = 1; i <= tableMetaData.getColumnCount(); i++) {
-                                    String columnName = tableMetaData.getColumnName(i);
-                                    if (columns.contains(columnName)) {
-                                        String data = tableData.getString(i);
-                                        if (data != null) {
-                                            data = data.replace("'", "''");
-                                        }
-                                        insertStatement.setString(columns.indexOf(columnName) + 1, data != null ? data : null);
-                                    }
-                                }
-                                plugin.getLogger().info("Inserting data with query: " + insertQueryTemplate);
-                                insertStatement.executeUpdate();
-                            }
-                        } catch (SQLException e) {
-                            plugin.getLogger().severe("Error inserting data into table " + tableName + ": " + e.getMessage());
-                            plugin.getLogger().severe("Failed query template: " + insertQueryTemplate);
-                            migrationSuccess = false;
-                        }
-                    } catch (SQLException e) {
-                        plugin.getLogger().severe("Error migrating table " + tableName + ": " + e.getMessage());
-                        plugin.getLogger().severe("Failed query: " + createTableQuery);
-                        migrationSuccess = false;
-                    }
-                }
+        try (HikariDataSource dataSourceMigrate = new HikariDataSource(config)) {
+            // The target needs a current schema before rows can be copied into it
+            new SchemaMigrator(plugin, this).migrate();
 
-                if (migrationSuccess) {
-                    File renamedFile = new File(dataFolder, "data.old.db");
-                    if (sqliteFile.renameTo(renamedFile)) {
-                        plugin.getLogger().info("SQLite database successfully renamed to data.old.db");
-                    } else {
-                        plugin.getLogger().severe("Failed to rename SQLite database to data.old.db");
-                    }
-                }
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Error retrieving tables from SQLite: " + e.getMessage());
-            }
+            DataMigrator dataMigrator = new DataMigrator(plugin, "sqlite:" + sqliteFile.getName(),
+                    dataSourceMigrate, dataSource);
 
-            try {
-                sqliteConnection.close();
-            } catch (SQLException e) {
-                plugin.getLogger().severe("Error closing SQLite connection: " + e.getMessage());
+            if (dataMigrator.migrate()) {
+                convertLocationColumns();
+                dataSourceMigrate.close();
+
+                File renamedFile = new File(dataFolder, "data.old.db");
+                if (sqliteFile.renameTo(renamedFile)) {
+                    // A data.db placed here later is a different database and has to be copied again
+                    dataMigrator.clearProgress();
+                    plugin.getLogger().info("SQLite database successfully renamed to data.old.db");
+                } else {
+                    plugin.getLogger().severe("Failed to rename SQLite database to data.old.db");
+                }
+            } else {
+                plugin.getLogger().severe("SQLite migration did not finish, it will resume on the next start.");
             }
         } catch (SQLException e) {
             plugin.getLogger().severe("Error migrating SQLite to target DB: " + e.getMessage());
         }
     }
 
-    /**
-     * Maps SQLite data types to target database data types (MySQL/MariaDB, PostgreSQL, H2, or MSSQL).
-     *
-     * @param sqliteType the SQLite data type.
-     * @param columnName the column name.
-     * @return the target database data type.
-     */
-    private String mapSQLiteTypeToTargetDB(String sqliteType, String columnName) {
-        switch (this.type) {
-            case MYSQL:
-            case MARIADB:
-                return mapSQLiteTypeToMySQL(sqliteType, columnName);
-            case POSTGRESQL:
-                return mapSQLiteTypeToPostgreSQL(sqliteType, columnName);
-            case H2:
-                return mapSQLiteTypeToH2(sqliteType, columnName);
-            case MSSQL:
-                return mapSQLiteTypeToMSSQL(sqliteType, columnName);
-            default:
-                plugin.getLogger().warning("Unhandled database type: " + this.type);
-                return null; // Ignore unhandled types
-        }
-    }
-
-    /**
-     * Maps SQLite data types to MySQL/MariaDB data types.
-     *
-     * @param sqliteType the SQLite data type.
-     * @param columnName the column name.
-     * @return the MySQL/MariaDB data type.
-     */
-    private String mapSQLiteTypeToMySQL(String sqliteType, String columnName) {
-        switch (sqliteType.toUpperCase()) {
-            case "INT":
-            case "BIGINT":
-            case "INTEGER":
-                if ("protection".equals(columnName))
-                    return "INT(1)";
-                if ("time_protection".equals(columnName) || "time_creation".equals(columnName) || "time_alive".equals(columnName))
-                    return "BIGINT";
-                return "INT(16)";
-            case "VARCHAR":
-                return "VARCHAR(255)";
-            case "FLOAT":
-                return "FLOAT(16)";
-            case "TEXT":
-                return "TEXT";
-            case "BLOB":
-                return "BLOB";
-            case "REAL":
-                return "DOUBLE";
-            case "NUMERIC":
-                return "DECIMAL(10, 5)";
-            default:
-                plugin.getLogger().warning("Unhandled SQLite type: " + sqliteType + " for column: " + columnName);
-                return null; // Ignore unhandled types
-        }
-    }
-
-    /**
-     * Maps SQLite data types to PostgreSQL data types.
-     *
-     * @param sqliteType the SQLite data type.
-     * @param columnName the column name.
-     * @return the PostgreSQL data type.
-     */
-    private String mapSQLiteTypeToPostgreSQL(String sqliteType, String columnName) {
-        switch (sqliteType.toUpperCase()) {
-            case "INT":
-            case "BIGINT":
-            case "INTEGER":
-                if ("protection".equals(columnName))
-                    return "BOOLEAN";
-                if ("time_protection".equals(columnName) || "time_creation".equals(columnName) || "time_alive".equals(columnName))
-                    return "BIGINT";
-                return "INTEGER";
-            case "VARCHAR":
-                return "VARCHAR(255)";
-            case "FLOAT":
-                return "REAL";
-            case "TEXT":
-                return "TEXT";
-            case "BLOB":
-                return "BYTEA";
-            case "REAL":
-                return "DOUBLE PRECISION";
-            case "NUMERIC":
-                return "NUMERIC(10, 5)";
-            default:
-                plugin.getLogger().warning("Unhandled SQLite type: " + sqliteType + " for column: " + columnName);
-                return null; // Ignore unhandled types
-        }
-    }
-
-    /**
-     * Maps SQLite data types to H2 data types.
-     *
-     * @param sqliteType the SQLite data type.
-     * @param columnName the column name.
-     * @return the H2 data type.
-     */
-    private String mapSQLiteTypeToH2(String sqliteType, String columnName) {
-        switch (sqliteType.toUpperCase()) {
-            case "INT":
-            case "BIGINT":
-            case "INTEGER":
-                if ("protection".equals(columnName))
-                    return "BOOLEAN";
-                if ("time_protection".equals(columnName) || "time_creation".equals(columnName) || "time_alive".equals(columnName))
-                    return "BIGINT";
-                return "INTEGER";
-            case "VARCHAR":
-                return "VARCHAR(255)";
-            case "FLOAT":
-                return "FLOAT";
-            case "TEXT":
-                return "TEXT";
-            case "BLOB":
-                return "BLOB";
-            case "REAL":
-                return "DOUBLE";
-            case "NUMERIC":
-                return "NUMERIC(10, 5)";
-            default:
-                plugin.getLogger().warning("Unhandled SQLite type: " + sqliteType + " for column: " + columnName);
-                return null; // Ignore unhandled types
-        }
-    }
-
-    /**
-     * Maps SQLite data types to Microsoft SQL Server data types.
-     *
-     * @param sqliteType the SQLite data type.
-     * @param columnName the column name.
-     * @return the MSSQL data type.
-     */
-    private String mapSQLiteTypeToMSSQL(String sqliteType, String columnName) {
-        switch (sqliteType.toUpperCase()) {
-            case "INT":
-            case "BIGINT":
-            case "INTEGER":
-                if ("protection".equals(columnName))
-                    return "BIT"; // BOOLEAN in MSSQL
-                if ("time_protection".equals(columnName) || "time_creation".equals(columnName) || "time_alive".equals(columnName))
-                    return "BIGINT";
-                return "INT";
-            case "VARCHAR":
-                return "NVARCHAR(255)";
-            case "FLOAT":
-                return "FLOAT";
-            case "TEXT":
-                return "NVARCHAR(MAX)";
-            case "BLOB":
-                return "VARBINARY(MAX)";
-            case "REAL":
-                return "FLOAT";
-            case "NUMERIC":
-                return "DECIMAL(10, 5)";
-            default:
-                plugin.getLogger().warning("Unhandled SQLite type: " + sqliteType + " for column: " + columnName);
-                return null; // Ignore unhandled types
-        }
-    }
-
-    /**
-     * Adjusts the grave table for the target database if necessary for MSSQL.
-     */
-    private void adjustGraveTableForTargetDB() throws SQLException {
-        // Ensure column sizes and types are correct for MSSQL
-        if (this.type == Type.MSSQL) {
-            plugin.getLogger().info("Altering table grave to ensure column sizes are correct for MSSQL.");
-
-            // Example SQL commands to alter column types for MSSQL
-            executeUpdate("ALTER TABLE grave ALTER COLUMN owner_texture NVARCHAR(MAX)", new Object[0]);
-            executeUpdate("ALTER TABLE grave ALTER COLUMN owner_texture_signature NVARCHAR(MAX)", new Object[0]);
-            executeUpdate("ALTER TABLE grave ALTER COLUMN time_creation BIGINT", new Object[0]);
-            executeUpdate("ALTER TABLE grave ALTER COLUMN time_protection BIGINT", new Object[0]);
-            executeUpdate("ALTER TABLE grave ALTER COLUMN time_alive BIGINT", new Object[0]);
-        } else if (this.type == Type.MYSQL || this.type == Type.MARIADB) {
-            plugin.getLogger().info("Altering table grave to ensure column sizes are correct for MySQL/MariaDB.");
-            executeUpdate("ALTER TABLE grave MODIFY owner_texture NVARCHAR(MAX)", new Object[0]);
-            executeUpdate("ALTER TABLE grave MODIFY owner_texture_signature NVARCHAR(MAX)", new Object[0]);
-            executeUpdate("ALTER TABLE grave MODIFY time_creation BIGINT", new Object[0]);
-            executeUpdate("ALTER TABLE grave MODIFY time_protection BIGINT", new Object[0]);
-            executeUpdate("ALTER TABLE grave MODIFY time_alive BIGINT", new Object[0]);
-        } else if (this.type == Type.POSTGRESQL || this.type == Type.H2) {
-            plugin.getLogger().info("Altering table grave to ensure column sizes are correct for PostgreSQL/H2.");
-            executeUpdate("ALTER TABLE grave ALTER COLUMN owner_texture TYPE TEXT", new Object[0]);
-            executeUpdate("ALTER TABLE grave ALTER COLUMN owner_texture_signature TYPE TEXT", new Object[0]);
-            executeUpdate("ALTER TABLE grave ALTER COLUMN time_creation TYPE BIGINT", new Object[0]);
-            executeUpdate("ALTER TABLE grave ALTER COLUMN time_protection TYPE BIGINT", new Object[0]);
-            executeUpdate("ALTER TABLE grave ALTER COLUMN time_alive TYPE BIGINT", new Object[0]);
-        }
-    }
-
     /**
      * Keeps the database connection alive by periodically executing a query.
      */
@@ -2699,4 +2823,57 @@ public final class DataManager {
             plugin.logStackTrace(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Decodes stored grave contents on first access.
+     * <p>
+     * Values still in the legacy format are not rewritten here. The legacy decoder drops slots it cannot deserialize,
+     * so writing its result back could lose items that a later server version can read again. Such rows move to the
+     * current format the next time the grave's contents are changed.
+     * </p>
+     */
+    private final class GraveContentsLoader implements Grave.ContentsLoader {
+        @Override
+        public Inventory loadInventory(Grave grave, String inventoryData) {
+            if (!plugin.getServer().isPrimaryThread() && plugin.isEnabled()) {
+                // Creating and titling the inventory goes through the server, decode on the main thread instead
+                Future<Inventory> future = plugin.getServer().getScheduler()
+                        .callSyncMethod(plugin, () -> decodeInventory(grave, inventoryData));
+
+                try {
+                    return future.get(CONTENTS_LOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (TimeoutException exception) {
+                    // The main thread may be waiting on this thread, for example while the write queue drains
+                    future.cancel(false);
+                    plugin.debugMessage("Timed out waiting for the main thread to decode grave " + grave.getUUID()
+                            + ", decoding on this thread", 2);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException | CancellationException exception) {
+                    plugin.logStackTrace(exception);
+                }
+            }
+
+            return decodeInventory(grave, inventoryData);
+        }
+
+        /**
+         * Decodes the stored inventory of a grave and titles it.
+         *
+         * @param grave         The grave.
+         * @param inventoryData The encoded inventory.
+         * @return The inventory, or null if it could not be decoded.
+         */
+        private Inventory decodeInventory(Grave grave, String inventoryData) {
+            return InventoryUtil.stringToInventory(grave, inventoryData,
+                    StringUtil.parseString(plugin.getConfig("gui.grave.title", grave.getOwnerType(),
+                                    grave.getPermissionList())
+                            .getString("gui.grave.title"), grave.getLocationDeath(), grave, plugin), plugin);
+        }
+
+        @Override
+        public Map<EquipmentSlot, ItemStack> loadEquipmentMap(Grave grave, String equipmentData) {
+            return InventoryCodec.decodeEquipmentMap(equipmentData);
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package com.ranull.graves.manager;
+
+import com.ranull.graves.Graves;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Copies the grave tables from one database to another in batches that can be resumed.
+ * <p>
+ * Source rows are streamed in the order of a key column and written to the target as JDBC batches, each batch in its
+ * own transaction together with the key of its last row. An interrupted run continues after that key the next time,
+ * and tables that finished are skipped. Any pair of backends works, the target schema has to be migrated by
+ * {@link SchemaMigrator} first since progress is kept in its {@code migration_progress} table.
+ * </p>
+ * <p>
+ * Rows are ordered and resumed by their key, so rows without a key are not copied. Once the source has been moved
+ * aside its progress should be cleared with {@link #clearProgress()}, so a new database under the same name is
+ * migrated from the start instead of being skipped.
+ * </p>
+ */
+public final class DataMigrator {
+    /**
+     * The number of rows written per batch and transaction.
+     */
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * The minimum time between two progress reports of a table, in milliseconds.
+     */
+    private static final long REPORT_INTERVAL = 5000;
+
+    /**
+     * The main plugin instance associated with Graves.
+     * <p>
+     * This {@link Graves} instance represents the core plugin that this Graves is part of. It provides access
+     * to the plugin's functionality, configuration, and other services.
+     * </p>
+     */
+    private final Graves plugin;
+
+    /**
+     * The name progress is recorded under, unique per source database.
+     */
+    private final String sourceName;
+
+    /**
+     * The database rows are read from.
+     */
+    private final DataSource source;
+
+    /**
+     * The database rows are written to.
+     */
+    private final DataSource target;
+
+    /**
+     * The tables to copy, in order, mapped to the column rows are ordered and resumed by.
+     */
+    private final Map<String, String> tableKeyMap;
+
+    /**
+     * Initializes a DataMigrator for the grave tables.
+     *
+     * @param plugin     the Graves plugin instance.
+     * @param sourceName the name progress is recorded under, unique per source database.
+     * @param source     the database to read from.
+     * @param target     the database to write to, with a current schema.
+     */
+    public DataMigrator(Graves plugin, String sourceName, DataSource source, DataSource target) {
+        this.plugin = plugin;
+        this.sourceName = sourceName;
+        this.source = source;
+        this.target = target;
+        this.tableKeyMap = new LinkedHashMap<>();
+
+        tableKeyMap.put("grave", "uuid");
+        tableKeyMap.put("block", "location");
+        tableKeyMap.put("hologram", "uuid_entity");
+
+        for (String table : SchemaMigrator.ENTITY_TABLE_LIST) {
+            tableKeyMap.put(table, "uuid_entity");
+        }
+    }
+
+    /**
+     * Copies every table that has not been copied yet.
+     *
+     * @return true if every table has been copied, false if a table failed and the migration should be resumed.
+     */
+    public boolean migrate() {
+        long start = System.currentTimeMillis();
+        long rowCount = 0;
+        boolean complete = true;
+
+        plugin.getLogger().info("Migrating data from " + sourceName + "...");
+
+        for (Map.Entry<String, String> entry : tableKeyMap.entrySet()) {
+            try {
+                rowCount += migrateTable(entry.getKey(), entry.getValue());
+            } catch (SQLException exception) {
+                plugin.getLogger().severe("Error migrating table " + entry.getKey() + ": " + exception.getMessage()
+                        + ". The migration will resume from the last copied row.");
+                plugin.logStackTrace(exception);
+                complete = false;
+            }
+        }
+
+        plugin.getLogger().info((complete ? "Migrated " : "Partially migrated ") + rowCount + " rows from "
+                + sourceName + " in " + (System.currentTimeMillis() - start) + "ms.");
+
+        return complete;
+    }
+
+    /**
+     * Removes the recorded progress of the source.
+     */
+    public void clearProgress() {
+        try (Connection connection = target.getConnection();
+             PreparedStatement statement = connection.prepareStatement("DELETE FROM migration_progress "
+                     + "WHERE source_name = ?")) {
+            statement.setString(1, sourceName);
+            statement.executeUpdate();
+        } catch (SQLException exception) {
+            plugin.getLogger().severe("Failed to clear migration progress of " + sourceName + ": "
+                    + exception.getMessage());
+            plugin.logStackTrace(exception);
+        }
+    }
+
+    /**
+     * Copies the rows of a table after its last recorded key.
+     *
+     * @param table     the table name.
+     * @param keyColumn the column rows are ordered and resumed by.
+     * @return the number of rows copied by this run.
+     * @throws SQLException if an SQL error occurs, progress up to the last committed batch is kept.
+     */
+    private long migrateTable(String table, String keyColumn) throws SQLException {
+        try (Connection sourceConnection = source.getConnection();
+             Connection targetConnection = target.getConnection()) {
+            Progress progress = getProgress(targetConnection, table);
+
+            if (progress != null && progress.complete) {
+                plugin.debugMessage("Skipping table " + table + ", it was already migrated.", 2);
+
+                return 0;
+            }
+
+            List<String> sourceColumnList = getColumnList(sourceConnection, table);
+
+            if (sourceColumnList == null) {
+                plugin.debugMessage("Skipping table " + table + ", it does not exist in " + sourceName + ".", 2);
+                saveProgress(targetConnection, table, null, 0, true);
+
+                return 0;
+            }
+
+            List<String> targetColumnList = getColumnList(targetConnection, table);
+            Set<String> targetColumnSet = new HashSet<>();
+            List<String> columnList = new ArrayList<>();
+
+            if (targetColumnList == null) {
+                throw new SQLException("Table " + table + " does not exist in the target database.");
+            }
+
+            for (String column : targetColumnList) {
+                targetColumnSet.add(column.toLowerCase());
+            }
+
+            for (String column : sourceColumnList) {
+                if (targetColumnSet.contains(column.toLowerCase())) {
+                    columnList.add(column);
+                }
+            }
+
+            int keyIndex = indexOfIgnoreCase(columnList, keyColumn);
+
+            if (keyIndex < 0) {
+                throw new SQLException("Table " + table + " has no " + keyColumn + " column in both databases.");
+            }
+
+            String lastKey = progress != null ? progress.lastKey : null;
+            long rowCount = progress != null ? progress.rowCount : 0;
+            long totalCount = rowCount + countRows(sourceConnection, table, keyColumn, lastKey);
+            String columns = String.join(", ", columnList);
+            String selectQuery = "SELECT " + columns + " FROM " + table + " WHERE " + keyColumn
+                    + (lastKey != null ? " > ?" : " IS NOT NULL") + " ORDER BY " + keyColumn;
+            String insertQuery = "INSERT INTO " + table + " (" + columns + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(columnList.size(), "?")) + ")";
+            long copyCount = 0;
+            long timeReport = System.currentTimeMillis();
+
+            plugin.getLogger().info("Migrating " + (totalCount - rowCount) + " rows of table " + table
+                    + (rowCount > 0 ? ", resuming after " + rowCount + " rows" : "") + "...");
+            targetConnection.setAutoCommit(false);
+
+            try (PreparedStatement selectStatement = sourceConnection.prepareStatement(selectQuery,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                 PreparedStatement insertStatement = targetConnection.prepareStatement(insertQuery)) {
+                selectStatement.setFetchSize(BATCH_SIZE);
+
+                if (lastKey != null) {
+                    selectStatement.setString(1, lastKey);
+                }
+
+                try (ResultSet resultSet = selectStatement.executeQuery()) {
+                    int batchCount = 0;
+
+                    while (resultSet.next()) {
+                        for (int i = 1; i <= columnList.size(); i++) {
+                            insertStatement.setObject(i, resultSet.getObject(i));
+                        }
+
+                        insertStatement.addBatch();
+                        lastKey = resultSet.getString(keyIndex + 1);
+                        batchCount++;
+
+                        if (batchCount >= BATCH_SIZE) {
+                            rowCount += batchCount;
+                            copyCount += batchCount;
+                            commitBatch(targetConnection, insertStatement, table, lastKey, rowCount);
+                            batchCount = 0;
+
+                            if (System.currentTimeMillis() - timeReport >= REPORT_INTERVAL) {
+                                timeReport = System.currentTimeMillis();
+                                plugin.getLogger().info("Migrated " + rowCount + "/" + totalCount + " rows of table "
+                                        + table + " (" + (rowCount * 100 / Math.max(1, totalCount)) + "%).");
+                            }
+                        }
+                    }
+
+                    rowCount += batchCount;
+                    copyCount += batchCount;
+
+                    if (batchCount > 0) {
+                        insertStatement.executeBatch();
+                    }
+
+                    saveProgress(targetConnection, table, lastKey, rowCount, true);
+                    targetConnection.commit();
+                }
+            } catch (SQLException exception) {
+                targetConnection.rollback();
+
+                throw exception;
+            } finally {
+                targetConnection.setAutoCommit(true);
+            }
+
+            plugin.getLogger().info("Migrated " + rowCount + " rows of table " + table + ".");
+
+            return copyCount;
+        }
+    }
+
+    /**
+     * Writes a full batch and its progress in one transaction.
+     *
+     * @param connection      the target connection, not in auto-commit mode.
+     * @param insertStatement the statement holding the batch.
+     * @param table           the table name.
+     * @param lastKey         the key of the last row in the batch.
+     * @param rowCount        the number of rows copied so far.
+     * @throws SQLException if an SQL error occurs.
+     */
+    private void commitBatch(Connection connection, PreparedStatement insertStatement, String table, String lastKey,
+                             long rowCount) throws SQLException {
+        insertStatement.executeBatch();
+        saveProgress(connection, table, lastKey, rowCount, false);
+        connection.commit();
+    }
+
+    /**
+     * Gets the recorded progress of a table.
+     *
+     * @param connection the target connection.
+     * @param table      the table name.
+     * @return the progress, or null if nothing has been recorded.
+     * @throws SQLException if an SQL error occurs.
+     */
+    private Progress getProgress(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT last_key, row_count, complete FROM "
+                + "migration_progress WHERE source_name = ? AND table_name = ?")) {
+            statement.setString(1, sourceName);
+            statement.setString(2, table);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? new Progress(resultSet.getString(1), resultSet.getLong(2),
+                        resultSet.getInt(3) == 1) : null;
+            }
+        }
+    }
+
+    /**
+     * Records the progress of a table, on the caller's transaction.
+     *
+     * @param connection the target connection.
+     * @param table      the table name.
+     * @param lastKey    the key of the last copied row, or null if none.
+     * @param rowCount   the number of rows copied.
+     * @param complete   whether the table has been copied completely.
+     * @throws SQLException if an SQL error occurs.
+     */
+    private void saveProgress(Connection connection, String table, String lastKey, long rowCount, boolean complete)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("UPDATE migration_progress SET last_key = ?, "
+                + "row_count = ?, complete = ?, time_updated = ? WHERE source_name = ? AND table_name = ?")) {
+            statement.setString(1, lastKey);
+            statement.setLong(2, rowCount);
+            statement.setInt(3, complete ? 1 : 0);
+            statement.setLong(4, System.currentTimeMillis());
+            statement.setString(5, sourceName);
+            statement.setString(6, table);
+
+            if (statement.executeUpdate() > 0) {
+                return;
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO migration_progress (source_name, "
+                + "table_name, last_key, row_count, complete, time_updated) VALUES (?, ?, ?, ?, ?, ?)")) {
+            statement.setString(1, sourceName);
+            statement.setString(2, table);
+            statement.setString(3, lastKey);
+            statement.setLong(4, rowCount);
+            statement.setInt(5, complete ? 1 : 0);
+            statement.setLong(6, System.currentTimeMillis());
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Counts the rows of a table after a key.
+     *
+     * @param connection the connection to use.
+     * @param table      the table name.
+     * @param keyColumn  the key column.
+     * @param lastKey    the key to count after, or null to count every row with a key.
+     * @return the number of rows.
+     * @throws SQLException if an SQL error occurs.
+     */
+    private long countRows(Connection connection, String table, String keyColumn, String lastKey)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM " + table + " WHERE "
+                + keyColumn + (lastKey != null ? " > ?" : " IS NOT NULL"))) {
+            if (lastKey != null) {
+                statement.setString(1, lastKey);
+            }
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Gets the columns of a table by selecting no rows from it.
+     *
+     * @param connection the connection to use, in auto-commit mode.
+     * @param table      the table name.
+     * @return the column names, or null if the table does not exist.
+     */
+    private List<String> getColumnList(Connection connection, String table) {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT * FROM " + table + " WHERE 1 = 0")) {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            List<String> columnList = new ArrayList<>();
+
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                columnList.add(metaData.getColumnName(i));
+            }
+
+            return columnList;
+        } catch (SQLException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Finds a column in a list, ignoring case.
+     *
+     * @param columnList the columns.
+     * @param column     the column to find.
+     * @return the index of the column, or -1 if it is not in the list.
+     */
+    private static int indexOfIgnoreCase(List<String> columnList, String column) {
+        for (int i = 0; i < columnList.size(); i++) {
+            if (columnList.get(i).equalsIgnoreCase(column)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * The recorded progress of a table.
+     */
+    private static final class Progress {
+        private final String lastKey;
+        private final long rowCount;
+        private final boolean complete;
+
+        private Progress(String lastKey, long rowCount, boolean complete) {
+            this.lastKey = lastKey;
+            this.rowCount = rowCount;
+            this.complete = complete;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.ranull.graves.manager;
 
 import com.ranull.graves.Graves;
-import com.ranull.graves.data.ChunkData;
 import com.ranull.graves.data.EntityData;
 import com.ranull.graves.type.Grave;
 import org.bukkit.Location;
@@ -39,9 +38,33 @@ public class EntityDataManager {
      * @param type   the type of entity data.
      */
     public void createEntityData(Entity entity, Grave grave, EntityData.Type type) {
+        markEntity(entity);
         createEntityData(entity.getLocation(), entity.getUniqueId(), grave.getUUID(), type);
     }
 
+    /**
+     * Tags an entity spawned for a grave with the {@code graveEntity} marker.
+     * <p>
+     * The marker is stored in the entity's persistent data, or its metadata on versions without persistent data,
+     * so the entity can be recognized as a grave entity from the entity alone.
+     * </p>
+     *
+     * @param entity the entity to tag.
+     */
+    public void markEntity(Entity entity) {
+        plugin.getEntityManager().setDataByte(entity, "graveEntity");
+    }
+
+    /**
+     * Checks if an entity carries the {@code graveEntity} marker.
+     *
+     * @param entity the entity to check.
+     * @return true if the entity was tagged by {@link #markEntity(Entity)}, false otherwise.
+     */
+    public boolean isMarkedEntity(Entity entity) {
+        return plugin.getEntityManager().hasDataByte(entity, "graveEntity");
+    }
+
     /**
      * Creates entity data for a specified location, entity UUID, grave UUID, and entity data type.
      *
@@ -68,15 +91,8 @@ public class EntityDataManager {
      * @return the entity data, or null if not found.
      */
     public EntityData getEntityData(Location location, UUID uuid) {
-        if (plugin.getDataManager().hasChunkData(location)) {
-            ChunkData chunkData = plugin.getDataManager().getChunkData(location);
-
-            if (chunkData.getEntityDataMap().containsKey(uuid)) {
-                return chunkData.getEntityDataMap().get(uuid);
-            }
-        }
-
-        return null;
+        // Entity data is indexed by entity UUID, the location is no longer needed to find it
+        return plugin.getCacheManager().getGravePartIndex().getEntityData(uuid);
     }
 
     /**
@@ -89,9 +105,7 @@ public class EntityDataManager {
     public Grave getGrave(Location location, UUID uuid) {
         EntityData entityData = getEntityData(location, uuid);
 
-        return entityData != null && plugin.getCacheManager().getGraveMap()
-                .containsKey(entityData.getUUIDGrave())
-                ? plugin.getCacheManager().getGraveMap().get(entityData.getUUIDGrave()) : null;
+        return entityData != null ? plugin.getCacheManager().getGraveMap().get(entityData.getUUIDGrave()) : null;
     }
 
     /**
@@ -101,7 +115,19 @@ public class EntityDataManager {
      * @return the grave, or null if not found.
      */
     public Grave getGrave(Entity entity) {
-        return getGrave(entity.getLocation(), entity.getUniqueId());
+        // One hash lookup by entity UUID, entity events call this for every entity on the server
+        EntityData entityData = plugin.getCacheManager().getGravePartIndex().getEntityData(entity.getUniqueId());
+
+        if (entityData == null) {
+            return null;
+        }
+
+        // Entities spawned before the marker existed pick it up the first time they are resolved
+        if (plugin.getServer().isPrimaryThread() && !isMarkedEntity(entity)) {
+            markEntity(entity);
+        }
+
+        return plugin.getCacheManager().getGraveMap().get(entityData.getUUIDGrave());
     }
 
     /**
@@ -122,15 +148,12 @@ public class EntityDataManager {
     public List<EntityData> getLoadedEntityDataList(Grave grave) {
         List<EntityData> entityDataList = new ArrayList<>();
 
-        for (Map.Entry<String, ChunkData> chunkDataEntry : plugin.getCacheManager().getChunkMap().entrySet()) {
-            ChunkData chunkData = chunkDataEntry.getValue();
+        for (EntityData entityData : plugin.getCacheManager().getGravePartIndex().getEntityDataList(grave.getUUID())) {
+            Location location = entityData.getLocation();
 
-            if (chunkData.isLoaded()) {
-                for (EntityData entityData : new ArrayList<>(chunkData.getEntityDataMap().values())) {
-                    if (entityData != null && grave.getUUID().equals(entityData.getUUIDGrave())) {
-                        entityDataList.add(entityData);
-                    }
-                }
+            if (location.getWorld() != null && location.getWorld()
+                    .isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)) {
+                entityDataList.add(entityData);
             }
         }
 
@@ -1074,6 +1074,7 @@ public final class EntityManager extends EntityDataManager {
 
                         ArmorStand armorStand = location.getWorld().spawn(location, ArmorStand.class);
 
+                        markEntity(armorStand);
                         createEntityData(location, armorStand.getUniqueId(), grave.getUUID(),
                                 EntityData.Type.ARMOR_STAND);
 
@@ -1169,6 +1170,7 @@ public final class EntityManager extends EntityDataManager {
                             itemFrame.getScoreboardTags().add("graveItemFrameUUID:" + grave.getUUID());
                         }
 
+                        markEntity(itemFrame);
                         createEntityData(location, itemFrame.getUniqueId(), grave.getUUID(),
                                 EntityData.Type.ITEM_FRAME);
                     }
@@ -1,7 +1,6 @@
 package com.ranull.graves.manager;
 
 import com.ranull.graves.Graves;
-import com.ranull.graves.compatibility.CompatibilityInventoryView;
 import com.ranull.graves.integration.MiniMessage;
 import com.ranull.graves.inventory.GraveList;
 import com.ranull.graves.inventory.GraveMenu;
@@ -10,19 +9,40 @@ import com.ranull.graves.util.InventoryUtil;
 import com.ranull.graves.util.StringUtil;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Entity;
+import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.InventoryHolder;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The GUIManager class is responsible for managing the graphical user interfaces related to graves.
+ * <p>
+ * Open grave lists are registered by the owner they list and open grave menus by their grave, so refreshing and
+ * closing only visit the menus that are actually open. A refresh only renders a slot again when the inputs it was
+ * rendered from have changed.
+ * </p>
  */
 public final class GUIManager {
     private final Graves plugin;
 
+    /**
+     * A map of grave owner UUIDs to the grave lists open for them.
+     */
+    private final Map<UUID, Set<GraveList>> graveListMap;
+
+    /**
+     * A map of grave UUIDs to the grave menus open for them.
+     */
+    private final Map<UUID, Set<GraveMenu>> graveMenuMap;
+
     /**
      * Initializes a new instance of the GUIManager class.
      *
@@ -30,6 +50,8 @@ public final class GUIManager {
      */
     public GUIManager(Graves plugin) {
         this.plugin = plugin;
+        this.graveListMap = new ConcurrentHashMap<>();
+        this.graveMenuMap = new ConcurrentHashMap<>();
     }
 
     /**
@@ -72,26 +94,73 @@ public final class GUIManager {
     }
 
     /**
-     * Refreshes the menus for all online players.
+     * Refreshes every open grave list and grave menu.
      */
-    @SuppressWarnings("ConstantConditions")
     public void refreshMenus() {
         if (plugin.isEnabled()) {
-            for (Player player : plugin.getServer().getOnlinePlayers()) {
-                InventoryView openInventory = player.getOpenInventory();
-                if (openInventory != null) { // Mohist might return null even when Bukkit shouldn't.
-                    Inventory topInventory = CompatibilityInventoryView.getTopInventory(openInventory);
-
-                    if (topInventory.getHolder() instanceof GraveList) {
-                        setGraveListItems(topInventory, ((GraveList) topInventory.getHolder()).getUUID());
-                    } else if (topInventory.getHolder() instanceof GraveMenu) {
-                        setGraveMenuItems(topInventory, ((GraveMenu) topInventory.getHolder()).getGrave());
-                    }
+            for (Set<GraveList> graveListSet : graveListMap.values()) {
+                for (GraveList graveList : graveListSet) {
+                    refreshGraveList(graveList);
+                }
+            }
+
+            for (Set<GraveMenu> graveMenuSet : graveMenuMap.values()) {
+                for (GraveMenu graveMenu : graveMenuSet) {
+                    refreshGraveMenu(graveMenu);
                 }
             }
         }
     }
 
+    /**
+     * Refreshes the open grave lists of an owner.
+     *
+     * @param uuid The UUID of the grave owner.
+     */
+    public void refreshGraveLists(UUID uuid) {
+        Set<GraveList> graveListSet = graveListMap.get(uuid);
+
+        if (graveListSet != null) {
+            for (GraveList graveList : graveListSet) {
+                refreshGraveList(graveList);
+            }
+        }
+    }
+
+    /**
+     * Closes the open grave menus of a grave.
+     *
+     * @param grave The grave.
+     */
+    public void closeGraveMenus(Grave grave) {
+        Set<GraveMenu> graveMenuSet = graveMenuMap.remove(grave.getUUID());
+
+        if (graveMenuSet != null) {
+            for (GraveMenu graveMenu : graveMenuSet) {
+                for (HumanEntity humanEntity : new ArrayList<>(graveMenu.getInventory().getViewers())) {
+                    humanEntity.closeInventory();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops tracking a grave list or grave menu, called when its inventory is closed.
+     *
+     * @param inventoryHolder The holder of the closed inventory.
+     */
+    public void removeViewer(InventoryHolder inventoryHolder) {
+        if (inventoryHolder instanceof GraveList) {
+            GraveList graveList = (GraveList) inventoryHolder;
+
+            removeFromMap(graveListMap, graveList.getUUID(), graveList);
+        } else if (inventoryHolder instanceof GraveMenu) {
+            GraveMenu graveMenu = (GraveMenu) inventoryHolder;
+
+            removeFromMap(graveMenuMap, graveMenu.getGrave().getUUID(), graveMenu);
+        }
+    }
+
     /**
      * Opens the grave list for an entity based on a UUID with a sound option.
      *
@@ -103,28 +172,30 @@ public final class GUIManager {
         if (entity instanceof Player) {
             Player player = (Player) entity;
             List<String> permissionList = plugin.getPermissionList(player);
-            List<Grave> playerGraveList = plugin.getGraveManager().getGraveList(uuid);
+            // One grave past the first page tells whether the list needs page controls
+            List<Grave> playerGraveList = plugin.getGraveManager().getGraveList(uuid, 0, GraveList.PAGE_SIZE + 1);
 
             if (!playerGraveList.isEmpty()) {
-                GraveList graveList = new GraveList(uuid, playerGraveList);
+                boolean paged = playerGraveList.size() > GraveList.PAGE_SIZE;
+                int size = InventoryUtil.getInventorySize(paged ? GraveList.SLOT_NEXT + 1 : playerGraveList.size());
+                GraveList graveList = new GraveList(uuid, playerGraveList, paged);
                 Inventory inventory;
                 if (plugin.getIntegrationManager().hasMiniMessage()) {
                     String guiTitle = StringUtil.parseString(plugin.getConfig("gui.menu.list.title", player, permissionList)
                             .getString("gui.menu.list.title", "Graves Main Menu"), player, plugin);
                     String guiNew = MiniMessage.convertLegacyToMiniMessage(guiTitle);
-                    inventory = plugin.getServer().createInventory(graveList,
-                            InventoryUtil.getInventorySize(playerGraveList.size()),
+                    inventory = plugin.getServer().createInventory(graveList, size,
                             MiniMessage.parseString(guiNew));
                 } else {
-                    inventory = plugin.getServer().createInventory(graveList,
-                            InventoryUtil.getInventorySize(playerGraveList.size()),
+                    inventory = plugin.getServer().createInventory(graveList, size,
                             StringUtil.parseString(plugin.getConfig("gui.menu.list.title", player, permissionList)
                                     .getString("gui.menu.list.title", "Graves Main Menu"), player, plugin));
                 }
 
-                setGraveListItems(inventory, playerGraveList);
                 graveList.setInventory(inventory);
+                renderGraveList(graveList);
                 player.openInventory(graveList.getInventory());
+                graveListMap.computeIfAbsent(uuid, key -> ConcurrentHashMap.newKeySet()).add(graveList);
 
                 if (sound) {
                     plugin.getEntityManager().playPlayerSound("sound.menu-open", player, permissionList);
@@ -194,9 +265,10 @@ public final class GUIManager {
             }
             Inventory inventory = plugin.getServer().createInventory(graveMenu, InventoryUtil.getInventorySize(5), title);
 
-            setGraveMenuItems(inventory, grave);
             graveMenu.setInventory(inventory);
+            renderGraveMenu(graveMenu, true);
             player.openInventory(graveMenu.getInventory());
+            graveMenuMap.computeIfAbsent(grave.getUUID(), key -> ConcurrentHashMap.newKeySet()).add(graveMenu);
 
             if (sound) {
                 plugin.getEntityManager().playPlayerSound("sound.menu-open", player, grave);
@@ -230,4 +302,249 @@ public final class GUIManager {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Refreshes a grave list, only replacing the slots whose grave or render state changed.
+     *
+     * @param graveList The grave list.
+     */
+    public void refreshGraveList(GraveList graveList) {
+        if (graveList.getInventory().getViewers().isEmpty()) {
+            removeFromMap(graveListMap, graveList.getUUID(), graveList);
+        } else {
+            renderGraveList(graveList);
+        }
+    }
+
+    /**
+     * Moves a paged grave list to another page, rendering only the graves on that page.
+     *
+     * @param graveList The grave list.
+     * @param page      The page, starting at 0.
+     */
+    public void setGraveListPage(GraveList graveList, int page) {
+        if (graveList.isPaged() && page >= 0 && page != graveList.getPage()) {
+            graveList.setPage(page);
+            renderGraveList(graveList);
+        }
+    }
+
+    /**
+     * Refreshes a grave menu, only replacing the slots whose render state changed.
+     *
+     * @param graveMenu The grave menu.
+     */
+    public void refreshGraveMenu(GraveMenu graveMenu) {
+        if (graveMenu.getInventory().getViewers().isEmpty()) {
+            removeFromMap(graveMenuMap, graveMenu.getGrave().getUUID(), graveMenu);
+        } else {
+            renderGraveMenu(graveMenu, false);
+        }
+    }
+
+    /**
+     * Renders the changed slots of the page a grave list shows.
+     *
+     * @param graveList The grave list.
+     */
+    private void renderGraveList(GraveList graveList) {
+        Inventory inventory = graveList.getInventory();
+        List<Grave> pageGraveList = plugin.getGraveManager().getGraveList(graveList.getUUID(),
+                graveList.getPage() * GraveList.PAGE_SIZE, GraveList.PAGE_SIZE + 1);
+
+        // Graves were removed while the list was open, fall back to the last page that still has graves
+        while (pageGraveList.isEmpty() && graveList.getPage() > 0) {
+            graveList.setPage(graveList.getPage() - 1);
+            pageGraveList = plugin.getGraveManager().getGraveList(graveList.getUUID(),
+                    graveList.getPage() * GraveList.PAGE_SIZE, GraveList.PAGE_SIZE + 1);
+        }
+
+        boolean hasNext = pageGraveList.size() > GraveList.PAGE_SIZE;
+
+        if (hasNext) {
+            pageGraveList = new ArrayList<>(pageGraveList.subList(0, GraveList.PAGE_SIZE));
+        }
+
+        int offset = graveList.getPage() * GraveList.PAGE_SIZE;
+        int size = graveList.isPaged() ? GraveList.PAGE_SIZE : inventory.getSize();
+
+        graveList.setGraveList(pageGraveList);
+
+        for (int slot = 0; slot < size; slot++) {
+            if (slot < pageGraveList.size()) {
+                Grave grave = pageGraveList.get(slot);
+                int number = offset + slot + 1;
+                long state = getRenderState(grave, number, graveList.isDynamic());
+                Long oldState = graveList.getSlotState(slot);
+
+                if (oldState == null || oldState != state) {
+                    inventory.setItem(slot, plugin.getItemStackManager().createGraveListItemStack(number, grave));
+
+                    if (!graveList.isDynamic() && (isDynamic("gui.menu.list.name", grave)
+                            || isDynamic("gui.menu.list.lore", grave))) {
+                        graveList.setDynamic(true);
+                        state = getRenderState(grave, number, true);
+                    }
+
+                    graveList.setSlotState(slot, state);
+                }
+            } else if (graveList.getSlotState(slot) != null) {
+                inventory.setItem(slot, null);
+                graveList.removeSlotState(slot);
+            }
+        }
+
+        if (graveList.isPaged() && !pageGraveList.isEmpty()) {
+            renderPageControl(graveList, GraveList.SLOT_PREVIOUS, graveList.getPage() > 0, false,
+                    pageGraveList.get(0));
+            renderPageControl(graveList, GraveList.SLOT_NEXT, hasNext, true, pageGraveList.get(0));
+        }
+    }
+
+    /**
+     * Shows or hides a page control of a grave list.
+     *
+     * @param graveList The grave list.
+     * @param slot      The slot of the control.
+     * @param visible   Whether the control should be shown.
+     * @param next      True for the next page control, false for the previous page control.
+     * @param grave     A grave on the page, used to resolve the config.
+     */
+    private void renderPageControl(GraveList graveList, int slot, boolean visible, boolean next, Grave grave) {
+        if (visible && graveList.getSlotState(slot) == null) {
+            graveList.getInventory().setItem(slot, plugin.getItemStackManager()
+                    .createGraveListPageItemStack(next, grave));
+            graveList.setSlotState(slot, 0);
+        } else if (!visible && graveList.getSlotState(slot) != null) {
+            graveList.getInventory().setItem(slot, null);
+            graveList.removeSlotState(slot);
+        }
+    }
+
+    /**
+     * Renders the changed slots of a grave menu.
+     *
+     * @param graveMenu The grave menu.
+     * @param load      True to read the enabled slots from the config, false to refresh the slots already rendered.
+     */
+    private void renderGraveMenu(GraveMenu graveMenu, boolean load) {
+        Grave grave = graveMenu.getGrave();
+        Inventory inventory = graveMenu.getInventory();
+
+        if (load) {
+            List<Integer> slotList = new ArrayList<>();
+            ConfigurationSection configurationSection = plugin.getConfig("gui.menu.grave.slot", grave)
+                    .getConfigurationSection("gui.menu.grave.slot");
+
+            if (configurationSection != null) {
+                for (String string : configurationSection.getKeys(false)) {
+                    try {
+                        int slot = Integer.parseInt(string);
+
+                        if (plugin.getConfig("gui.menu.grave.slot." + slot + ".enabled", grave)
+                                .getBoolean("gui.menu.grave.slot." + slot + ".enabled")) {
+                            inventory.setItem(slot, plugin.getItemStackManager().createGraveMenuItemStack(slot, grave));
+
+                            if (isDynamic("gui.menu.grave.slot." + slot + ".name", grave)
+                                    || isDynamic("gui.menu.grave.slot." + slot + ".lore", grave)) {
+                                graveMenu.setDynamic(true);
+                            }
+
+                            slotList.add(slot);
+                        }
+                    } catch (NumberFormatException exception) {
+                        plugin.debugMessage(string + " is not an int", 1);
+                    }
+                }
+            }
+
+            long state = getRenderState(grave, 0, graveMenu.isDynamic());
+
+            for (int slot : slotList) {
+                graveMenu.setSlotState(slot, state);
+            }
+        } else {
+            long state = getRenderState(grave, 0, graveMenu.isDynamic());
+
+            for (int slot : graveMenu.getSlotSet()) {
+                Long oldState = graveMenu.getSlotState(slot);
+
+                if (oldState == null || oldState != state) {
+                    inventory.setItem(slot, plugin.getItemStackManager().createGraveMenuItemStack(slot, grave));
+                    graveMenu.setSlotState(slot, state);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the render state of a grave, a value that changes whenever an input of its items changes.
+     * <p>
+     * Without time dependent placeholders the state only covers the grave itself, its number in a list, its
+     * protection and abandoned state, its item count and its experience. With them, the current second is included
+     * as well, the unit the remaining times are displayed in.
+     * </p>
+     *
+     * @param grave   The grave.
+     * @param number  The number of the grave in a list, or 0 in a grave menu.
+     * @param dynamic Whether the items show values that change with time.
+     * @return The render state.
+     */
+    private long getRenderState(Grave grave, int number, boolean dynamic) {
+        long state = grave.getUUID().getMostSignificantBits() ^ grave.getUUID().getLeastSignificantBits();
+
+        state = state * 31 + number;
+        state = state * 31 + (grave.getProtection() && grave.getTimeProtectionRemaining() != 0 ? 1 : 0);
+        state = state * 31 + (grave.isAbandoned() ? 1 : 0);
+        state = state * 31 + grave.getItemAmount();
+        state = state * 31 + grave.getExperience();
+
+        if (dynamic) {
+            state = state * 31 + System.currentTimeMillis() / 1000;
+        }
+
+        return state;
+    }
+
+    /**
+     * Checks if a configured item name or lore shows values that change with time.
+     *
+     * @param config The config path of the name or lore.
+     * @param grave  The grave the config is read for.
+     * @return True if the text uses time, distance or PlaceholderAPI placeholders, false otherwise.
+     */
+    private boolean isDynamic(String config, Grave grave) {
+        ConfigurationSection configurationSection = plugin.getConfig(config, grave);
+        List<String> stringList = configurationSection.isList(config) ? configurationSection.getStringList(config)
+                : Collections.singletonList(configurationSection.getString(config, ""));
+
+        for (String string : stringList) {
+            if (string.contains("%time_") || string.contains("%distance%") || string.contains("%teleport_cost%")
+                    || (plugin.getIntegrationManager().hasPlaceholderAPI() && string.indexOf('%') >= 0)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes a holder from a registry map, dropping the key once its set is empty.
+     *
+     * @param map    The registry map.
+     * @param uuid   The key.
+     * @param holder The holder.
+     * @param <T>    The holder type.
+     */
+    private <T> void removeFromMap(Map<UUID, Set<T>> map, UUID uuid, T holder) {
+        Set<T> holderSet = map.get(uuid);
+
+        if (holderSet != null) {
+            holderSet.remove(holder);
+
+            if (holderSet.isEmpty()) {
+                map.remove(uuid, holderSet);
+            }
+        }
+    }
+}
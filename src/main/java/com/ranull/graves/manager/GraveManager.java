@@ -5,6 +5,7 @@ import com.ranull.graves.compatibility.CompatibilityInventoryView;
 import com.ranull.graves.data.BlockData;
 import com.ranull.graves.data.ChunkData;
 import com.ranull.graves.data.EntityData;
+import com.ranull.graves.data.GraveExpiryQueue;
 import com.ranull.graves.data.HologramData;
 import com.ranull.graves.event.GraveAbandonedEvent;
 import com.ranull.graves.event.GraveAutoLootEvent;
@@ -20,6 +21,7 @@ import com.ranull.graves.util.MaterialUtil;
 import com.ranull.graves.util.StringUtil;
 import org.bukkit.*;
 import org.bukkit.block.Block;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.*;
 import org.bukkit.event.entity.EntityDamageEvent;
@@ -75,6 +77,33 @@ public final class GraveManager {
      */
     private void startGraveTimer() {
         plugin.getServer().getScheduler().runTaskTimer(plugin, this::checkAndUpdateGraves, 20L, 20L); // 10 ticks = 0.5 seconds
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::releaseIdleGraveContents, 1200L, 1200L); // 1200 ticks = 1 minute
+    }
+
+    /**
+     * Releases the decoded inventory and equipment of graves that have not been accessed for the configured idle time.
+     * Released contents are encoded again and decoded on next access.
+     */
+    private void releaseIdleGraveContents() {
+        long idleTime = plugin.getConfig().getLong("settings.cache.contents-idle-time", 300) * 1000;
+
+        if (idleTime < 0) {
+            return;
+        }
+
+        long time = System.currentTimeMillis();
+        int released = 0;
+
+        for (Grave grave : new ArrayList<>(plugin.getCacheManager().getGraveMap().values())) {
+            if (grave.isContentsLoaded() && time - grave.getTimeContentsAccess() >= idleTime
+                    && grave.releaseContents(plugin.getDataManager().getGraveContentsLoader())) {
+                released++;
+            }
+        }
+
+        if (released > 0) {
+            plugin.debugMessage("Released contents of " + released + " idle graves.", 2);
+        }
     }
 
     /**
@@ -88,44 +117,63 @@ public final class GraveManager {
         // Process Graves
         processGraves(graveRemoveList);
 
-        // Process Chunks
-        processChunks(entityDataRemoveList, blockDataRemoveList);
+        // Process Loaded Chunks
+        processLoadedChunks(entityDataRemoveList, blockDataRemoveList);
 
         // Remove expired graves, entities, and blocks
         removeExpiredElements(graveRemoveList, entityDataRemoveList, blockDataRemoveList);
     }
 
     /**
-     * Processes all graves to check their remaining time and protection status.
+     * Processes the graves whose lifetime or protection deadline is due.
+     * Graves with infinite time remaining are never queued, so they are not visited at all.
      *
      * @param graveRemoveList the list to which graves to be removed will be added.
      */
     private void processGraves(List<Grave> graveRemoveList) {
-        for (Grave grave : new ArrayList<>(plugin.getCacheManager().getGraveMap().values())) {
+        GraveExpiryQueue graveExpiryQueue = plugin.getCacheManager().getGraveExpiryQueue();
 
-            long remainingTime = grave.getTimeAliveRemaining();
+        for (GraveExpiryQueue.Entry entry : graveExpiryQueue.pollDue(System.currentTimeMillis())) {
+            Grave grave = plugin.getCacheManager().getGraveMap().get(entry.getGraveUUID());
 
-            // If the remaining time is -1, do not activate the event
-            if (remainingTime == -1) {
-                plugin.debugMessage("Grave " + grave.getUUID() + " has infinite time remaining, skipping timeout handling.", 2);
-                return;
+            if (grave == null) {
+                continue;
             }
 
             // Log the current state of the grave
-            plugin.debugMessage("Checking grave: " + grave.getUUID() + " with remaining time: " + remainingTime, 2);
+            plugin.debugMessage("Checking grave: " + grave.getUUID() + " with remaining time: "
+                    + grave.getTimeAliveRemaining(), 2);
 
-            // Check if the grave should be removed
-            if (remainingTime == 0) {
-                handleGraveTimeout(grave, graveRemoveList);
+            if (entry.getType() == GraveExpiryQueue.Type.LIFETIME) {
+                // Check if the grave should be removed
+                if (grave.getTimeAliveRemaining() == 0) {
+                    handleGraveTimeout(grave, graveRemoveList);
+                }
+            } else if (grave.getProtection() && grave.getTimeProtectionRemaining() == 0) {
+                // Handle grave protection timeout
+                toggleGraveProtection(grave);
             }
 
-            // Handle grave protection timeout
-            if (grave.getProtection() && grave.getTimeProtectionRemaining() == 0) {
-                toggleGraveProtection(grave);
+            // Pick up any change made while handling, a grave left due is checked again next run
+            if (!graveRemoveList.contains(grave)) {
+                graveExpiryQueue.schedule(grave);
             }
         }
     }
 
+    /**
+     * Reschedules the lifetime and protection deadlines of every cached grave.
+     */
+    public void rescheduleGraves() {
+        GraveExpiryQueue graveExpiryQueue = plugin.getCacheManager().getGraveExpiryQueue();
+
+        graveExpiryQueue.clear();
+
+        for (Grave grave : new ArrayList<>(plugin.getCacheManager().getGraveMap().values())) {
+            graveExpiryQueue.schedule(grave);
+        }
+    }
+
     /**
      * Handles the timeout of a grave by calling the GraveTimeoutEvent and removing the grave if not cancelled.
      *
@@ -221,24 +269,25 @@ public final class GraveManager {
     }
 
     /**
-     * Processes all chunks to handle entities and blocks within them.
+     * Processes the loaded grave chunks to handle entities and blocks within them.
+     * Only chunks in the loaded chunk set are visited, unloaded grave chunks cost nothing.
      *
      * @param entityDataRemoveList the list to which entity data to be removed will be added.
      * @param blockDataRemoveList the list to which block data to be removed will be added.
      */
-    private void processChunks(List<EntityData> entityDataRemoveList, List<BlockData> blockDataRemoveList) {
-        for (ChunkData chunkData : plugin.getCacheManager().getChunkMap().values()) {
-            if (!chunkData.isLoaded()) {
+    private void processLoadedChunks(List<EntityData> entityDataRemoveList, List<BlockData> blockDataRemoveList) {
+        for (String chunkString : new ArrayList<>(plugin.getCacheManager().getLoadedChunkSet())) {
+            ChunkData chunkData = plugin.getCacheManager().getChunkMap().get(chunkString);
+
+            if (chunkData == null) {
                 continue;
             }
 
-            Location location = new Location(chunkData.getWorld(), chunkData.getX() << 4, 0, chunkData.getZ() << 4);
-
             // Process Entity Data
-            processEntityData(chunkData, entityDataRemoveList, location);
+            processEntityData(new ArrayList<>(chunkData.getEntityDataMap().values()), entityDataRemoveList);
 
             // Process Block Data
-            processBlockData(chunkData, blockDataRemoveList);
+            processBlockData(new ArrayList<>(chunkData.getBlockDataMap().values()), blockDataRemoveList);
         }
     }
 
@@ -273,21 +322,22 @@ public final class GraveManager {
     }
 
     /**
-     * Processes the entity data within the given chunk.
+     * Processes entity data that sits in a loaded chunk.
      *
-     * @param chunkData          the data of the chunk being processed.
+     * @param entityDataList       the entity data being processed.
      * @param entityDataRemoveList the list to which entity data to be removed will be added.
-     * @param location           the location representing the chunk coordinates.
      */
-    private void processEntityData(ChunkData chunkData, List<EntityData> entityDataRemoveList, Location location) {
+    private void processEntityData(List<EntityData> entityDataList, List<EntityData> entityDataRemoveList) {
         try {
-            for (EntityData entityData : new ArrayList<>(chunkData.getEntityDataMap().values())) {
+            for (EntityData entityData : entityDataList) {
                 if (entityData == null) {
-                    plugin.debugMessage("Encountered null EntityData while processing chunk at coordinates: ("
-                            + chunkData.getX() + ", " + chunkData.getZ() + ").", 2);
                     continue;
                 }
 
+                Location location = new Location(entityData.getLocation().getWorld(),
+                        (entityData.getLocation().getBlockX() >> 4) << 4, 0,
+                        (entityData.getLocation().getBlockZ() >> 4) << 4);
+
                 if (entityData.getUUIDGrave() != null && plugin.getCacheManager().getGraveMap().containsKey(entityData.getUUIDGrave())) {
                     if (plugin.isEnabled() && entityData instanceof HologramData) {
                         processHologramData((HologramData) entityData, location, entityDataRemoveList);
@@ -337,14 +387,14 @@ public final class GraveManager {
     }
 
     /**
-     * Processes the block data within the given chunk.
+     * Processes block data that sits in a loaded chunk.
      *
-     * @param chunkData          the data of the chunk being processed.
+     * @param blockDataList       the block data being processed.
      * @param blockDataRemoveList the list to which block data to be removed will be added.
      */
-    private void processBlockData(ChunkData chunkData, List<BlockData> blockDataRemoveList) {
+    private void processBlockData(List<BlockData> blockDataList, List<BlockData> blockDataRemoveList) {
         try {
-            for (BlockData blockData : new ArrayList<>(chunkData.getBlockDataMap().values())) {
+            for (BlockData blockData : blockDataList) {
                 if (blockData.getLocation().getWorld() != null) {
                     if (plugin.getCacheManager().getGraveMap().containsKey(blockData.getGraveUUID())) {
                         graveParticle(blockData.getLocation(), plugin.getCacheManager().getGraveMap().get(blockData.getGraveUUID()));
@@ -389,6 +439,8 @@ public final class GraveManager {
         long protectionRemaining = grave.getTimeProtectionRemaining();
         grave.setProtection(!currentProtection);
         plugin.getDataManager().updateGrave(grave, "protection", grave.getProtection() ? 1 : 0);
+        updateProtectionRadius(grave);
+        plugin.getCacheManager().getGraveExpiryQueue().schedule(grave);
 
         if (protectionRemaining == -1) {
             plugin.debugMessage("Grave " + grave.getUUID() + " has infinite protection, skipping protection remaining handling.", 2);
@@ -406,6 +458,7 @@ public final class GraveManager {
                 plugin.debugMessage("GraveProtectionExpiredEvent called for grave: " + grave.getUUID(), 2);
                 plugin.getDataManager().updateGrave(grave, "protection", 1);
                 grave.setTimeProtection(-1);
+                plugin.getCacheManager().getGraveExpiryQueue().schedule(grave);
             } else if (!event.isCancelled() && !event.isAddon()) {
                 // Log the grave details
                 plugin.debugMessage("Grave protection expired for grave: " + grave.getUUID(), 1);
@@ -432,6 +485,7 @@ public final class GraveManager {
         plugin.getDataManager().updateGrave(grave, "experience", grave.getExperience());
         plugin.getDataManager().updateGrave(grave, "owner_name_display", grave.getOwnerDisplayName());
         plugin.getDataManager().updateGrave(grave, "is_abandoned", grave.isAbandoned() ? 1 : 0);
+        plugin.getCacheManager().getGraveExpiryQueue().schedule(grave);
         // plugin.getDataManager().loadGraveMap();
     }
 
@@ -445,17 +499,7 @@ public final class GraveManager {
         if (plugin.getVersionManager().hasParticle()
                 && location.getWorld() != null
                 && plugin.getConfig("particle.enabled", grave).getBoolean("particle.enabled")) {
-            Particle particle = Particle.valueOf(plugin.getVersionManager().getParticleForVersion("REDSTONE").toString());
-            String particleType = plugin.getConfig("particle.type", grave).getString("particle.type");
-
-            if (particleType != null && !particleType.equals("")) {
-                try {
-                    particle = Particle.valueOf(plugin.getConfig("particle.type", grave)
-                            .getString("particle.type"));
-                } catch (IllegalArgumentException ignored) {
-                    plugin.debugMessage(particleType + " is not a Particle ENUM", 1);
-                }
-            }
+            Particle particle = plugin.getConfigValue("particle.type", grave, Particle.class, this::getParticle);
 
             int count = plugin.getConfig("particle.count", grave).getInt("particle.count");
             double offsetX = plugin.getConfig("particle.offset.x", grave).getDouble("particle.offset.x");
@@ -469,8 +513,9 @@ public final class GraveManager {
                     case "REDSTONE":
                         int sizeInt = plugin.getConfig("particle.dust-size", grave).getInt("particle.dust-size");
                         float size = (float) sizeInt; // Convert to float
-                        Color color = ColorUtil.getColor(plugin.getConfig("particle.dust-color", grave)
-                                .getString("particle.dust-color", "RED"));
+                        Color color = plugin.getConfigValue("particle.dust-color", grave, Color.class,
+                                configurationSection -> ColorUtil.getColor(configurationSection
+                                        .getString("particle.dust-color", "RED")));
 
                         if (color == null) {
                             color = Color.RED;
@@ -498,6 +543,27 @@ public final class GraveManager {
         }
     }
 
+    /**
+     * Parses the particle type of a resolved config section, falling back to redstone dust.
+     *
+     * @param configurationSection the resolved config section.
+     * @return the particle.
+     */
+    private Particle getParticle(ConfigurationSection configurationSection) {
+        Particle particle = Particle.valueOf(plugin.getVersionManager().getParticleForVersion("REDSTONE").toString());
+        String particleType = configurationSection.getString("particle.type");
+
+        if (particleType != null && !particleType.equals("")) {
+            try {
+                particle = Particle.valueOf(particleType);
+            } catch (IllegalArgumentException ignored) {
+                plugin.debugMessage(particleType + " is not a Particle ENUM", 1);
+            }
+        }
+
+        return particle;
+    }
+
     /**
      * Removes the oldest grave.
      */
@@ -558,7 +624,7 @@ public final class GraveManager {
         }
 
         // Remove the grave from the cache
-        plugin.getCacheManager().getGraveMap().remove(grave.getUUID());
+        plugin.getCacheManager().removeGrave(grave.getUUID());
 
         plugin.debugMessage("Grave " + grave.getUUID() + " removed from cache", 1);
     }
@@ -610,7 +676,6 @@ public final class GraveManager {
      *
      * @param grave the grave to close inventories for.
      */
-    @SuppressWarnings("ConstantConditions")
     public void closeGrave(Grave grave) {
         List<HumanEntity> inventoryViewers = grave.getInventory().getViewers();
 
@@ -620,20 +685,7 @@ public final class GraveManager {
             plugin.debugMessage("Closing grave " + grave.getUUID() + " for " + humanEntity.getName(), 1);
         }
 
-        for (Player player : plugin.getServer().getOnlinePlayers()) {
-            if (player.getOpenInventory() != null) { // Mohist, might return null even when Bukkit shouldn't.
-                Inventory topInventory = CompatibilityInventoryView.getTopInventory(player.getOpenInventory());
-                InventoryHolder inventoryHolder = topInventory.getHolder();
-
-                if (inventoryHolder instanceof GraveMenu) {
-                    GraveMenu graveMenu = (GraveMenu) inventoryHolder;
-
-                    if (graveMenu.getGrave().getUUID().equals(grave.getUUID())) {
-                        player.closeInventory();
-                    }
-                }
-            }
-        }
+        plugin.getGUIManager().closeGraveMenus(grave);
     }
 
     /**
@@ -1033,19 +1085,47 @@ public final class GraveManager {
     }
 
     /**
-     * Retrieves a list of graves associated with a UUID.
+     * Retrieves a list of graves associated with a UUID, oldest first.
      *
      * @param uuid the UUID to retrieve the graves for.
      * @return the list of graves.
      */
     public List<Grave> getGraveList(UUID uuid) {
-        List<Grave> graveList = new ArrayList<>();
+        List<Grave> graveList = plugin.getCacheManager().getOwnerGraveList(uuid);
+
+        graveList.removeIf(Grave::isAbandoned);
+
+        return graveList;
+    }
+
+    /**
+     * Retrieves a page of the non-abandoned graves associated with a UUID, oldest first.
+     * <p>
+     * Only the graves up to the end of the page are visited, the owner's full grave list is not copied.
+     * </p>
+     *
+     * @param uuid   the UUID to retrieve the graves for.
+     * @param offset the number of graves to skip.
+     * @param limit  the maximum number of graves to return.
+     * @return the graves on the page.
+     */
+    public List<Grave> getGraveList(UUID uuid, int offset, int limit) {
+        List<Grave> graveList = new ArrayList<>(Math.min(limit, 64));
+        int index = 0;
+
+        for (Grave grave : plugin.getCacheManager().getOwnerGraves(uuid)) {
+            if (!grave.isAbandoned()) {
+                if (index >= offset) {
+                    graveList.add(grave);
 
-        plugin.getCacheManager().getGraveMap().forEach((key, value) -> {
-            if (!value.isAbandoned() && value.getOwnerUUID() != null && value.getOwnerUUID().equals(uuid)) {
-                graveList.add(value);
+                    if (graveList.size() >= limit) {
+                        break;
+                    }
+                }
+
+                index++;
             }
-        });
+        }
 
         return graveList;
     }
@@ -1057,7 +1137,15 @@ public final class GraveManager {
      * @return the number of graves.
      */
     public int getGraveCount(Entity entity) {
-        return getGraveList(entity).size();
+        int count = 0;
+
+        for (Grave grave : plugin.getCacheManager().getOwnerGraveList(entity.getUniqueId())) {
+            if (!grave.isAbandoned()) {
+                count++;
+            }
+        }
+
+        return count;
     }
 
     /**
@@ -1087,6 +1175,13 @@ public final class GraveManager {
 
             plugin.getEntityManager().swingMainHand(player);
 
+            if (grave.isContentsUnreadable()) {
+                plugin.getEntityManager().sendMessage("message.unreadable", player, location, grave);
+                plugin.debugMessage("Grave " + grave.getUUID() + " not opened, its inventory could not be decoded", 1);
+
+                return true;
+            }
+
             if (plugin.getEntityManager().canOpenGrave(player, grave)) {
                 cleanupCompasses(player, grave);
 
@@ -1150,6 +1245,8 @@ public final class GraveManager {
                 player.getInventory().remove(entry.getKey());
             }
         }
+
+        plugin.getCompassManager().removeCompass(player.getUniqueId(), grave.getUUID());
     }
 
     /**
@@ -1209,7 +1306,7 @@ public final class GraveManager {
      * @param grave    the grave to be looted.
      */
     public void autoLootGrave(Entity entity, Location location, Grave grave) {
-        if (entity instanceof Player) {
+        if (entity instanceof Player && !grave.isContentsUnreadable()) {
             Player player = (Player) entity;
             Grave.StorageMode storageMode = getStorageMode(plugin.getConfig("storage.mode", grave)
                     .getString("storage.mode"));
@@ -1290,6 +1387,9 @@ public final class GraveManager {
 
     /**
      * Checks if the given location is within configured blocks of any grave.
+     * <p>
+     * Only the chunk buckets of the protection index that the largest protection radius can reach are inspected.
+     * </p>
      *
      * @param location The location to check.
      * @param player   Optional player to consider for additional logic.
@@ -1297,31 +1397,57 @@ public final class GraveManager {
      * @return True if the location is within configured blocks of any grave, false otherwise.
      */
     public boolean isNearGrave(Location location, Player player, Block block) {
-        try {
-            for (Grave grave : plugin.getCacheManager().getGraveMap().values()) {
-                Location graveLocation;
-                if (player != null) {
-                    graveLocation = plugin.getGraveManager().getGraveLocation(player.getLocation(), grave);
-                } else if (block != null) {
-                    graveLocation = plugin.getGraveManager().getGraveLocation(block.getLocation(), grave);
-                } else {
-                    graveLocation = plugin.getGraveManager().getGraveLocation(location, grave);
-                }
+        return plugin.getCacheManager().getProtectionIndex().isNearGrave(location);
+    }
 
-                if (graveLocation != null && graveLocation.getWorld().equals(location.getWorld())) {
-                    int protectionRadius = plugin.getConfig("grave.protection-radius", grave).getInt("grave.protection-radius");
-                    if (protectionRadius > 0) {
-                        double squaredRadius = protectionRadius * protectionRadius;
-                        if (location.distanceSquared(graveLocation) <= squaredRadius) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        } catch (Exception ignored) {
-            // Handle errors gracefully, such as location in a different world
+    /**
+     * Checks if a location may hold grave parts that are not cached yet.
+     * <p>
+     * While the data manager is still loading, block and entity lookups can miss grave parts that exist. Graves are
+     * loaded first, so any location in or next to a chunk holding a known grave is treated as a grave part until
+     * loading has finished.
+     * </p>
+     *
+     * @param location The location to check.
+     * @return True if the location is near a grave whose parts may still be loading, false otherwise.
+     */
+    public boolean isGraveDataPending(Location location) {
+        return !plugin.getDataManager().isReady()
+                && plugin.getCacheManager().getProtectionIndex().isNearGraveChunk(location);
+    }
+
+    /**
+     * Checks if a block may be a grave block that is not cached yet.
+     * <p>
+     * Until the grave map itself is loaded, {@link #isGraveDataPending(Location)} knows of no graves, so every skull,
+     * the block graves are placed as, is also treated as a possible grave block until loading has finished.
+     * </p>
+     *
+     * @param block The block to check.
+     * @return True if the block may belong to a grave that is still loading, false otherwise.
+     */
+    public boolean isGraveBlockPending(Block block) {
+        return !plugin.getDataManager().isReady()
+                && (MaterialUtil.isSkull(block.getType()) || isGraveDataPending(block.getLocation()));
+    }
+
+    /**
+     * Re-resolves the protection radius of a grave and updates the protection index.
+     *
+     * @param grave the grave to update.
+     */
+    public void updateProtectionRadius(Grave grave) {
+        plugin.getCacheManager().getProtectionIndex().setRadius(grave.getUUID(),
+                plugin.getDataManager().getProtectionRadius(grave));
+    }
+
+    /**
+     * Re-resolves the protection radius of every cached grave, used after the configuration is reloaded.
+     */
+    public void updateProtectionRadius() {
+        for (Grave grave : new ArrayList<>(plugin.getCacheManager().getGraveMap().values())) {
+            updateProtectionRadius(grave);
         }
-        return false;
     }
 
     /**
@@ -97,6 +97,8 @@ public final class HologramManager extends EntityDataManager {
                         armorStand.getScoreboardTags().add("graveHologramGraveUUID:" + grave.getUUID());
                     }
 
+                    markEntity(armorStand);
+
                     HologramData hologramData = new HologramData(location, armorStand.getUniqueId(),
                             grave.getUUID(), lineNumber);
 
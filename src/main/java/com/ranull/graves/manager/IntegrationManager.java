@@ -311,6 +311,10 @@ public final class IntegrationManager {
         if (citizensNPC != null) {
             citizensNPC.unregisterListeners();
         }
+
+        if (luckPermsHandler != null) {
+            luckPermsHandler.unregisterListeners();
+        }
     }
 
     /**
@@ -1142,6 +1146,7 @@ public final class IntegrationManager {
             try {
                 if (luckPermsPlugin != null && luckPermsPlugin.isEnabled()) {
                     luckPermsHandler = new LuckPermsHandler();
+                    luckPermsHandler.registerListeners(plugin, plugin.getPermissionManager()::invalidateProfile);
                     plugin.integrationMessage("Hooked into " + luckPermsPlugin.getName() + " " + luckPermsPlugin.getDescription().getVersion() + ".");
                 }
             } catch (IllegalArgumentException exception) {
@@ -311,6 +311,37 @@ public final class ItemStackManager extends EntityDataManager {
         return itemStack;
     }
 
+    /**
+     * Creates the ItemStack used to move to the previous or next page of a grave list.
+     *
+     * @param next  True for the next page control, false for the previous page control.
+     * @param grave A grave on the page, used to resolve the config.
+     * @return The created ItemStack.
+     */
+    public ItemStack createGraveListPageItemStack(boolean next, Grave grave) {
+        String config = next ? "gui.menu.list.page.next" : "gui.menu.list.page.previous";
+        Material material = Material.matchMaterial(plugin.getConfig("gui.menu.list.page.material", grave)
+                .getString("gui.menu.list.page.material", "ARROW"));
+
+        if (material == null) {
+            material = Material.ARROW;
+        }
+
+        ItemStack itemStack = new ItemStack(material);
+
+        if (itemStack.getItemMeta() != null) {
+            ItemMeta itemMeta = itemStack.getItemMeta();
+            String name = StringUtil.parseString("&f" + plugin.getConfig(config, grave)
+                    .getString(config, next ? "Next Page" : "Previous Page"), grave, plugin);
+
+            itemMeta.setDisplayName(plugin.getIntegrationManager().hasMiniMessage()
+                    ? MiniMessage.parseString(name) : name);
+            itemStack.setItemMeta(itemMeta);
+        }
+
+        return itemStack;
+    }
+
     /**
      * Creates an ItemStack for a grave menu slot.
      *
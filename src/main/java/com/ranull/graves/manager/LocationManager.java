@@ -1,6 +1,7 @@
 package com.ranull.graves.manager;
 
 import com.ranull.graves.Graves;
+import com.ranull.graves.data.LocationHistory;
 import com.ranull.graves.type.Grave;
 import com.ranull.graves.util.LocationUtil;
 import com.ranull.graves.util.MaterialUtil;
@@ -38,36 +39,83 @@ public final class LocationManager {
     }
 
     /**
-     * Sets the last solid location of an entity.
+     * Records a recent location of an entity.
+     * <p>
+     * Samples are rate limited by {@link LocationHistory#SAMPLE_INTERVAL} and are not checked for safety here, that
+     * is left to {@link #getLastSolidLocation(Entity)}. Only the sample a new one pushes out of the history is
+     * checked, and kept as the fallback if it is usable.
+     * </p>
      *
      * @param entity   The entity.
-     * @param location The location.
+     * @param location The location, stored without copying.
      */
-    public void setLastSolidLocation(Entity entity, Location location) {
-        plugin.getCacheManager().getLastLocationMap().put(entity.getUniqueId(), location);
+    public void addLocationSample(Entity entity, Location location) {
+        LocationHistory locationHistory = plugin.getCacheManager().getLocationHistoryMap()
+                .computeIfAbsent(entity.getUniqueId(), uuid -> new LocationHistory());
+        Location evictedLocation = locationHistory.getEvictedLocation();
+
+        if (locationHistory.addLocation(location, System.currentTimeMillis()) && evictedLocation != null
+                && isSolidLocation(entity, evictedLocation)) {
+            locationHistory.setValidatedLocation(evictedLocation);
+        }
     }
 
     /**
      * Gets the last solid location of an entity.
+     * <p>
+     * The recorded samples are checked newest first, the first one in the entity's world that is inside the border,
+     * has a solid block below it and is safe for a player is returned. If none is, the newest sample found usable as
+     * it left the history is checked again and returned if it still is.
+     * </p>
      *
      * @param entity The entity.
-     * @return The last solid location.
+     * @return A copy of the last solid location, or null if none of the samples is usable.
      */
     public Location getLastSolidLocation(Entity entity) {
-        Location location = plugin.getCacheManager().getLastLocationMap().get(entity.getUniqueId());
+        LocationHistory locationHistory = plugin.getCacheManager().getLocationHistoryMap().get(entity.getUniqueId());
+
+        if (locationHistory != null) {
+            for (int i = 0; i < locationHistory.size(); i++) {
+                Location location = locationHistory.getLocation(i);
+
+                if (location != null && isSolidLocation(entity, location)) {
+                    return location.clone();
+                }
+            }
+
+            Location validatedLocation = locationHistory.getValidatedLocation();
 
-        return location != null && location.getWorld() != null
+            if (validatedLocation != null && isSolidLocation(entity, validatedLocation)) {
+                return validatedLocation.clone();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Checks if a recorded location is usable as a grave location for an entity.
+     *
+     * @param entity   The entity.
+     * @param location The location.
+     * @return True if the location is in the entity's world, inside the border, above a solid block and safe for a
+     * player, false otherwise.
+     */
+    private boolean isSolidLocation(Entity entity, Location location) {
+        return location.getWorld() != null
                 && location.getWorld().equals(entity.getWorld())
-                && location.getBlock().getRelative(BlockFace.DOWN).getType().isSolid() ? location : null;
+                && isInsideBorder(location)
+                && location.getBlock().getRelative(BlockFace.DOWN).getType().isSolid()
+                && isLocationSafePlayer(location);
     }
 
     /**
-     * Removes the last solid location of an entity.
+     * Removes the recorded locations of an entity.
      *
      * @param entity The entity.
      */
-    public void removeLastSolidLocation(Entity entity) {
-        plugin.getCacheManager().getLastLocationMap().remove(entity.getUniqueId());
+    public void removeLocationHistory(Entity entity) {
+        plugin.getCacheManager().getLocationHistoryMap().remove(entity.getUniqueId());
     }
 
     /**
@@ -439,8 +487,8 @@ public final class LocationManager {
      */
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
     public boolean hasGrave(Location location) {
-        return plugin.getDataManager().hasChunkData(location)
-                && plugin.getDataManager().getChunkData(location).getBlockDataMap().containsKey(location);
+        return location.getWorld() != null && plugin.getBlockManager().getBlockData(location.getWorld(),
+                location.getBlockX(), location.getBlockY(), location.getBlockZ()) != null;
     }
 
     /**
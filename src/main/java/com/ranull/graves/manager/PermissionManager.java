@@ -0,0 +1,246 @@
+package com.ranull.graves.manager;
+
+import com.ranull.graves.Graves;
+import com.ranull.graves.data.PermissionProfile;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+import org.bukkit.permissions.PermissionAttachmentInfo;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manages the cached permission profiles of online players.
+ * <p>
+ * Profiles are built when a player joins and read on every permission check afterwards. They expire after
+ * {@code settings.cache.permission-time} seconds. With LuckPerms they are also dropped as soon as LuckPerms
+ * recalculates the player's data or the player's context changes.
+ * </p>
+ */
+public final class PermissionManager {
+    /**
+     * The permissions resolved up front when a profile is built, the ones checked on deaths, respawns, grave
+     * interaction and teleports.
+     */
+    private static final List<String> PROFILE_PERMISSIONS = Arrays.asList("graves.place", "graves.experience",
+            "graves.keepinventory.bypass", "essentials.keepinv", "graves.max.replace", "graves.max.bypass",
+            "graves.potion-effect", "graves.open", "graves.autoloot", "graves.bypass", "graves.teleport",
+            "graves.teleport.bypass", "graves.teleport.delay-bypass");
+
+    /**
+     * The highest numbered {@code grave.max.limit.*} permission that is checked.
+     */
+    private static final int MAX_GRAVES_LIMIT = 10;
+
+    /**
+     * The main plugin instance associated with Graves.
+     * <p>
+     * This {@link Graves} instance represents the core plugin that this Graves is part of. It provides access
+     * to the plugin's functionality, configuration, and other services.
+     * </p>
+     */
+    private final Graves plugin;
+
+    /**
+     * A map of player UUIDs to their permission profile.
+     */
+    private final Map<UUID, PermissionProfile> profileMap;
+
+    /**
+     * Initializes a new instance of the PermissionManager class.
+     *
+     * @param plugin The plugin instance.
+     */
+    public PermissionManager(Graves plugin) {
+        this.plugin = plugin;
+        this.profileMap = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Builds and caches the permission profile of a player.
+     *
+     * @param player The player.
+     */
+    public void loadProfile(Player player) {
+        profileMap.put(player.getUniqueId(), createProfile(player));
+    }
+
+    /**
+     * Gets the permission profile of a player, building it if it is missing or expired.
+     *
+     * @param player The player.
+     * @return The permission profile.
+     */
+    public PermissionProfile getProfile(Player player) {
+        PermissionProfile permissionProfile = profileMap.get(player.getUniqueId());
+
+        if (permissionProfile == null || isExpired(permissionProfile)) {
+            permissionProfile = createProfile(player);
+
+            if (player.isOnline()) {
+                profileMap.put(player.getUniqueId(), permissionProfile);
+            }
+        }
+
+        return permissionProfile;
+    }
+
+    /**
+     * Checks if a player has a permission, using the cached grant when there is one.
+     *
+     * @param permission The permission.
+     * @param player     The player.
+     * @return True if the player has the permission, false otherwise.
+     */
+    public boolean hasPermission(String permission, Player player) {
+        PermissionProfile permissionProfile = getProfile(player);
+        Boolean hasPermission = permissionProfile.getGrant(permission);
+
+        if (hasPermission == null) {
+            hasPermission = checkPermission(permission, player);
+            permissionProfile.setGrant(permission, hasPermission);
+        }
+
+        return hasPermission;
+    }
+
+    /**
+     * Removes the cached permission profile of a player.
+     *
+     * @param uuid The UUID of the player.
+     */
+    public void invalidateProfile(UUID uuid) {
+        profileMap.remove(uuid);
+    }
+
+    /**
+     * Removes every cached permission profile.
+     */
+    public void clearProfiles() {
+        profileMap.clear();
+    }
+
+    /**
+     * Builds the permission profile of a player.
+     *
+     * @param player The player.
+     * @return The permission profile.
+     */
+    private PermissionProfile createProfile(Player player) {
+        Map<String, Boolean> grantMap = new HashMap<>();
+
+        for (String permission : PROFILE_PERMISSIONS) {
+            grantMap.put(permission, checkPermission(permission, player));
+        }
+
+        return new PermissionProfile(createPermissionList(player), createMaxGraves(player, grantMap), grantMap);
+    }
+
+    /**
+     * Builds the ordered {@code graves.permission.*} list of a player.
+     *
+     * @param player The player.
+     * @return The permission names that have a config section, in config order.
+     */
+    private List<String> createPermissionList(Player player) {
+        Set<String> permissionSet = new HashSet<>();
+        List<String> permissionListSorted = new ArrayList<>();
+
+        for (PermissionAttachmentInfo permissionAttachmentInfo : player.getEffectivePermissions()) {
+            if (permissionAttachmentInfo.getPermission().startsWith("graves.permission.")) {
+                String permission = permissionAttachmentInfo.getPermission()
+                        .replace("graves.permission.", "").toLowerCase();
+
+                if (plugin.getConfig().isConfigurationSection("settings.permission." + permission)) {
+                    permissionSet.add(permission);
+                }
+            }
+        }
+
+        ConfigurationSection configurationSection = plugin.getConfig().getConfigurationSection("settings.permission");
+
+        if (configurationSection != null && !permissionSet.isEmpty()) {
+            for (String permission : configurationSection.getKeys(false)) {
+                if (permissionSet.contains(permission)) {
+                    permissionListSorted.add(permission);
+                }
+            }
+        }
+
+        return permissionListSorted;
+    }
+
+    /**
+     * Resolves the max graves limit of a player.
+     *
+     * @param player   The player.
+     * @param grantMap The grant map the checked permissions are added to.
+     * @return {@link Integer#MAX_VALUE} for unlimited graves, the highest granted limit, or 0 if none is set.
+     */
+    private int createMaxGraves(Player player, Map<String, Boolean> grantMap) {
+        boolean unlimited = checkPermission("grave.max.limit.unlimited", player);
+
+        grantMap.put("grave.max.limit.unlimited", unlimited);
+
+        if (unlimited) {
+            return Integer.MAX_VALUE;
+        }
+
+        for (int i = MAX_GRAVES_LIMIT; i >= 0; i--) {
+            String permission = "grave.max.limit." + i;
+
+            if (checkPermission(permission, player)) {
+                grantMap.put(permission, true);
+
+                return i;
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Checks if a profile has expired.
+     * <p>
+     * The expiry also applies while LuckPerms is present, as a backstop for changes its events do not report.
+     * </p>
+     *
+     * @param permissionProfile The permission profile.
+     * @return True if the profile should be rebuilt, false otherwise.
+     */
+    private boolean isExpired(PermissionProfile permissionProfile) {
+        long permissionTime = plugin.getConfig().getLong("settings.cache.permission-time", 30) * 1000;
+
+        return permissionTime >= 0 && System.currentTimeMillis() - permissionProfile.getTimeCreation() >= permissionTime;
+    }
+
+    /**
+     * Checks a permission with the permission provider, LuckPerms first, then Vault, then Bukkit.
+     *
+     * @param permission The permission.
+     * @param player     The player.
+     * @return True if the player has the permission, false otherwise.
+     */
+    private boolean checkPermission(String permission, Player player) {
+        boolean hasPermission;
+        String provider;
+
+        if (plugin.getIntegrationManager().hasLuckPermsHandler()) {
+            hasPermission = plugin.getIntegrationManager().getLuckPermsHandler().hasPermission(player, permission);
+            provider = "LuckPerms";
+        } else if (plugin.getIntegrationManager().hasVault()) {
+            hasPermission = plugin.getIntegrationManager().getVault().hasPermission(player, permission);
+            provider = "Vault";
+        } else {
+            hasPermission = player.hasPermission(permission);
+            provider = "Bukkit";
+        }
+
+        if (plugin.getConfig().getInt("settings.debug.level", 0) >= 4) {
+            plugin.debugMessage("[" + provider + "] Player: " + player.getName() + " | Permission: " + permission
+                    + " | Has Permission: " + hasPermission, 4);
+        }
+
+        return hasPermission;
+    }
+}
@@ -0,0 +1,524 @@
+package com.ranull.graves.manager;
+
+import com.ranull.graves.Graves;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Versioned schema migrations for the tables used by {@link DataManager}.
+ * <p>
+ * The applied version is kept in the {@code schema_version} table. On startup only that table is read, and the
+ * ordered migration steps newer than it are applied once, each inside its own transaction together with the row
+ * recording it. A current schema costs two statements regardless of the number of tables or columns.
+ * </p>
+ * <p>
+ * MySQL and MariaDB commit DDL implicitly, so a failed step can leave some of its statements applied. Every
+ * statement is therefore guarded, either by {@code IF NOT EXISTS} or by an {@code information_schema} lookup where
+ * the backend has no such clause, and a step retried on the next start skips what is already there.
+ * </p>
+ * <p>
+ * Databases created by releases without a {@code schema_version} table are adopted once at version 1 by probing
+ * their columns, after which they are migrated like any other database.
+ * </p>
+ */
+public final class SchemaMigrator {
+    /**
+     * The entity tables, one per kind of grave entity and integration.
+     */
+    static final List<String> ENTITY_TABLE_LIST = Collections.unmodifiableList(Arrays.asList("armorstand",
+            "itemframe", "furniturelib", "furnitureengine", "itemsadder", "oraxen", "playernpc", "citizensnpc"));
+
+    /**
+     * The version an unversioned database is at once its columns have been probed and completed.
+     */
+    private static final int LEGACY_VERSION = 1;
+
+    /**
+     * The version adding the typed location columns, existing rows are converted once it is applied.
+     */
+    private static final int LOCATION_COLUMN_VERSION = 2;
+
+    /**
+     * The main plugin instance associated with Graves.
+     * <p>
+     * This {@link Graves} instance represents the core plugin that this Graves is part of. It provides access
+     * to the plugin's functionality, configuration, and other services.
+     * </p>
+     */
+    private final Graves plugin;
+
+    /**
+     * The data manager providing connections and the legacy table setup.
+     */
+    private final DataManager dataManager;
+
+    /**
+     * The database type the statements are written for.
+     */
+    private final DataManager.Type type;
+
+    /**
+     * The migration steps, ordered by version.
+     */
+    private final List<Migration> migrationList;
+
+    /**
+     * Initializes the SchemaMigrator for the current database type of a data manager.
+     *
+     * @param plugin      the Graves plugin instance.
+     * @param dataManager the data manager to migrate the tables of.
+     */
+    SchemaMigrator(Graves plugin, DataManager dataManager) {
+        this.plugin = plugin;
+        this.dataManager = dataManager;
+        this.type = dataManager.getDatabaseType();
+        this.migrationList = new ArrayList<>();
+
+        migrationList.add(new Migration(1, "Create tables", getCreateTableList()));
+        migrationList.add(new Migration(LOCATION_COLUMN_VERSION, "Add typed location columns and indexes",
+                getLocationColumnList()));
+        migrationList.add(new Migration(3, "Add data migration progress table", getMigrationProgressList()));
+        migrationList.add(new Migration(4, "Add binary grave contents columns", getContentsColumnList()));
+    }
+
+    /**
+     * Gets the version the migration steps bring a database to.
+     *
+     * @return the latest schema version.
+     */
+    public int getLatestVersion() {
+        return migrationList.get(migrationList.size() - 1).version;
+    }
+
+    /**
+     * Brings the schema up to the latest version.
+     *
+     * @throws SQLException if a migration step fails.
+     */
+    public void migrate() throws SQLException {
+        try (Connection connection = dataManager.getConnection()) {
+            if (connection == null) {
+                throw new SQLException("No database connection available for schema migration.");
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate(createTable("schema_version",
+                        "version INT NOT NULL",
+                        "description " + getVarchar(),
+                        "time_applied BIGINT").sql);
+            }
+
+            int version = getVersion(connection);
+
+            if (version >= getLatestVersion()) {
+                plugin.debugMessage("Database schema is at version " + version + ".", 2);
+
+                return;
+            }
+
+            if (version == 0 && hasTable(connection, "grave")) {
+                plugin.getLogger().info("Adopting existing tables into schema version " + LEGACY_VERSION + "...");
+                dataManager.setupLegacyTables();
+                insertVersion(connection, LEGACY_VERSION, "Adopt existing tables");
+                version = LEGACY_VERSION;
+            }
+
+            for (Migration migration : migrationList) {
+                if (migration.version > version) {
+                    apply(connection, migration);
+                }
+            }
+
+            if (version < LOCATION_COLUMN_VERSION) {
+                dataManager.convertLocationColumns();
+            }
+        }
+    }
+
+    /**
+     * Applies a migration step and records it, inside one transaction.
+     *
+     * @param connection the connection to use.
+     * @param migration  the migration step.
+     * @throws SQLException if the step fails, after rolling it back.
+     */
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        plugin.getLogger().info("Migrating database schema to version " + migration.version + ": "
+                + migration.description + "...");
+        connection.setAutoCommit(false);
+
+        try (Statement statement = connection.createStatement()) {
+            for (Step step : migration.stepList) {
+                if (step.existsQuery != null && exists(connection, step)) {
+                    plugin.debugMessage("Skipping applied schema statement: " + step.sql, 2);
+                    continue;
+                }
+
+                statement.executeUpdate(step.sql);
+            }
+
+            insertVersion(connection, migration.version, migration.description);
+            connection.commit();
+        } catch (SQLException exception) {
+            connection.rollback();
+            plugin.getLogger().severe("Failed to migrate database schema to version " + migration.version + ": "
+                    + exception.getMessage());
+
+            throw exception;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Checks if the object a step creates already exists.
+     *
+     * @param connection the connection to use.
+     * @param step       the step with an existence query.
+     * @return true if the existence query counts at least one row, false otherwise.
+     * @throws SQLException if an SQL error occurs.
+     */
+    private boolean exists(Connection connection, Step step) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(step.existsQuery)) {
+            for (int i = 0; i < step.existsParameters.length; i++) {
+                statement.setString(i + 1, step.existsParameters[i]);
+            }
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getInt(1) > 0;
+            }
+        }
+    }
+
+    /**
+     * Inserts a row into the schema version table.
+     *
+     * @param connection  the connection to use.
+     * @param version     the version.
+     * @param description the description of the step.
+     * @throws SQLException if an SQL error occurs.
+     */
+    private void insertVersion(Connection connection, int version, String description) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO schema_version (version, description, time_applied) VALUES (?, ?, ?)")) {
+            statement.setInt(1, version);
+            statement.setString(2, description);
+            statement.setLong(3, System.currentTimeMillis());
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Gets the highest applied schema version.
+     *
+     * @param connection the connection to use.
+     * @return the version, 0 if nothing has been applied.
+     * @throws SQLException if an SQL error occurs.
+     */
+    private int getVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Checks if a table exists by selecting from it, which works the same on every backend regardless of how it
+     * stores the case of unquoted names.
+     *
+     * @param connection the connection to use, in auto-commit mode.
+     * @param table      the table name.
+     * @return true if the table exists, false otherwise.
+     */
+    private boolean hasTable(Connection connection, String table) {
+        try (Statement statement = connection.createStatement();
+             ResultSet ignored = statement.executeQuery("SELECT 1 FROM " + table + " WHERE 1 = 0")) {
+            return true;
+        } catch (SQLException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the statements of version 1, creating every table with the layout releases before schema versioning
+     * ended up with.
+     *
+     * @return the statements.
+     */
+    private List<Step> getCreateTableList() {
+        List<Step> stepList = new ArrayList<>();
+        String varchar = getVarchar();
+        String text = getText();
+        String decimal;
+        String experience;
+        String flag;
+
+        switch (type) {
+            case H2:
+            case POSTGRESQL:
+                decimal = "REAL";
+                experience = "INT";
+                flag = "INT";
+                break;
+            case MSSQL:
+                decimal = "FLOAT";
+                experience = "INT";
+                flag = "BIT";
+                break;
+            default:
+                decimal = "FLOAT(16)";
+                experience = "INT(16)";
+                flag = "INT(1)";
+        }
+
+        stepList.add(createTable("grave",
+                "uuid " + varchar + " UNIQUE",
+                "owner_type " + varchar,
+                "owner_name " + varchar,
+                "owner_name_display " + varchar,
+                "owner_uuid " + varchar,
+                "owner_texture " + text,
+                "owner_texture_signature " + text,
+                "killer_type " + varchar,
+                "killer_name " + varchar,
+                "killer_name_display " + varchar,
+                "killer_uuid " + varchar,
+                "location_death " + varchar,
+                "yaw " + decimal,
+                "pitch " + decimal,
+                "inventory " + text,
+                "equipment " + text,
+                "experience " + experience,
+                "protection " + flag,
+                "is_abandoned " + flag,
+                "time_alive BIGINT",
+                "time_protection BIGINT",
+                "time_creation BIGINT",
+                "permissions " + text));
+        stepList.add(createTable("block",
+                "location " + varchar,
+                "uuid_grave " + varchar,
+                "replace_material " + varchar,
+                "replace_data " + text));
+        stepList.add(createTable("hologram",
+                "uuid_entity " + varchar,
+                "uuid_grave " + varchar,
+                "line INT",
+                "location " + varchar));
+
+        for (String table : ENTITY_TABLE_LIST) {
+            stepList.add(createTable(table,
+                    "location " + varchar,
+                    "uuid_entity " + varchar,
+                    "uuid_grave " + varchar));
+        }
+
+        return stepList;
+    }
+
+    /**
+     * Gets the statements of version 2, adding the typed location columns and the lookup indexes.
+     *
+     * @return the statements.
+     */
+    private List<Step> getLocationColumnList() {
+        List<Step> stepList = new ArrayList<>();
+        List<String> tableList = new ArrayList<>(Arrays.asList("grave", "block", "hologram"));
+
+        tableList.addAll(ENTITY_TABLE_LIST);
+
+        for (String table : tableList) {
+            stepList.add(addColumn(table, "world", getVarchar()));
+            stepList.add(addColumn(table, "x", "INT"));
+            stepList.add(addColumn(table, "y", "INT"));
+            stepList.add(addColumn(table, "z", "INT"));
+            stepList.add(addColumn(table, "chunk_x", "INT"));
+            stepList.add(addColumn(table, "chunk_z", "INT"));
+            stepList.add(createIndex(table, "idx_" + table + "_chunk", "world, chunk_x, chunk_z"));
+
+            if (table.equals("grave")) {
+                stepList.add(createIndex(table, "idx_grave_owner_uuid", "owner_uuid"));
+            } else {
+                stepList.add(createIndex(table, "idx_" + table + "_uuid_grave", "uuid_grave"));
+
+                if (!table.equals("block")) {
+                    stepList.add(createIndex(table, "idx_" + table + "_uuid_entity", "uuid_entity"));
+                }
+            }
+        }
+
+        return stepList;
+    }
+
+    /**
+     * Gets the statements of version 3, adding the table {@link DataMigrator} records its progress in.
+     *
+     * @return the statements.
+     */
+    private List<Step> getMigrationProgressList() {
+        return Collections.singletonList(createTable("migration_progress",
+                "source_name " + getVarchar() + " NOT NULL",
+                "table_name " + getVarchar() + " NOT NULL",
+                "last_key " + getVarchar(),
+                "row_count BIGINT",
+                "complete INT",
+                "time_updated BIGINT"));
+    }
+
+    /**
+     * Gets the statements of version 4, adding the binary columns {@link DataManager} stores grave inventories and
+     * equipment encoded by {@link com.ranull.graves.util.InventoryCodec} in.
+     *
+     * @return the statements.
+     */
+    private List<Step> getContentsColumnList() {
+        return Arrays.asList(addColumn("grave", "inventory_data", getBinary()),
+                addColumn("grave", "equipment_data", getBinary()));
+    }
+
+    /**
+     * Builds a step creating a table if it does not exist.
+     *
+     * @param table       the table name.
+     * @param columnArray the column definitions.
+     * @return the step.
+     */
+    private Step createTable(String table, String... columnArray) {
+        String columns = String.join(", ", columnArray);
+
+        if (type == DataManager.Type.MSSQL) {
+            return new Step("IF OBJECT_ID('" + table + "', 'U') IS NULL CREATE TABLE " + table + " (" + columns + ")");
+        }
+
+        return new Step("CREATE TABLE IF NOT EXISTS " + table + " (" + columns + ")");
+    }
+
+    /**
+     * Builds a step adding a column to a table if it does not have it.
+     *
+     * @param table      the table name.
+     * @param column     the column name.
+     * @param definition the column type and constraints.
+     * @return the step.
+     */
+    private Step addColumn(String table, String column, String definition) {
+        switch (type) {
+            case MSSQL:
+                return new Step("IF COL_LENGTH('" + table + "', '" + column + "') IS NULL ALTER TABLE " + table
+                        + " ADD " + column + " " + definition);
+            case H2:
+            case POSTGRESQL:
+            case MARIADB:
+                return new Step("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS " + column + " " + definition);
+            case SQLITE:
+                return new Step("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition,
+                        "SELECT COUNT(*) FROM pragma_table_info(?) WHERE name = ?", table, column);
+            default:
+                return new Step("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition,
+                        "SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() "
+                                + "AND table_name = ? AND column_name = ?", table, column);
+        }
+    }
+
+    /**
+     * Builds a step creating an index if it does not exist.
+     *
+     * @param table   the table name.
+     * @param index   the index name, unique across the database.
+     * @param columns the comma separated columns of the index.
+     * @return the step.
+     */
+    private Step createIndex(String table, String index, String columns) {
+        switch (type) {
+            case MYSQL:
+                return new Step("CREATE INDEX " + index + " ON " + table + " (" + columns + ")",
+                        "SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() "
+                                + "AND table_name = ? AND index_name = ?", table, index);
+            case MSSQL:
+                return new Step("IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = '" + index + "' "
+                        + "AND object_id = OBJECT_ID('" + table + "')) CREATE INDEX " + index + " ON " + table
+                        + " (" + columns + ")");
+            default:
+                return new Step("CREATE INDEX IF NOT EXISTS " + index + " ON " + table + " (" + columns + ")");
+        }
+    }
+
+    /**
+     * Gets the type of short text columns.
+     *
+     * @return the column type.
+     */
+    private String getVarchar() {
+        return type == DataManager.Type.MSSQL ? "NVARCHAR(255)" : "VARCHAR(255)";
+    }
+
+    /**
+     * Gets the type of long text columns.
+     *
+     * @return the column type.
+     */
+    private String getText() {
+        return type == DataManager.Type.MSSQL ? "NVARCHAR(MAX)" : "TEXT";
+    }
+
+    /**
+     * Gets the type of binary columns.
+     *
+     * @return the column type.
+     */
+    private String getBinary() {
+        switch (type) {
+            case POSTGRESQL:
+                return "BYTEA";
+            case MSSQL:
+                return "VARBINARY(MAX)";
+            case MYSQL:
+            case MARIADB:
+                return "MEDIUMBLOB";
+            default:
+                return "BLOB";
+        }
+    }
+
+    /**
+     * A migration step, the statements bringing the schema from the previous version to this one.
+     */
+    private static final class Migration {
+        private final int version;
+        private final String description;
+        private final List<Step> stepList;
+
+        private Migration(int version, String description, List<Step> stepList) {
+            this.version = version;
+            this.description = description;
+            this.stepList = stepList;
+        }
+    }
+
+    /**
+     * A single statement of a migration step, skipped when its existence query counts a row.
+     */
+    private static final class Step {
+        private final String sql;
+        private final String existsQuery;
+        private final String[] existsParameters;
+
+        private Step(String sql) {
+            this(sql, null);
+        }
+
+        private Step(String sql, String existsQuery, String... existsParameters) {
+            this.sql = sql;
+            this.existsQuery = existsQuery;
+            this.existsParameters = existsParameters;
+        }
+    }
+}
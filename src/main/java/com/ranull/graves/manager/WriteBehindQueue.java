@@ -0,0 +1,326 @@
+package com.ranull.graves.manager;
+
+import com.ranull.graves.Graves;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coalescing write-behind queue for the database mutations made by {@link DataManager}.
+ * <p>
+ * Writes are keyed by the row they touch. A later update to the same row and column replaces the pending one,
+ * and deleting a row whose insert is still pending cancels that insert. Pending writes are flushed as JDBC batches
+ * inside a single transaction on a fixed interval, or sooner once the batch size is reached.
+ * </p>
+ */
+public final class WriteBehindQueue {
+    /**
+     * The main plugin instance associated with Graves.
+     * <p>
+     * This {@link Graves} instance represents the core plugin that this Graves is part of. It provides access
+     * to the plugin's functionality, configuration, and other services.
+     * </p>
+     */
+    private final Graves plugin;
+
+    /**
+     * The data manager providing connections and parameter binding.
+     */
+    private final DataManager dataManager;
+
+    /**
+     * The pending writes in the order they were queued, keyed by row and kind of write.
+     */
+    private final Map<String, Write> writeMap;
+
+    /**
+     * Lock held while a flush is writing, so only one flush talks to the database at a time.
+     */
+    private final Object flushLock;
+
+    /**
+     * The number of pending writes that triggers an early flush.
+     */
+    private final int batchSize;
+
+    /**
+     * The repeating flush task.
+     */
+    private BukkitTask flushTask;
+
+    /**
+     * Whether an early flush has already been scheduled.
+     */
+    private boolean flushScheduled;
+
+    /**
+     * Initializes the WriteBehindQueue and starts the repeating flush task.
+     *
+     * @param plugin      the Graves plugin instance.
+     * @param dataManager the data manager the queue writes for.
+     */
+    WriteBehindQueue(Graves plugin, DataManager dataManager) {
+        this.plugin = plugin;
+        this.dataManager = dataManager;
+        this.writeMap = new LinkedHashMap<>();
+        this.flushLock = new Object();
+        this.batchSize = Math.max(1, plugin.getConfig().getInt("settings.storage.write-queue.batch-size", 250));
+
+        long interval = Math.max(1, plugin.getConfig().getLong("settings.storage.write-queue.interval", 20));
+
+        this.flushTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::flush,
+                interval, interval);
+    }
+
+    /**
+     * Queues an insert of a row.
+     *
+     * @param row        the key of the row, e.g. "grave:uuid".
+     * @param sql        the SQL statement.
+     * @param parameters the parameters for the SQL statement.
+     */
+    public void insert(String row, String sql, Object[] parameters) {
+        queue(row + "#insert", new Write(sql, parameters));
+    }
+
+    /**
+     * Queues an update of a single column, replacing any pending update of the same row and column.
+     *
+     * @param row        the key of the row, e.g. "grave:uuid".
+     * @param column     the column being updated.
+     * @param sql        the SQL statement.
+     * @param parameters the parameters for the SQL statement.
+     */
+    public void update(String row, String column, String sql, Object[] parameters) {
+        queue(row + "#update:" + column, new Write(sql, parameters));
+    }
+
+    /**
+     * Queues a delete of a row. Pending updates of the row are dropped, and if its insert is still pending the
+     * insert is cancelled instead of queueing a delete. A delete queued before that insert is kept.
+     *
+     * @param row        the key of the row, e.g. "grave:uuid".
+     * @param sql        the SQL statement.
+     * @param parameters the parameters for the SQL statement.
+     */
+    public void delete(String row, String sql, Object[] parameters) {
+        synchronized (this) {
+            if (!cancelPendingWrites(writeMap, row)) {
+                plugin.debugMessage("Cancelled pending insert of " + row, 2);
+                return;
+            }
+        }
+
+        queue(row + "#delete", new Write(sql, parameters));
+    }
+
+    /**
+     * Drops the pending insert and updates of a row ahead of a delete.
+     * <p>
+     * A delete already queued for the row is left in place, so a delete, insert, delete sequence still removes the
+     * row that existed before the first delete.
+     * </p>
+     *
+     * @param writeMap the pending writes keyed by row and kind of write.
+     * @param row      the key of the row.
+     * @return true if a delete still has to be queued, false if the row only existed as a pending insert.
+     */
+    static boolean cancelPendingWrites(Map<String, ?> writeMap, String row) {
+        boolean insertPending = writeMap.remove(row + "#insert") != null;
+
+        writeMap.keySet().removeIf(key -> key.startsWith(row + "#update:"));
+
+        return !insertPending;
+    }
+
+    /**
+     * Writes every pending write to the database in a single transaction.
+     * <p>
+     * If no connection can be obtained, the writes are put back in front of the writes queued since and retried on
+     * the next flush.
+     * </p>
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<String, Write> batchMap;
+
+            synchronized (this) {
+                flushScheduled = false;
+
+                if (writeMap.isEmpty()) {
+                    return;
+                }
+
+                batchMap = new LinkedHashMap<>(writeMap);
+                writeMap.clear();
+            }
+
+            List<Write> writeList = new ArrayList<>(batchMap.values());
+
+            try (Connection connection = dataManager.getConnection()) {
+                if (connection == null) {
+                    plugin.getLogger().severe("Failed to flush " + writeList.size()
+                            + " queued database writes: no connection available, retrying on the next flush.");
+                    requeue(batchMap);
+                    return;
+                }
+
+                boolean autoCommit = connection.getAutoCommit();
+
+                try {
+                    connection.setAutoCommit(false);
+                    executeBatches(connection, writeList);
+                    connection.commit();
+                } catch (SQLException exception) {
+                    connection.rollback();
+                    plugin.debugMessage("Batched flush failed, retrying " + writeList.size()
+                            + " writes one by one: " + exception.getMessage(), 1);
+                    connection.setAutoCommit(true);
+                    executeEach(connection, writeList);
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+
+                plugin.debugMessage("Flushed " + writeList.size() + " queued database writes.", 2);
+            } catch (SQLException exception) {
+                plugin.getLogger().severe("Failed to flush " + writeList.size() + " queued database writes: "
+                        + exception.getMessage());
+                plugin.logStackTrace(exception);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of pending writes.
+     *
+     * @return the number of pending writes.
+     */
+    public synchronized int size() {
+        return writeMap.size();
+    }
+
+    /**
+     * Stops the repeating flush task and drains every pending write.
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+
+        flush();
+    }
+
+    /**
+     * Puts writes that could not be flushed back in front of the writes queued since, in their original order.
+     * <p>
+     * A write queued since for the same key is newer and replaces the returned one, the same way it would have
+     * replaced it had the flush not happened.
+     * </p>
+     *
+     * @param batchMap the writes that could not be flushed, keyed by row and kind of write.
+     */
+    private synchronized void requeue(Map<String, Write> batchMap) {
+        Map<String, Write> newWriteMap = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Write> entry : batchMap.entrySet()) {
+            if (!writeMap.containsKey(entry.getKey())) {
+                newWriteMap.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        newWriteMap.putAll(writeMap);
+        writeMap.clear();
+        writeMap.putAll(newWriteMap);
+    }
+
+    /**
+     * Adds a write to the queue and schedules an early flush once the batch size is reached.
+     *
+     * @param key   the key of the write.
+     * @param write the write.
+     */
+    private void queue(String key, Write write) {
+        boolean scheduleFlush = false;
+
+        synchronized (this) {
+            writeMap.put(key, write);
+
+            if (writeMap.size() >= batchSize && !flushScheduled) {
+                flushScheduled = true;
+                scheduleFlush = true;
+            }
+        }
+
+        if (scheduleFlush) {
+            if (plugin.isEnabled() && flushTask != null) {
+                plugin.getServer().getScheduler().runTaskAsynchronously(plugin, this::flush);
+            } else {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Executes the writes as JDBC batches, grouping consecutive writes that share a statement.
+     *
+     * @param connection the connection to use.
+     * @param writeList  the writes to execute, in order.
+     * @throws SQLException if a database access error occurs.
+     */
+    private void executeBatches(Connection connection, List<Write> writeList) throws SQLException {
+        int index = 0;
+
+        while (index < writeList.size()) {
+            String sql = writeList.get(index).sql;
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                while (index < writeList.size() && writeList.get(index).sql.equals(sql)) {
+                    DataManager.setParameters(statement, writeList.get(index).parameters);
+                    statement.addBatch();
+                    index++;
+                }
+
+                statement.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Executes the writes one at a time so a single failing write does not lose the others.
+     *
+     * @param connection the connection to use.
+     * @param writeList  the writes to execute, in order.
+     */
+    private void executeEach(Connection connection, List<Write> writeList) {
+        for (Write write : writeList) {
+            try (PreparedStatement statement = connection.prepareStatement(write.sql)) {
+                DataManager.setParameters(statement, write.parameters);
+                statement.executeUpdate();
+            } catch (SQLException exception) {
+                plugin.getLogger().severe("Error executing SQL update: " + exception.getMessage());
+                plugin.getLogger().severe("Failed SQL statement: " + write.sql);
+                plugin.logStackTrace(exception);
+            }
+        }
+    }
+
+    /**
+     * A single queued SQL statement with its parameters.
+     */
+    private static final class Write {
+        private final String sql;
+        private final Object[] parameters;
+
+        private Write(String sql, Object[] parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.ranull.graves.type;
 
 import com.ranull.graves.data.LocationData;
+import com.ranull.graves.util.InventoryCodec;
+import com.ranull.graves.util.InventoryUtil;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.EntityType;
 import org.bukkit.inventory.EquipmentSlot;
@@ -9,6 +12,8 @@ import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.*;
 
@@ -25,12 +30,38 @@ public class Grave implements InventoryHolder, Serializable {
     /**
      * Inventory associated with this instance. This field is marked as transient, meaning it will not be serialized.
      */
-    private transient Inventory inventory;
+    private transient volatile Inventory inventory;
 
     /**
      * Map of equipment items, keyed by their respective equipment slots.
      */
-    private Map<EquipmentSlot, ItemStack> equipmentMap;
+    private volatile Map<EquipmentSlot, ItemStack> equipmentMap;
+
+    /**
+     * Encoded inventory waiting to be decoded on first use, null once the inventory is loaded.
+     */
+    private transient volatile String inventoryData;
+
+    /**
+     * Encoded equipment waiting to be decoded on first use, null once the equipment map is loaded.
+     */
+    private transient volatile String equipmentData;
+
+    /**
+     * Whether the encoded inventory could not be decoded, in which case it is kept in {@link #inventoryData} and
+     * the inventory is an empty placeholder that is never written back.
+     */
+    private transient volatile boolean contentsUnreadable;
+
+    /**
+     * Loader used to decode the encoded inventory and equipment.
+     */
+    private transient volatile ContentsLoader contentsLoader;
+
+    /**
+     * The last time the inventory or equipment was accessed, in milliseconds since the epoch.
+     */
+    private transient volatile long timeContentsAccess;
 
     /**
      * List of permissions associated with this instance.
@@ -160,9 +191,43 @@ public class Grave implements InventoryHolder, Serializable {
     @NotNull
     @Override
     public Inventory getInventory() {
+        timeContentsAccess = System.currentTimeMillis();
+
+        Inventory inventory = this.inventory;
+        String inventoryData = this.inventoryData;
+        ContentsLoader contentsLoader = this.contentsLoader;
+
+        if (inventory == null && inventoryData != null && contentsLoader != null) {
+            inventory = contentsLoader.loadInventory(this, inventoryData);
+
+            if (inventory != null) {
+                this.inventory = inventory;
+                this.inventoryData = null;
+            } else {
+                inventory = Bukkit.createInventory(this, 9);
+                this.contentsUnreadable = true;
+                this.inventory = inventory;
+            }
+        }
+
         return inventory;
     }
 
+    /**
+     * Checks if the stored inventory could not be decoded, decoding it first if that has not happened yet.
+     * <p>
+     * An unreadable grave keeps its stored inventory untouched. It cannot be opened or looted, it is never removed
+     * for being empty and its inventory is not written back, so the items come back once the server can read them.
+     * </p>
+     *
+     * @return True if the stored inventory could not be decoded, false otherwise.
+     */
+    public boolean isContentsUnreadable() {
+        getInventory();
+
+        return contentsUnreadable;
+    }
+
     /**
      * Sets the inventory for this grave.
      *
@@ -170,6 +235,9 @@ public class Grave implements InventoryHolder, Serializable {
      */
     public void setInventory(Inventory inventory) {
         this.inventory = inventory;
+        this.inventoryData = null;
+        this.contentsUnreadable = false;
+        this.timeContentsAccess = System.currentTimeMillis();
     }
 
     /**
@@ -178,6 +246,18 @@ public class Grave implements InventoryHolder, Serializable {
      * @return The equipment map.
      */
     public Map<EquipmentSlot, ItemStack> getEquipmentMap() {
+        timeContentsAccess = System.currentTimeMillis();
+
+        Map<EquipmentSlot, ItemStack> equipmentMap = this.equipmentMap;
+        String equipmentData = this.equipmentData;
+        ContentsLoader contentsLoader = this.contentsLoader;
+
+        if (equipmentMap == null && equipmentData != null && contentsLoader != null) {
+            equipmentMap = contentsLoader.loadEquipmentMap(this, equipmentData);
+            this.equipmentMap = equipmentMap;
+            this.equipmentData = null;
+        }
+
         return equipmentMap;
     }
 
@@ -188,6 +268,68 @@ public class Grave implements InventoryHolder, Serializable {
      */
     public void setEquipmentMap(Map<EquipmentSlot, ItemStack> equipmentMap) {
         this.equipmentMap = equipmentMap;
+        this.equipmentData = null;
+        this.timeContentsAccess = System.currentTimeMillis();
+    }
+
+    /**
+     * Sets the encoded inventory and equipment, which are only decoded once they are accessed.
+     *
+     * @param inventoryData  The encoded inventory, or null for none.
+     * @param equipmentData  The encoded equipment, or null for none.
+     * @param contentsLoader The loader used to decode them.
+     */
+    public void setContents(String inventoryData, String equipmentData, ContentsLoader contentsLoader) {
+        this.inventory = null;
+        this.equipmentMap = null;
+        this.inventoryData = inventoryData;
+        this.equipmentData = equipmentData;
+        this.contentsLoader = contentsLoader;
+        this.contentsUnreadable = false;
+    }
+
+    /**
+     * Checks if the inventory or equipment is currently decoded in memory.
+     *
+     * @return True if either is loaded, false otherwise.
+     */
+    public boolean isContentsLoaded() {
+        return inventory != null || equipmentMap != null;
+    }
+
+    /**
+     * Gets the last time the inventory or equipment was accessed.
+     *
+     * @return The time in milliseconds since the epoch.
+     */
+    public long getTimeContentsAccess() {
+        return timeContentsAccess;
+    }
+
+    /**
+     * Encodes the loaded inventory and equipment again and drops the decoded objects, so they are rebuilt by the
+     * loader on next access. Nothing is released while the inventory is open.
+     *
+     * @param contentsLoader The loader used to decode them again.
+     * @return True if the contents were released, false otherwise.
+     */
+    public boolean releaseContents(ContentsLoader contentsLoader) {
+        if (inventory != null && !inventory.getViewers().isEmpty()) {
+            return false;
+        }
+
+        String inventoryData = inventory != null && !contentsUnreadable
+                ? InventoryUtil.inventoryToString(inventory) : this.inventoryData;
+        String equipmentData = equipmentMap != null
+                ? InventoryCodec.encodeEquipmentMap(equipmentMap) : this.equipmentData;
+
+        if ((inventory != null && !contentsUnreadable && inventoryData == null) || (equipmentMap != null && equipmentData == null)) {
+            return false;
+        }
+
+        setContents(inventoryData, equipmentData, contentsLoader);
+
+        return true;
     }
 
     /**
@@ -196,6 +338,8 @@ public class Grave implements InventoryHolder, Serializable {
      * @return A list of item stacks.
      */
     public List<ItemStack> getInventoryItemStack() {
+        Inventory inventory = getInventory();
+
         return inventory != null ? Arrays.asList(inventory.getContents()) : new ArrayList<>();
     }
 
@@ -628,6 +772,7 @@ public class Grave implements InventoryHolder, Serializable {
      */
     public int getItemAmount() {
         int counter = 0;
+        Inventory inventory = getInventory();
 
         if (inventory != null) {
             for (ItemStack itemStack : inventory.getContents()) {
@@ -714,6 +859,40 @@ public class Grave implements InventoryHolder, Serializable {
         this.locationDeath = new LocationData(location);
     }
 
+    /**
+     * Decodes a lazily loaded equipment map before serializing, since the encoded form is transient.
+     *
+     * @param objectOutputStream The stream to write to.
+     * @throws IOException If the grave could not be written.
+     */
+    private void writeObject(ObjectOutputStream objectOutputStream) throws IOException {
+        getEquipmentMap();
+        objectOutputStream.defaultWriteObject();
+    }
+
+    /**
+     * Decodes the stored inventory and equipment of a grave when they are first accessed.
+     */
+    public interface ContentsLoader {
+        /**
+         * Builds the inventory of a grave from its encoded form.
+         *
+         * @param grave         The grave.
+         * @param inventoryData The encoded inventory.
+         * @return The inventory, or null if it could not be decoded.
+         */
+        Inventory loadInventory(Grave grave, String inventoryData);
+
+        /**
+         * Builds the equipment map of a grave from its encoded form.
+         *
+         * @param grave         The grave.
+         * @param equipmentData The encoded equipment.
+         * @return The equipment map.
+         */
+        Map<EquipmentSlot, ItemStack> loadEquipmentMap(Grave grave, String equipmentData);
+    }
+
     /**
      * Enum for defining different storage modes for the grave.
      */
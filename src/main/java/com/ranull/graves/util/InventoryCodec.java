@@ -0,0 +1,439 @@
+package com.ranull.graves.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+
+import java.io.*;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact, versioned codec for grave inventories and equipment.
+ * <p>
+ * Encoded values start with {@link #PREFIX}, followed by Base64 of a format version byte, a flags byte and the
+ * payload. The payload holds only the non-empty slots with their indexes, deflated when it is large enough to
+ * benefit. Every item is serialized into its own length-prefixed block, so an item that cannot be deserialized on
+ * this server version is skipped without losing the items after it. Version 1 payloads, a single object stream, and
+ * values without the prefix, the legacy per-slot Base64 format, are still decoded, so existing rows are migrated as
+ * they are rewritten.
+ * </p>
+ * <p>
+ * The database keeps encoded values in binary columns without the prefix and Base64, see {@link #toBinary(String)}
+ * and {@link #fromBinary(byte[])}.
+ * </p>
+ */
+public final class InventoryCodec {
+    /**
+     * Marker in front of every encoded value, chosen outside the Base64 alphabet so legacy values never match.
+     */
+    public static final String PREFIX = "#GX";
+
+    /**
+     * The current format version.
+     */
+    private static final byte FORMAT_VERSION = 2;
+
+    /**
+     * The format version that wrote the whole payload as a single object stream.
+     */
+    private static final byte OBJECT_STREAM_FORMAT_VERSION = 1;
+
+    /**
+     * Flag set when the payload is deflated.
+     */
+    private static final byte FLAG_COMPRESSED = 1;
+
+    /**
+     * Payloads at least this many bytes long are deflated.
+     */
+    private static final int COMPRESSION_THRESHOLD = 256;
+
+    /**
+     * Checks if a stored value uses this codec rather than the legacy format.
+     *
+     * @param string The stored value.
+     * @return True if the value was written by this codec, false otherwise.
+     */
+    public static boolean isEncoded(String string) {
+        return string != null && string.startsWith(PREFIX);
+    }
+
+    /**
+     * Gets the binary form of an encoded value, the format version, flags and payload without prefix and Base64.
+     *
+     * @param string The stored value.
+     * @return The binary form, or null if the value was not written by this codec.
+     */
+    public static byte[] toBinary(String string) {
+        return isEncoded(string) ? Base64.getDecoder().decode(string.substring(PREFIX.length())) : null;
+    }
+
+    /**
+     * Gets the encoded value of a binary form returned by {@link #toBinary(String)}.
+     *
+     * @param bytes The binary form.
+     * @return The encoded value.
+     */
+    public static String fromBinary(byte[] bytes) {
+        return PREFIX + Base64.getEncoder().encodeToString(bytes);
+    }
+
+    /**
+     * Encodes inventory contents, keeping only the non-empty slots.
+     *
+     * @param itemStacks The inventory contents.
+     * @return The encoded value, or null if an item could not be serialized.
+     */
+    public static String encodeItemStacks(ItemStack[] itemStacks) {
+        try {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            int count = 0;
+
+            for (ItemStack itemStack : itemStacks) {
+                if (!isEmpty(itemStack)) {
+                    count++;
+                }
+            }
+
+            try (DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream)) {
+                dataOutputStream.writeInt(itemStacks.length);
+                dataOutputStream.writeInt(count);
+
+                for (int slot = 0; slot < itemStacks.length; slot++) {
+                    if (!isEmpty(itemStacks[slot])) {
+                        dataOutputStream.writeInt(slot);
+                        writeItemStack(dataOutputStream, itemStacks[slot]);
+                    }
+                }
+            }
+
+            return encode(byteArrayOutputStream.toByteArray());
+        } catch (IOException exception) {
+            Bukkit.getLogger().warning("Exception during inventory encoding: " + exception.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * Decodes inventory contents written by {@link #encodeItemStacks(ItemStack[])}.
+     *
+     * @param string The encoded value.
+     * @return The inventory contents with empty slots as null, or null if the value could not be decoded.
+     */
+    public static ItemStack[] decodeItemStacks(String string) {
+        try {
+            byte[] bytes = toBinary(string);
+
+            if (getFormatVersion(bytes) == OBJECT_STREAM_FORMAT_VERSION) {
+                return decodeObjectStreamItemStacks(bytes);
+            }
+
+            try (DataInputStream dataInputStream = new DataInputStream(openPayload(bytes))) {
+                ItemStack[] itemStacks = new ItemStack[dataInputStream.readInt()];
+                int count = dataInputStream.readInt();
+
+                for (int i = 0; i < count; i++) {
+                    int slot = dataInputStream.readInt();
+                    ItemStack itemStack = readItemStack(dataInputStream, "slot " + slot);
+
+                    if (slot >= 0 && slot < itemStacks.length && itemStack != null) {
+                        itemStacks[slot] = itemStack;
+                    }
+                }
+
+                return itemStacks;
+            }
+        } catch (IOException | IllegalArgumentException | NegativeArraySizeException exception) {
+            Bukkit.getLogger().warning("Exception during inventory decoding: " + exception.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * Decodes inventory contents written as a single object stream by format version 1.
+     *
+     * @param bytes The binary form.
+     * @return The inventory contents with empty slots as null.
+     * @throws IOException If the payload could not be read.
+     */
+    private static ItemStack[] decodeObjectStreamItemStacks(byte[] bytes) throws IOException {
+        try (BukkitObjectInputStream bukkitObjectInputStream = new BukkitObjectInputStream(openPayload(bytes))) {
+            ItemStack[] itemStacks = new ItemStack[bukkitObjectInputStream.readInt()];
+            int count = bukkitObjectInputStream.readInt();
+
+            for (int i = 0; i < count; i++) {
+                int slot = bukkitObjectInputStream.readInt();
+                Object object = bukkitObjectInputStream.readObject();
+
+                if (slot >= 0 && slot < itemStacks.length && object instanceof ItemStack) {
+                    itemStacks[slot] = (ItemStack) object;
+                }
+            }
+
+            return itemStacks;
+        } catch (ClassNotFoundException exception) {
+            throw new IOException(exception);
+        }
+    }
+
+    /**
+     * Encodes an equipment map, keeping only the occupied slots.
+     *
+     * @param equipmentMap The equipment map.
+     * @return The encoded value, or null if an item could not be serialized.
+     */
+    public static String encodeEquipmentMap(Map<EquipmentSlot, ItemStack> equipmentMap) {
+        try {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            Map<EquipmentSlot, ItemStack> occupiedMap = new HashMap<>();
+
+            if (equipmentMap != null) {
+                for (Map.Entry<EquipmentSlot, ItemStack> entry : equipmentMap.entrySet()) {
+                    if (entry.getKey() != null && !isEmpty(entry.getValue())) {
+                        occupiedMap.put(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+
+            try (DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream)) {
+                dataOutputStream.writeInt(occupiedMap.size());
+
+                for (Map.Entry<EquipmentSlot, ItemStack> entry : occupiedMap.entrySet()) {
+                    dataOutputStream.writeUTF(entry.getKey().name());
+                    writeItemStack(dataOutputStream, entry.getValue());
+                }
+            }
+
+            return encode(byteArrayOutputStream.toByteArray());
+        } catch (IOException exception) {
+            Bukkit.getLogger().warning("Exception during equipment encoding: " + exception.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * Decodes an equipment map, accepting both this codec and the legacy Base64 map format.
+     *
+     * @param string The stored value.
+     * @return The equipment map, empty if the value could not be decoded.
+     */
+    public static Map<EquipmentSlot, ItemStack> decodeEquipmentMap(String string) {
+        Map<EquipmentSlot, ItemStack> equipmentMap = new HashMap<>();
+
+        if (string == null) {
+            return equipmentMap;
+        }
+
+        if (isEncoded(string)) {
+            try {
+                byte[] bytes = toBinary(string);
+
+                if (getFormatVersion(bytes) == OBJECT_STREAM_FORMAT_VERSION) {
+                    decodeObjectStreamEquipmentMap(bytes, equipmentMap);
+                } else {
+                    try (DataInputStream dataInputStream = new DataInputStream(openPayload(bytes))) {
+                        int count = dataInputStream.readInt();
+
+                        for (int i = 0; i < count; i++) {
+                            String name = dataInputStream.readUTF();
+                            EquipmentSlot equipmentSlot = getEquipmentSlot(name);
+                            ItemStack itemStack = readItemStack(dataInputStream, name);
+
+                            if (equipmentSlot != null && itemStack != null) {
+                                equipmentMap.put(equipmentSlot, itemStack);
+                            }
+                        }
+                    }
+                }
+            } catch (IOException | IllegalArgumentException exception) {
+                Bukkit.getLogger().warning("Exception during equipment decoding: " + exception.getMessage());
+            }
+        } else {
+            Object object = Base64Util.base64ToObject(string);
+
+            if (object instanceof Map) {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                    EquipmentSlot equipmentSlot = entry.getKey() instanceof EquipmentSlot
+                            ? (EquipmentSlot) entry.getKey() : getEquipmentSlot(String.valueOf(entry.getKey()));
+
+                    if (equipmentSlot != null && entry.getValue() instanceof ItemStack) {
+                        equipmentMap.put(equipmentSlot, (ItemStack) entry.getValue());
+                    }
+                }
+            }
+        }
+
+        return equipmentMap;
+    }
+
+    /**
+     * Wraps a payload with the format header and optional compression.
+     *
+     * @param payload The serialized payload.
+     * @return The encoded value.
+     * @throws IOException If the payload could not be compressed.
+     */
+    private static String encode(byte[] payload) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(payload.length + 2);
+        boolean compress = payload.length >= COMPRESSION_THRESHOLD;
+
+        byteArrayOutputStream.write(FORMAT_VERSION);
+        byteArrayOutputStream.write(compress ? FLAG_COMPRESSED : 0);
+
+        if (compress) {
+            try (DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(byteArrayOutputStream)) {
+                deflaterOutputStream.write(payload);
+            }
+        } else {
+            byteArrayOutputStream.write(payload);
+        }
+
+        return fromBinary(byteArrayOutputStream.toByteArray());
+    }
+
+    /**
+     * Decodes an equipment map written as a single object stream by format version 1.
+     *
+     * @param bytes        The binary form.
+     * @param equipmentMap The map to add the decoded equipment to.
+     * @throws IOException If the payload could not be read.
+     */
+    private static void decodeObjectStreamEquipmentMap(byte[] bytes, Map<EquipmentSlot, ItemStack> equipmentMap)
+            throws IOException {
+        try (BukkitObjectInputStream bukkitObjectInputStream = new BukkitObjectInputStream(openPayload(bytes))) {
+            int count = bukkitObjectInputStream.readInt();
+
+            for (int i = 0; i < count; i++) {
+                EquipmentSlot equipmentSlot = getEquipmentSlot(bukkitObjectInputStream.readUTF());
+                Object object = bukkitObjectInputStream.readObject();
+
+                if (equipmentSlot != null && object instanceof ItemStack) {
+                    equipmentMap.put(equipmentSlot, (ItemStack) object);
+                }
+            }
+        } catch (ClassNotFoundException exception) {
+            throw new IOException(exception);
+        }
+    }
+
+    /**
+     * Writes an item as a length-prefixed block holding its own object stream.
+     *
+     * @param dataOutputStream The stream to write to.
+     * @param itemStack        The item.
+     * @throws IOException If the item could not be serialized.
+     */
+    private static void writeItemStack(DataOutputStream dataOutputStream, ItemStack itemStack) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+
+        try (BukkitObjectOutputStream bukkitObjectOutputStream = new BukkitObjectOutputStream(byteArrayOutputStream)) {
+            bukkitObjectOutputStream.writeObject(itemStack);
+        }
+
+        dataOutputStream.writeInt(byteArrayOutputStream.size());
+        byteArrayOutputStream.writeTo(dataOutputStream);
+    }
+
+    /**
+     * Reads an item written by {@link #writeItemStack(DataOutputStream, ItemStack)}.
+     * <p>
+     * The whole block is consumed before the item is deserialized, so an item that fails is skipped and the stream
+     * stays positioned at the next one.
+     * </p>
+     *
+     * @param dataInputStream The stream to read from.
+     * @param name            The slot the item belongs to, used in the warning when it is skipped.
+     * @return The item, or null if it could not be deserialized.
+     * @throws IOException If the block itself could not be read.
+     */
+    private static ItemStack readItemStack(DataInputStream dataInputStream, String name) throws IOException {
+        int length = dataInputStream.readInt();
+
+        if (length < 0) {
+            throw new IOException("Invalid item length " + length);
+        }
+
+        byte[] bytes = dataInputStream.readNBytes(length);
+
+        if (bytes.length != length) {
+            throw new EOFException("Truncated item in " + name);
+        }
+
+        try (BukkitObjectInputStream bukkitObjectInputStream
+                     = new BukkitObjectInputStream(new ByteArrayInputStream(bytes))) {
+            Object object = bukkitObjectInputStream.readObject();
+
+            return object instanceof ItemStack ? (ItemStack) object : null;
+        } catch (Exception exception) {
+            Bukkit.getLogger().warning("Skipped item in " + name + " that could not be decoded: "
+                    + exception.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the format version of a binary form after checking its header.
+     *
+     * @param bytes The binary form.
+     * @return The format version.
+     * @throws IOException If the value is not in a supported format.
+     */
+    private static byte getFormatVersion(byte[] bytes) throws IOException {
+        if (bytes == null) {
+            throw new IOException("Missing format prefix");
+        }
+
+        if (bytes.length < 2 || (bytes[0] != FORMAT_VERSION && bytes[0] != OBJECT_STREAM_FORMAT_VERSION)) {
+            throw new IOException("Unsupported format version " + (bytes.length > 0 ? bytes[0] : -1));
+        }
+
+        return bytes[0];
+    }
+
+    /**
+     * Opens a stream over the payload of a binary form, inflating it when it is compressed.
+     *
+     * @param bytes The binary form, already checked by {@link #getFormatVersion(byte[])}.
+     * @return The stream over the payload.
+     */
+    private static InputStream openPayload(byte[] bytes) {
+        InputStream inputStream = new ByteArrayInputStream(bytes, 2, bytes.length - 2);
+
+        return (bytes[1] & FLAG_COMPRESSED) != 0 ? new InflaterInputStream(inputStream) : inputStream;
+    }
+
+    /**
+     * Resolves an equipment slot by name.
+     *
+     * @param name The name of the slot.
+     * @return The equipment slot, or null if it does not exist on this server version.
+     */
+    private static EquipmentSlot getEquipmentSlot(String name) {
+        try {
+            return EquipmentSlot.valueOf(name);
+        } catch (IllegalArgumentException ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks if an item stack is empty.
+     *
+     * @param itemStack The item stack.
+     * @return True if the item stack is null or air, false otherwise.
+     */
+    private static boolean isEmpty(ItemStack itemStack) {
+        return itemStack == null || itemStack.getType() == Material.AIR;
+    }
+}
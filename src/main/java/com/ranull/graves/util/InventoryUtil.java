@@ -191,11 +191,27 @@ public final class InventoryUtil {
 
     /**
      * Converts the given inventory to a string representation.
+     * <p>
+     * The inventory is written with {@link InventoryCodec}. If an item cannot be serialized the legacy per-slot
+     * format is used instead, which drops only the problematic items.
+     * </p>
      *
      * @param inventory The inventory to be converted.
      * @return The string representation of the inventory.
      */
     public static String inventoryToString(Inventory inventory) {
+        String encoded = InventoryCodec.encodeItemStacks(inventory.getContents());
+
+        return encoded != null ? encoded : inventoryToLegacyString(inventory);
+    }
+
+    /**
+     * Converts the given inventory to the legacy per-slot Base64 representation.
+     *
+     * @param inventory The inventory to be converted.
+     * @return The string representation of the inventory.
+     */
+    private static String inventoryToLegacyString(Inventory inventory) {
         List<String> stringList = new ArrayList<>();
         Plugin nbtAPI = Bukkit.getPluginManager().getPlugin("NBTAPI");
         if (nbtAPI != null && nbtAPI.isEnabled()) {
@@ -249,9 +265,28 @@ public final class InventoryUtil {
      * @param string          The string representation of the inventory.
      * @param title           The title of the inventory.
      * @param plugin          The Graves plugin instance.
-     * @return The Inventory object.
+     * @return The Inventory object, or null if the value is in the current format but could not be decoded at all.
      */
     public static Inventory stringToInventory(InventoryHolder inventoryHolder, String string, String title, Graves plugin) {
+        if (InventoryCodec.isEncoded(string)) {
+            ItemStack[] itemStacks = InventoryCodec.decodeItemStacks(string);
+
+            if (itemStacks == null) {
+                return null;
+            }
+
+            Inventory inventory = plugin.getServer().createInventory(inventoryHolder,
+                    InventoryUtil.getInventorySize(itemStacks.length), title);
+
+            for (int slot = 0; slot < itemStacks.length && slot < inventory.getSize(); slot++) {
+                if (itemStacks[slot] != null) {
+                    inventory.setItem(slot, itemStacks[slot]);
+                }
+            }
+
+            return inventory;
+        }
+
         String[] strings = string.split("\\|");
 
         if (strings.length > 0 && !strings[0].equals("")) {
@@ -1,6 +1,7 @@
 package com.ranull.graves.util;
 
 import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 
 import java.util.List;
@@ -43,6 +44,16 @@ public final class LocationUtil {
                 + "|" + (location.getBlockZ() >> 4) : null;
     }
 
+    /**
+     * Converts a chunk to a string representation.
+     *
+     * @param chunk The chunk to be converted.
+     * @return A string representation of the chunk in the format "world|chunkX|chunkZ".
+     */
+    public static String chunkToString(Chunk chunk) {
+        return chunk.getWorld().getName() + "|" + chunk.getX() + "|" + chunk.getZ();
+    }
+
     /**
      * Converts a chunk string representation back to a Location object.
      *
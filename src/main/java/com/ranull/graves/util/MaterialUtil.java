@@ -2,10 +2,35 @@ package com.ranull.graves.util;
 
 import org.bukkit.Material;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Utility class for handling various material-related operations.
  */
 public final class MaterialUtil {
+    /**
+     * Every material whose name contains "SKULL", resolved once for the running server version.
+     */
+    private static final Set<Material> SKULL_MATERIAL_SET = EnumSet.noneOf(Material.class);
+
+    static {
+        for (Material material : Material.values()) {
+            if (material.name().contains("SKULL")) {
+                SKULL_MATERIAL_SET.add(material);
+            }
+        }
+    }
+
+    /**
+     * Checks if the given material is a skull, in any of its block, wall or legacy forms.
+     *
+     * @param material The material to check.
+     * @return True if the material name contains "SKULL", false otherwise.
+     */
+    public static boolean isSkull(Material material) {
+        return SKULL_MATERIAL_SET.contains(material);
+    }
 
     /**
      * Checks if the given material is an air block.
@@ -0,0 +1,111 @@
+package com.ranull.graves.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A string compiled once into literal and placeholder segments.
+ * <p>
+ * Only {@code %name%} tokens whose name is in the known placeholder set become placeholders, everything else is kept
+ * as literal text. Rendering resolves each placeholder that actually appears in the string, in a single pass.
+ * </p>
+ */
+public final class MessageTemplate {
+    /**
+     * The literal segments, one more than there are placeholders.
+     */
+    private final String[] literals;
+
+    /**
+     * The placeholder names without the surrounding percent signs.
+     */
+    private final String[] placeholders;
+
+    /**
+     * Constructs a compiled template.
+     *
+     * @param literals     The literal segments.
+     * @param placeholders The placeholder names between the literal segments.
+     */
+    private MessageTemplate(String[] literals, String[] placeholders) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Compiles a string into a template.
+     *
+     * @param string           The string to compile.
+     * @param placeholderNames The names recognized as placeholders.
+     * @return The compiled template.
+     */
+    public static MessageTemplate compile(String string, Set<String> placeholderNames) {
+        List<String> literalList = new ArrayList<>();
+        List<String> placeholderList = new ArrayList<>();
+        int literalStart = 0;
+        int index = string.indexOf('%');
+
+        while (index >= 0) {
+            int end = string.indexOf('%', index + 1);
+
+            if (end < 0) {
+                break;
+            }
+
+            String name = string.substring(index + 1, end);
+
+            if (placeholderNames.contains(name)) {
+                literalList.add(string.substring(literalStart, index));
+                placeholderList.add(name);
+                literalStart = end + 1;
+                index = string.indexOf('%', literalStart);
+            } else {
+                // Not one of ours, the closing percent sign may still open a placeholder
+                index = end;
+            }
+        }
+
+        literalList.add(string.substring(literalStart));
+
+        return new MessageTemplate(literalList.toArray(new String[0]), placeholderList.toArray(new String[0]));
+    }
+
+    /**
+     * Checks if the template contains any placeholders.
+     *
+     * @return True if there is at least one placeholder, false otherwise.
+     */
+    public boolean hasPlaceholders() {
+        return placeholders.length > 0;
+    }
+
+    /**
+     * Renders the template.
+     *
+     * @param resolver Resolves a placeholder name to its value, or null to keep the placeholder as written.
+     * @return The rendered string.
+     */
+    public String render(Function<String, String> resolver) {
+        if (placeholders.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder stringBuilder = new StringBuilder(literals[0]);
+
+        for (int i = 0; i < placeholders.length; i++) {
+            String value = resolver.apply(placeholders[i]);
+
+            if (value != null) {
+                stringBuilder.append(value);
+            } else {
+                stringBuilder.append('%').append(placeholders[i]).append('%');
+            }
+
+            stringBuilder.append(literals[i + 1]);
+        }
+
+        return stringBuilder.toString();
+    }
+}
@@ -14,8 +14,8 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 
 import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -24,6 +24,36 @@ import java.util.regex.Pattern;
  * Utility class for handling and formatting strings, including placeholders and color codes.
  */
 public final class StringUtil {
+    /**
+     * The placeholders replaced by {@link #parseString(String, Entity, String, Location, Grave, Graves)}.
+     */
+    private static final Set<String> PLACEHOLDER_SET = new HashSet<>(Arrays.asList("world", "x", "y", "z",
+            "distance", "teleport_cost", "uuid", "owner_name", "owner_name_display", "owner_type", "owner_uuid",
+            "killer_name", "killer_name_display", "killer_type", "killer_uuid", "time_creation",
+            "time_creation_formatted", "time_alive_remaining", "time_alive_remaining_formatted",
+            "time_protection_remaining", "time_protection_remaining_formatted", "time_lived", "time_lived_formatted",
+            "state_protection", "state_abandoned", "item", "level", "experience", "world_formatted", "name",
+            "interact_name", "interact_type", "interact_uuid", "plugin_name", "plugin_version", "spigot_id"));
+
+    /**
+     * Pattern matching {@code &#rrggbb} hex color codes.
+     */
+    private static final Pattern HEX_PATTERN = Pattern.compile("&#[a-fA-F0-9]{6}");
+
+    /**
+     * The maximum number of compiled templates kept before the cache is started over.
+     */
+    private static final int MAX_TEMPLATES = 4096;
+
+    /**
+     * Compiled templates keyed by their raw string.
+     */
+    private static final Map<String, MessageTemplate> templateMap = new ConcurrentHashMap<>();
+
+    /**
+     * Per-thread date formats keyed by their pattern, since {@link SimpleDateFormat} is not thread safe.
+     */
+    private static final Map<String, ThreadLocal<SimpleDateFormat>> dateFormatMap = new ConcurrentHashMap<>();
 
     /**
      * Formats a string by capitalizing each word and replacing underscores with spaces.
@@ -61,6 +91,10 @@ public final class StringUtil {
 
     /**
      * Parses a string and replaces placeholders with corresponding values.
+     * <p>
+     * The string is compiled into a {@link MessageTemplate} once and cached, so only the placeholders that appear
+     * in it are evaluated.
+     * </p>
      *
      * @param string    The string to parse.
      * @param entity    The entity involved.
@@ -72,137 +106,214 @@ public final class StringUtil {
      */
     public static String parseString(String string, Entity entity, String name, Location location, Grave grave,
                                      Graves plugin) {
-        if (location != null) {
-            string = string.replace("%world%",
-                            location.getWorld() != null ? location.getWorld().getName() : "")
-                    .replace("%x%", String.valueOf(location.getBlockX() + 0.5))
-                    .replace("%y%", String.valueOf(location.getBlockY() + 0.5))
-                    .replace("%z%", String.valueOf(location.getBlockZ() + 0.5));
-
-            if (string.contains("%distance%")) {
-                if (entity.getWorld().equals(location.getWorld())) {
-                    string = string.replace("%distance%",
-                            String.valueOf(Math.round(entity.getLocation().distance(location))));
-                }
-                if (!entity.getWorld().equals(location.getWorld())) {
-                    string = string.replace("%distance%",
-                            "Wrong dimension");
-                }
-            }
+        MessageTemplate messageTemplate = getTemplate(string);
 
-            if (string.contains("%teleport_cost%")) {
-                string = string.replace("%teleport_cost%", String.valueOf(plugin.getEntityManager()
-                        .getTeleportCost(
-                                Bukkit.getServer().getEntity(grave.getOwnerUUID()).getLocation(),
-                                grave.getLocationDeath(), grave)));
-            }
+        if (messageTemplate.hasPlaceholders()) {
+            string = messageTemplate.render(placeholder -> getPlaceholder(placeholder, entity, name, location,
+                    grave, plugin));
         }
 
-        if (grave != null) {
-            string = string.replace("%uuid%", grave.getUUID().toString())
-                    .replace("%owner_name%", grave.getOwnerName() != null
-                            ? grave.getOwnerName() : "")
-                    .replace("%owner_name_display%", grave.getOwnerNameDisplay() != null
-                            ? grave.getOwnerNameDisplay() : (grave.getOwnerName() != null
-                            ? grave.getOwnerName() : ""))
-                    .replace("%owner_type%", grave.getOwnerType() != null
-                            ? grave.getOwnerType().name() : "")
-                    .replace("%owner_uuid%", grave.getOwnerUUID() != null
-                            ? grave.getOwnerUUID().toString() : "")
-                    .replace("%killer_name%", grave.getKillerName() != null
-                            ? grave.getKillerName() : "")
-                    .replace("%killer_name_display%", grave.getKillerNameDisplay() != null
-                            ? grave.getKillerNameDisplay() : (grave.getKillerName() != null
-                            ? grave.getKillerName() : ""))
-                    .replace("%killer_type%", grave.getKillerType() != null
-                            ? grave.getKillerType().name() : "")
-                    .replace("%killer_uuid%", grave.getKillerUUID() != null
-                            ? grave.getKillerUUID().toString() : "")
-                    .replace("%time_creation%",
-                            String.valueOf(grave.getTimeCreation()))
-                    .replace("%time_creation_formatted%",
-                            getDateString(grave, grave.getTimeCreation(), plugin))
-                    .replace("%time_alive_remaining%",
-                            String.valueOf(grave.getTimeAliveRemaining()))
-                    .replace("%time_alive_remaining_formatted%",
-                            getTimeString(grave, grave.getTimeAliveRemaining(), plugin))
-                    .replace("%time_protection_remaining%",
-                            String.valueOf(grave.getTimeProtectionRemaining()))
-                    .replace("%time_protection_remaining_formatted%",
-                            getTimeString(grave, grave.getTimeProtectionRemaining(), plugin))
-                    .replace("%time_lived%",
-                            String.valueOf(grave.getLivedTime()))
-                    .replace("%time_lived_formatted%",
-                            getTimeString(grave, grave.getLivedTime(), plugin))
-                    .replace("%state_protection%",
-                            grave.getProtection() && (grave.getTimeProtectionRemaining() > 0
-                                    || grave.getTimeProtectionRemaining() < 0) ? plugin
-                                    .getConfig("protection.state.unprotected", grave)
-                                    .getString("protection.state.unprotected", "Unprotected") : plugin
-                                    .getConfig("protection.state.protected", grave)
-                                    .getString("protection.state.protected", "Protected"))
-                    .replace("%state_abandoned%", String.valueOf(grave.isAbandoned()))
-                    .replace("%item%", String.valueOf(grave.getItemAmount()));
-            if (grave.getExperience() > 0) {
-                string = string.replace("%level%", String.valueOf(ExperienceUtil
-                                .getLevelFromExperience(grave.getExperience())))
-                        .replace("%experience%", String.valueOf(grave.getExperience()));
-            } else {
-                string = string.replace("%level%", "0")
-                        .replace("%experience%", "0");
-            }
+        if (grave != null && grave.getOwnerType() == EntityType.PLAYER
+                && plugin.getIntegrationManager().hasPlaceholderAPI()) {
+            string = PlaceholderAPI.setPlaceholders(plugin.getServer()
+                    .getOfflinePlayer(grave.getOwnerUUID()), string);
+        }
 
-            if (grave.getOwnerType() == EntityType.PLAYER && plugin.getIntegrationManager().hasPlaceholderAPI()) {
-                string = PlaceholderAPI.setPlaceholders(plugin.getServer()
-                        .getOfflinePlayer(grave.getOwnerUUID()), string);
-            }
+        if (plugin.getIntegrationManager().hasMineDown()) {
+            string = plugin.getIntegrationManager().getMineDown().parseString(string);
         }
 
-        if (location != null && location.getWorld() != null && grave != null) {
-            string = string.replace("%world_formatted%",
-                    location.getWorld() != null ? getWorldFormatted(location.getWorld().getName(), plugin) : "");
-        } else {
-            string = string.replace("%world_formatted%", "");
+        if (string.indexOf("&#") >= 0) {
+            string = parseHexColors(string, plugin);
         }
 
-        if (name != null) {
-            string = string.replace("%name%", name)
-                    .replace("%interact_name%", name)
-                    .replace("%interact_type%", "null")
-                    .replace("%interact_uuid%", "null");
+        if (plugin.getIntegrationManager().hasMiniMessage()) {
+            string = string.replace("§", "&");
+            return MiniTranslator.toMini(string);
         }
 
-        if (entity != null) {
-            string = string.replace("%interact_name%", plugin.getEntityManager().getEntityName(entity))
-                    .replace("%interact_type%", entity.getType().name())
-                    .replace("%interact_uuid%", entity.getUniqueId().toString());
+        return string.replace("&", "§");
+    }
+
+    /**
+     * Clears the compiled templates and date formatters, called when the configuration is reloaded.
+     */
+    public static void clearCache() {
+        templateMap.clear();
+        dateFormatMap.clear();
+    }
+
+    /**
+     * Gets the compiled template of a string, compiling and caching it on first use.
+     *
+     * @param string The string.
+     * @return The compiled template.
+     */
+    private static MessageTemplate getTemplate(String string) {
+        MessageTemplate messageTemplate = templateMap.get(string);
+
+        if (messageTemplate == null) {
+            messageTemplate = MessageTemplate.compile(string, PLACEHOLDER_SET);
+
+            // Strings built at runtime would grow the cache without bound, start over instead
+            if (templateMap.size() >= MAX_TEMPLATES) {
+                templateMap.clear();
+            }
+
+            templateMap.put(string, messageTemplate);
         }
 
-        string = string.replace("%plugin_name%", plugin.getName())
-                .replace("%plugin_version%", plugin.getVersion())
-                .replace("%spigot_id%", String.valueOf(plugin.getSpigotID()));
+        return messageTemplate;
+    }
 
-        if (plugin.getIntegrationManager().hasMineDown()) {
-            string = plugin.getIntegrationManager().getMineDown().parseString(string);
+    /**
+     * Resolves a single placeholder.
+     *
+     * @param placeholder The placeholder name without percent signs.
+     * @param entity      The entity involved.
+     * @param name        The name to replace in the string.
+     * @param location    The location to replace in the string.
+     * @param grave       The grave object to replace in the string.
+     * @param plugin      The plugin instance.
+     * @return The value, or null to keep the placeholder as written.
+     */
+    private static String getPlaceholder(String placeholder, Entity entity, String name, Location location,
+                                         Grave grave, Graves plugin) {
+        switch (placeholder) {
+            case "world":
+                return location != null ? (location.getWorld() != null ? location.getWorld().getName() : "") : null;
+            case "x":
+                return location != null ? String.valueOf(location.getBlockX() + 0.5) : null;
+            case "y":
+                return location != null ? String.valueOf(location.getBlockY() + 0.5) : null;
+            case "z":
+                return location != null ? String.valueOf(location.getBlockZ() + 0.5) : null;
+            case "distance":
+                if (location == null || entity == null) {
+                    return null;
+                }
+
+                return entity.getWorld().equals(location.getWorld())
+                        ? String.valueOf(Math.round(entity.getLocation().distance(location))) : "Wrong dimension";
+            case "teleport_cost":
+                if (location == null || grave == null) {
+                    return null;
+                }
+
+                Entity owner = Bukkit.getServer().getEntity(grave.getOwnerUUID());
+
+                return owner != null ? String.valueOf(plugin.getEntityManager()
+                        .getTeleportCost(owner.getLocation(), grave.getLocationDeath(), grave)) : null;
+            case "world_formatted":
+                return location != null && location.getWorld() != null && grave != null
+                        ? getWorldFormatted(location.getWorld().getName(), plugin) : "";
+            case "name":
+                return name;
+            case "interact_name":
+                return name != null ? name : entity != null ? plugin.getEntityManager().getEntityName(entity) : null;
+            case "interact_type":
+                return name != null ? "null" : entity != null ? entity.getType().name() : null;
+            case "interact_uuid":
+                return name != null ? "null" : entity != null ? entity.getUniqueId().toString() : null;
+            case "plugin_name":
+                return plugin.getName();
+            case "plugin_version":
+                return plugin.getVersion();
+            case "spigot_id":
+                return String.valueOf(plugin.getSpigotID());
+            default:
+                return grave != null ? getGravePlaceholder(placeholder, grave, plugin) : null;
+        }
+    }
+
+    /**
+     * Resolves a placeholder that describes a grave.
+     *
+     * @param placeholder The placeholder name without percent signs.
+     * @param grave       The grave.
+     * @param plugin      The plugin instance.
+     * @return The value, or null if the placeholder does not describe a grave.
+     */
+    private static String getGravePlaceholder(String placeholder, Grave grave, Graves plugin) {
+        switch (placeholder) {
+            case "uuid":
+                return grave.getUUID().toString();
+            case "owner_name":
+                return grave.getOwnerName() != null ? grave.getOwnerName() : "";
+            case "owner_name_display":
+                return grave.getOwnerNameDisplay() != null ? grave.getOwnerNameDisplay()
+                        : (grave.getOwnerName() != null ? grave.getOwnerName() : "");
+            case "owner_type":
+                return grave.getOwnerType() != null ? grave.getOwnerType().name() : "";
+            case "owner_uuid":
+                return grave.getOwnerUUID() != null ? grave.getOwnerUUID().toString() : "";
+            case "killer_name":
+                return grave.getKillerName() != null ? grave.getKillerName() : "";
+            case "killer_name_display":
+                return grave.getKillerNameDisplay() != null ? grave.getKillerNameDisplay()
+                        : (grave.getKillerName() != null ? grave.getKillerName() : "");
+            case "killer_type":
+                return grave.getKillerType() != null ? grave.getKillerType().name() : "";
+            case "killer_uuid":
+                return grave.getKillerUUID() != null ? grave.getKillerUUID().toString() : "";
+            case "time_creation":
+                return String.valueOf(grave.getTimeCreation());
+            case "time_creation_formatted":
+                return getDateString(grave, grave.getTimeCreation(), plugin);
+            case "time_alive_remaining":
+                return String.valueOf(grave.getTimeAliveRemaining());
+            case "time_alive_remaining_formatted":
+                return getTimeString(grave, grave.getTimeAliveRemaining(), plugin);
+            case "time_protection_remaining":
+                return String.valueOf(grave.getTimeProtectionRemaining());
+            case "time_protection_remaining_formatted":
+                return getTimeString(grave, grave.getTimeProtectionRemaining(), plugin);
+            case "time_lived":
+                return String.valueOf(grave.getLivedTime());
+            case "time_lived_formatted":
+                return getTimeString(grave, grave.getLivedTime(), plugin);
+            case "state_protection":
+                return grave.getProtection() && (grave.getTimeProtectionRemaining() > 0
+                        || grave.getTimeProtectionRemaining() < 0) ? plugin
+                        .getConfig("protection.state.unprotected", grave)
+                        .getString("protection.state.unprotected", "Unprotected") : plugin
+                        .getConfig("protection.state.protected", grave)
+                        .getString("protection.state.protected", "Protected");
+            case "state_abandoned":
+                return String.valueOf(grave.isAbandoned());
+            case "item":
+                return String.valueOf(grave.getItemAmount());
+            case "level":
+                return grave.getExperience() > 0
+                        ? String.valueOf(ExperienceUtil.getLevelFromExperience(grave.getExperience())) : "0";
+            case "experience":
+                return grave.getExperience() > 0 ? String.valueOf(grave.getExperience()) : "0";
+            default:
+                return null;
         }
+    }
 
-        Pattern pattern = Pattern.compile("&#[a-fA-f0-9]{6}");
-        Matcher matcher = pattern.matcher(string);
+    /**
+     * Replaces {@code &#rrggbb} hex color codes, or strips them if the server does not support hex colors.
+     *
+     * @param string The string to parse.
+     * @param plugin The plugin instance.
+     * @return The string with hex color codes replaced.
+     */
+    private static String parseHexColors(String string, Graves plugin) {
+        Matcher matcher = HEX_PATTERN.matcher(string);
+        StringBuilder stringBuilder = new StringBuilder(string.length());
+        int end = 0;
 
         while (matcher.find()) {
             String colorHex = string.substring(matcher.start() + 1, matcher.end());
-            string = plugin.getVersionManager().hasHexColors()
-                    ? string.replace("&" + colorHex, ChatColor.of(colorHex).toString())
-                    : string.replace(colorHex, "");
-            matcher = pattern.matcher(string);
-        }
 
-        if (plugin.getIntegrationManager().hasMiniMessage()) {
-            string = string.replace("§", "&");
-            return MiniTranslator.toMini(string);
+            stringBuilder.append(string, end, matcher.start())
+                    .append(plugin.getVersionManager().hasHexColors() ? ChatColor.of(colorHex).toString() : "&");
+            end = matcher.end();
         }
 
-        return string.replace("&", "§");
+        return stringBuilder.append(string, end, string.length()).toString();
     }
 
     /**
@@ -276,8 +387,10 @@ public final class StringUtil {
      */
     public static String getDateString(Grave grave, long time, Graves plugin) {
         if (time > 0) {
-            return new SimpleDateFormat(plugin.getConfig("time.date", grave)
-                    .getString("time.date", "dd-MM-yyyy")).format(new Date(time));
+            String pattern = plugin.getConfig("time.date", grave).getString("time.date", "dd-MM-yyyy");
+
+            return dateFormatMap.computeIfAbsent(pattern, key -> ThreadLocal.withInitial(() -> new SimpleDateFormat(key)))
+                    .get().format(new Date(time));
         }
 
         return plugin.getConfig("time.infinite", grave).getString("time.infinite");
@@ -309,7 +309,7 @@ public class GravesXAPI {
             if (!createGrave.isCancelled()) {
                 locationMap.put(finalLocationDeath, BlockData.BlockType.DEATH);
 
-                cacheManager.getGraveMap().put(grave.getUUID(), grave);
+                cacheManager.addGrave(grave);
                 grave.setLocationDeath(finalLocationDeath);
                 grave.setInventory(graveManager.getGraveInventory(grave, (LivingEntity) victim, itemStackList, getRemovedItemStacks((LivingEntity) victim), null));
                 grave.setEquipmentMap(equipmentMap != null ? equipmentMap : !versionManager.is_v1_7() ? entityManager.getEquipmentMap((LivingEntity) victim, grave) : new HashMap<>());
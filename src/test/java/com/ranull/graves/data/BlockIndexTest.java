@@ -0,0 +1,92 @@
+package com.ranull.graves.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockIndexTest {
+    @Test
+    void blockKeysAreUniqueForNegativeAndHighY() {
+        Set<Long> keySet = new HashSet<>();
+        int count = 0;
+
+        for (int y = -2048; y < 2048; y += 7) {
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    keySet.add(BlockIndex.getBlockKey(x, y, z));
+                    count++;
+                }
+            }
+        }
+
+        assertEquals(count, keySet.size());
+        assertEquals(BlockIndex.getBlockKey(15, -64, 0), BlockIndex.getBlockKey(-1, -64, -16));
+        assertTrue(BlockIndex.getBlockKey(0, -1, 0) != BlockIndex.getBlockKey(15, -1, 15));
+    }
+
+    @Test
+    void blocksAtNegativeAndHighYInOneColumn() {
+        BlockIndex blockIndex = new BlockIndex();
+        BlockData bottom = getBlockData();
+        BlockData belowZero = getBlockData();
+        BlockData top = getBlockData();
+
+        blockIndex.put(-3, -64, 5, bottom);
+        blockIndex.put(-3, -1, 5, belowZero);
+        blockIndex.put(-3, 319, 5, top);
+
+        assertSame(bottom, blockIndex.get(13, -64, 5));
+        assertSame(belowZero, blockIndex.get(-3, -1, 5));
+        assertSame(top, blockIndex.get(-3, 319, 5));
+        assertNull(blockIndex.get(-3, 0, 5));
+
+        blockIndex.remove(-3, -1, 5);
+
+        assertNull(blockIndex.get(-3, -1, 5));
+        assertSame(bottom, blockIndex.get(-3, -64, 5));
+        assertSame(top, blockIndex.get(-3, 319, 5));
+    }
+
+    @Test
+    void columnBitIsClearedWithTheLastBlockOfTheColumn() {
+        BlockIndex blockIndex = new BlockIndex();
+
+        blockIndex.put(4, 10, 7, getBlockData());
+        blockIndex.put(4, 11, 7, getBlockData());
+        blockIndex.put(5, 10, 7, getBlockData());
+
+        // Replacing a block must not count it twice
+        blockIndex.put(4, 11, 7, getBlockData());
+        blockIndex.remove(4, 10, 7);
+
+        assertTrue(blockIndex.isColumnOccupied(4, 7));
+
+        blockIndex.remove(4, 11, 7);
+        blockIndex.remove(4, 11, 7);
+
+        assertFalse(blockIndex.isColumnOccupied(4, 7));
+        assertTrue(blockIndex.isColumnOccupied(5, 7));
+        assertFalse(blockIndex.isEmpty());
+
+        blockIndex.remove(5, 10, 7);
+
+        assertFalse(blockIndex.isColumnOccupied(5, 7));
+        assertTrue(blockIndex.isEmpty());
+
+        blockIndex.put(4, 12, 7, getBlockData());
+
+        assertTrue(blockIndex.isColumnOccupied(4, 7));
+    }
+
+    private static BlockData getBlockData() {
+        return new BlockData(null, UUID.randomUUID(), null, null);
+    }
+}
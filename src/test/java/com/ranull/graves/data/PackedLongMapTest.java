@@ -0,0 +1,129 @@
+package com.ranull.graves.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PackedLongMapTest {
+    // The map starts with 8 slots and grows once it holds more than 4 entries
+    private static final int INITIAL_MASK = 7;
+
+    @Test
+    void putReplacesAndReturnsPreviousValue() {
+        PackedLongMap<String> packedLongMap = new PackedLongMap<>();
+
+        assertNull(packedLongMap.put(1, "a"));
+        assertEquals("a", packedLongMap.put(1, "b"));
+        assertEquals("b", packedLongMap.get(1));
+        assertEquals(1, packedLongMap.size());
+        assertThrows(NullPointerException.class, () -> packedLongMap.put(2, null));
+        assertNull(packedLongMap.remove(2));
+    }
+
+    @Test
+    void probeRunWrappingPastTheLastSlot() {
+        PackedLongMap<String> packedLongMap = new PackedLongMap<>();
+        List<Long> lastSlotKeys = getKeysWithHome(INITIAL_MASK, 3);
+        long firstSlotKey = getKeysWithHome(0, 1).get(0);
+
+        // Fills slots 7, 0 and 1, then the key whose home is slot 0 has to probe on to slot 2
+        for (long key : lastSlotKeys) {
+            packedLongMap.put(key, "last" + key);
+        }
+
+        packedLongMap.put(firstSlotKey, "first");
+
+        assertEquals("last" + lastSlotKeys.get(1), packedLongMap.put(lastSlotKeys.get(1), "replaced"));
+        assertEquals(4, packedLongMap.size());
+
+        // Removing the entry in slot 7 has to shift the wrapped entries back across the end of the table
+        assertEquals("last" + lastSlotKeys.get(0), packedLongMap.remove(lastSlotKeys.get(0)));
+        assertNull(packedLongMap.get(lastSlotKeys.get(0)));
+        assertEquals("replaced", packedLongMap.get(lastSlotKeys.get(1)));
+        assertEquals("last" + lastSlotKeys.get(2), packedLongMap.get(lastSlotKeys.get(2)));
+        assertEquals("first", packedLongMap.get(firstSlotKey));
+
+        // The key homed at slot 0 must not have been moved in front of its home into slot 7
+        assertEquals("first", packedLongMap.remove(firstSlotKey));
+        assertEquals("replaced", packedLongMap.remove(lastSlotKeys.get(1)));
+        assertEquals("last" + lastSlotKeys.get(2), packedLongMap.remove(lastSlotKeys.get(2)));
+        assertTrue(packedLongMap.isEmpty());
+    }
+
+    @Test
+    void removeAfterResize() {
+        PackedLongMap<Long> packedLongMap = new PackedLongMap<>();
+        List<Long> keyList = new ArrayList<>(List.of(Long.MIN_VALUE, Long.MAX_VALUE, 1L, -1L));
+
+        for (long key = -50; key < 50; key++) {
+            keyList.add(key * 4099);
+        }
+
+        for (long key : keyList) {
+            packedLongMap.put(key, key);
+        }
+
+        assertEquals(keyList.size(), packedLongMap.size());
+
+        for (int i = 0; i < keyList.size(); i += 2) {
+            assertEquals(keyList.get(i), packedLongMap.remove(keyList.get(i)));
+        }
+
+        for (int i = 0; i < keyList.size(); i++) {
+            assertEquals(i % 2 == 0 ? null : keyList.get(i), packedLongMap.get(keyList.get(i)));
+        }
+
+        assertEquals(keyList.size() / 2, packedLongMap.size());
+    }
+
+    @Test
+    void matchesHashMapUnderCollidingChurn() {
+        PackedLongMap<Integer> packedLongMap = new PackedLongMap<>();
+        Map<Long, Integer> expectedMap = new HashMap<>();
+        Random random = new Random(42);
+
+        // A small key range keeps the table crowded, so removals keep shifting entries across probe runs
+        for (int i = 0; i < 100000; i++) {
+            long key = random.nextInt(64) - 32;
+
+            if (random.nextInt(3) == 0) {
+                assertEquals(expectedMap.remove(key), packedLongMap.remove(key));
+            } else {
+                assertEquals(expectedMap.put(key, i), packedLongMap.put(key, i));
+            }
+
+            assertEquals(expectedMap.size(), packedLongMap.size());
+        }
+
+        for (long key = -32; key < 32; key++) {
+            assertEquals(expectedMap.get(key), packedLongMap.get(key));
+        }
+
+        List<Integer> valueList = new ArrayList<>();
+
+        packedLongMap.forEachValue(valueList::add);
+        assertEquals(expectedMap.size(), valueList.size());
+        assertTrue(expectedMap.values().containsAll(valueList));
+    }
+
+    private static List<Long> getKeysWithHome(int home, int count) {
+        List<Long> keyList = new ArrayList<>();
+
+        for (long key = 0; keyList.size() < count; key++) {
+            if (PackedLongMap.getSlot(key, INITIAL_MASK) == home) {
+                keyList.add(key);
+            }
+        }
+
+        return keyList;
+    }
+}
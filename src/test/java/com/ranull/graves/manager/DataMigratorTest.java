@@ -0,0 +1,138 @@
+package com.ranull.graves.manager;
+
+import com.ranull.graves.Graves;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DataMigratorTest {
+    private static final int ROW_COUNT = 1200;
+    private static final String SOURCE_NAME = "sqlite:data.db";
+
+    @TempDir
+    File dataFolder;
+
+    private Graves plugin;
+    private DataSource source;
+    private DataSource target;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        SQLiteDataSource sqliteDataSource = new SQLiteDataSource();
+        JdbcDataSource h2DataSource = new JdbcDataSource();
+
+        sqliteDataSource.setUrl("jdbc:sqlite:" + new File(dataFolder, "data.db").getPath());
+        h2DataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        source = sqliteDataSource;
+        target = h2DataSource;
+        plugin = mock(Graves.class);
+        when(plugin.getLogger()).thenReturn(Logger.getLogger(DataMigratorTest.class.getName()));
+
+        execute(source, "CREATE TABLE grave (uuid VARCHAR(255) UNIQUE, owner_name VARCHAR(255), "
+                + "experience INT)");
+        execute(target, "CREATE TABLE grave (uuid VARCHAR(255) UNIQUE, owner_name VARCHAR(255), "
+                + "experience INT, world VARCHAR(255))");
+        execute(target, "CREATE TABLE migration_progress (source_name VARCHAR(255) NOT NULL, "
+                + "table_name VARCHAR(255) NOT NULL, last_key VARCHAR(255), row_count BIGINT, complete INT, "
+                + "time_updated BIGINT)");
+
+        try (Connection connection = source.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO grave (uuid, owner_name, experience) VALUES (?, ?, ?)")) {
+            connection.setAutoCommit(false);
+
+            for (int i = 0; i < ROW_COUNT; i++) {
+                statement.setString(1, getKey(i));
+                statement.setString(2, "owner" + i);
+                statement.setInt(3, i);
+                statement.addBatch();
+            }
+
+            statement.executeBatch();
+            connection.commit();
+        }
+    }
+
+    @Test
+    void migrateCopiesEveryRow() throws SQLException {
+        assertTrue(new DataMigrator(plugin, SOURCE_NAME, source, target).migrate());
+        assertEquals(ROW_COUNT, count("SELECT COUNT(*) FROM grave"));
+        assertEquals(ROW_COUNT - 1, count("SELECT MAX(experience) FROM grave"));
+    }
+
+    @Test
+    void interruptedMigrationResumesWithoutDuplicates() throws SQLException {
+        // Fails the second batch, after the first one has been committed
+        execute(target, "ALTER TABLE grave ADD CONSTRAINT interrupt CHECK (uuid <> '" + getKey(700) + "')");
+
+        assertFalse(new DataMigrator(plugin, SOURCE_NAME, source, target).migrate());
+        assertEquals(500, count("SELECT COUNT(*) FROM grave"));
+        assertEquals(500, count("SELECT row_count FROM migration_progress WHERE table_name = 'grave'"));
+
+        execute(target, "ALTER TABLE grave DROP CONSTRAINT interrupt");
+
+        assertTrue(new DataMigrator(plugin, SOURCE_NAME, source, target).migrate());
+        assertEquals(ROW_COUNT, count("SELECT COUNT(*) FROM grave"));
+        assertEquals(ROW_COUNT, count("SELECT COUNT(DISTINCT uuid) FROM grave"));
+        assertEquals(1, count("SELECT complete FROM migration_progress WHERE table_name = 'grave'"));
+    }
+
+    @Test
+    void completedMigrationIsSkipped() throws SQLException {
+        assertTrue(new DataMigrator(plugin, SOURCE_NAME, source, target).migrate());
+        assertTrue(new DataMigrator(plugin, SOURCE_NAME, source, target).migrate());
+        assertEquals(ROW_COUNT, count("SELECT COUNT(*) FROM grave"));
+    }
+
+    @Test
+    void clearedProgressMigratesNewSource() throws SQLException {
+        DataMigrator dataMigrator = new DataMigrator(plugin, SOURCE_NAME, source, target);
+
+        assertTrue(dataMigrator.migrate());
+        dataMigrator.clearProgress();
+        assertEquals(0, count("SELECT COUNT(*) FROM migration_progress"));
+
+        execute(source, "DELETE FROM grave");
+        execute(source, "INSERT INTO grave (uuid, owner_name, experience) VALUES ('new', 'owner', 1)");
+
+        assertTrue(new DataMigrator(plugin, SOURCE_NAME, source, target).migrate());
+        assertEquals(1, count("SELECT COUNT(*) FROM grave WHERE uuid = 'new'"));
+    }
+
+    private static String getKey(int index) {
+        return String.format("grave-%05d", index);
+    }
+
+    private long count(String query) throws SQLException {
+        try (Connection connection = target.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(query)) {
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        }
+    }
+
+    private static void execute(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql);
+        }
+    }
+}
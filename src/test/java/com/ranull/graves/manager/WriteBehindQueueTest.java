@@ -0,0 +1,224 @@
+package com.ranull.graves.manager;
+
+import com.ranull.graves.Graves;
+import org.bukkit.Server;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WriteBehindQueueTest {
+    private static final String INSERT = "INSERT INTO grave (uuid, protection) VALUES (?, ?)";
+    private static final String UPDATE = "UPDATE grave SET protection = ? WHERE uuid = ?";
+    private static final String DELETE = "DELETE FROM grave WHERE uuid = ?";
+
+    private Graves plugin;
+    private DataManager dataManager;
+    private BukkitTask flushTask;
+    private JdbcDataSource dataSource;
+    private YamlConfiguration config;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Server server = mock(Server.class);
+        BukkitScheduler scheduler = mock(BukkitScheduler.class);
+
+        plugin = mock(Graves.class);
+        dataManager = mock(DataManager.class);
+        flushTask = mock(BukkitTask.class);
+        dataSource = new JdbcDataSource();
+        config = new YamlConfiguration();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        when(plugin.getConfig()).thenReturn(config);
+        when(plugin.getServer()).thenReturn(server);
+        when(plugin.getLogger()).thenReturn(Logger.getLogger(WriteBehindQueueTest.class.getName()));
+        when(server.getScheduler()).thenReturn(scheduler);
+        when(scheduler.runTaskTimerAsynchronously(any(Graves.class), any(Runnable.class), anyLong(), anyLong()))
+                .thenReturn(flushTask);
+        when(dataManager.getConnection()).thenAnswer(invocation -> dataSource.getConnection());
+
+        execute("CREATE TABLE grave (uuid VARCHAR(255) PRIMARY KEY, protection INT)");
+    }
+
+    @Test
+    void updatesOfTheSameColumnAreCoalesced() throws SQLException {
+        WriteBehindQueue writeBehindQueue = new WriteBehindQueue(plugin, dataManager);
+
+        insert(writeBehindQueue, "a", 0);
+        update(writeBehindQueue, "a", 1);
+        update(writeBehindQueue, "a", 2);
+
+        assertEquals(2, writeBehindQueue.size());
+
+        writeBehindQueue.flush();
+
+        assertEquals(0, writeBehindQueue.size());
+        assertEquals(2, getProtection("a"));
+    }
+
+    @Test
+    void deleteCancelsPendingInsertAndUpdates() throws SQLException {
+        WriteBehindQueue writeBehindQueue = new WriteBehindQueue(plugin, dataManager);
+
+        insert(writeBehindQueue, "a", 0);
+        update(writeBehindQueue, "a", 1);
+        delete(writeBehindQueue, "a");
+
+        assertEquals(0, writeBehindQueue.size());
+    }
+
+    @Test
+    void deleteInsertDeleteRemovesExistingRow() throws SQLException {
+        WriteBehindQueue writeBehindQueue = new WriteBehindQueue(plugin, dataManager);
+
+        execute("INSERT INTO grave (uuid, protection) VALUES ('a', 0)");
+        delete(writeBehindQueue, "a");
+        insert(writeBehindQueue, "a", 1);
+        delete(writeBehindQueue, "a");
+        writeBehindQueue.flush();
+
+        assertEquals(0, count());
+    }
+
+    @Test
+    void reinsertAfterDeleteRunsAfterDelete() throws SQLException {
+        WriteBehindQueue writeBehindQueue = new WriteBehindQueue(plugin, dataManager);
+
+        execute("INSERT INTO grave (uuid, protection) VALUES ('a', 0)");
+        delete(writeBehindQueue, "a");
+        insert(writeBehindQueue, "a", 1);
+        writeBehindQueue.flush();
+
+        assertEquals(1, getProtection("a"));
+    }
+
+    @Test
+    void failedBatchIsRetriedOneByOne() throws SQLException {
+        WriteBehindQueue writeBehindQueue = new WriteBehindQueue(plugin, dataManager);
+
+        execute("INSERT INTO grave (uuid, protection) VALUES ('b', 0)");
+        insert(writeBehindQueue, "a", 1);
+        insert(writeBehindQueue, "b", 1);
+        insert(writeBehindQueue, "c", 1);
+        writeBehindQueue.flush();
+
+        // The duplicate insert of b fails and rolls the batch back, the other rows are then written one by one
+        assertEquals(3, count());
+        assertEquals(1, getProtection("a"));
+        assertEquals(0, getProtection("b"));
+        assertEquals(1, getProtection("c"));
+    }
+
+    @Test
+    void writesAreKeptWhenNoConnectionIsAvailable() throws SQLException {
+        WriteBehindQueue writeBehindQueue = new WriteBehindQueue(plugin, dataManager);
+
+        when(dataManager.getConnection()).thenAnswer(invocation -> {
+            // A delete queued while the failing flush runs must still run after the insert it follows
+            delete(writeBehindQueue, "a");
+            update(writeBehindQueue, "b", 2);
+
+            return null;
+        }).thenAnswer(invocation -> dataSource.getConnection());
+
+        insert(writeBehindQueue, "a", 1);
+        insert(writeBehindQueue, "b", 0);
+        update(writeBehindQueue, "b", 1);
+        writeBehindQueue.flush();
+
+        assertEquals(4, writeBehindQueue.size());
+        assertEquals(0, count());
+
+        writeBehindQueue.flush();
+
+        assertEquals(0, writeBehindQueue.size());
+        assertEquals(1, count());
+        assertEquals(2, getProtection("b"));
+    }
+
+    @Test
+    void reachingTheBatchSizeFlushesEarly() throws SQLException {
+        config.set("settings.storage.write-queue.batch-size", 2);
+
+        WriteBehindQueue writeBehindQueue = new WriteBehindQueue(plugin, dataManager);
+
+        insert(writeBehindQueue, "a", 1);
+
+        assertEquals(0, count());
+
+        // The plugin is not enabled, so the early flush runs on the calling thread
+        insert(writeBehindQueue, "b", 1);
+
+        assertEquals(0, writeBehindQueue.size());
+        assertEquals(2, count());
+    }
+
+    @Test
+    void shutdownDrainsPendingWrites() throws SQLException {
+        WriteBehindQueue writeBehindQueue = new WriteBehindQueue(plugin, dataManager);
+
+        insert(writeBehindQueue, "a", 1);
+        update(writeBehindQueue, "a", 3);
+        writeBehindQueue.shutdown();
+
+        verify(flushTask).cancel();
+        assertEquals(0, writeBehindQueue.size());
+        assertEquals(3, getProtection("a"));
+    }
+
+    private static void insert(WriteBehindQueue writeBehindQueue, String uuid, int protection) {
+        writeBehindQueue.insert("grave:" + uuid, INSERT, new Object[]{uuid, protection});
+    }
+
+    private static void update(WriteBehindQueue writeBehindQueue, String uuid, int protection) {
+        writeBehindQueue.update("grave:" + uuid, "protection", UPDATE, new Object[]{protection, uuid});
+    }
+
+    private static void delete(WriteBehindQueue writeBehindQueue, String uuid) {
+        writeBehindQueue.delete("grave:" + uuid, DELETE, new Object[]{uuid});
+    }
+
+    private int getProtection(String uuid) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT protection FROM grave WHERE uuid = ?")) {
+            statement.setString(1, uuid);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : -1;
+            }
+        }
+    }
+
+    private long count() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM grave")) {
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql);
+        }
+    }
+}